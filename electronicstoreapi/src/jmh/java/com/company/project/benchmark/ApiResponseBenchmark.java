@@ -0,0 +1,83 @@
+package com.company.project.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.project.config.JacksonConfig;
+import com.company.project.dto.response.ApiResponse;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Building the {@link ApiResponse} envelope and writing it with the
+ * application's ObjectMapper, for a single product and a 20 product page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ProductResponse product;
+    private List<ProductResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        Category category = BenchmarkFixtures.category(1L, null);
+        page = LongStream.rangeClosed(1, 20)
+                .mapToObj(id -> toResponse(BenchmarkFixtures.product(id, category)))
+                .toList();
+        product = page.get(0);
+    }
+
+    @Benchmark
+    public ApiResponse<ProductResponse> createResponse() {
+        return ApiResponse.success(product);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(product));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(page));
+    }
+
+    private static ProductResponse toResponse(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .category(new ProductResponse.CategorySummary(product.getCategory().getId(),
+                        product.getCategory().getName(), product.getCategory().getDescription()))
+                .specifications(product.getSpecifications())
+                .stock(product.getStock())
+                .status(product.getStatus())
+                .images(product.getImages())
+                .featured(product.getFeatured())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.company.project.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.project.config.CacheConfig;
+import com.company.project.config.LocalCacheProperties;
+import com.company.project.entity.User;
+import com.company.project.repository.UserRepository;
+import com.company.project.repository.projection.UserStatusView;
+import com.company.project.security.AccessToken;
+import com.company.project.security.JwtAuthenticationFilter;
+import com.company.project.security.JwtServiceImpl;
+import com.company.project.security.UserStatusCache;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Access token issue and verification through {@link JwtServiceImpl}, and a
+ * full pass of {@link JwtAuthenticationFilter} over a request carrying a
+ * token. The filter runs both with claims-based validation and with the
+ * per-request user lookup (answered from memory here, so the database round
+ * trip it normally costs is not included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private User user;
+    private JwtServiceImpl jwtService;
+    private JwtAuthenticationFilter statelessFilter;
+    private JwtAuthenticationFilter databaseFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user();
+        jwtService = new JwtServiceImpl(BenchmarkFixtures.tokenCodec());
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        token = jwtService.generateToken(user);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findStatusByUsername(user.getUsername())).thenReturn(Optional.of(statusView()));
+        UserStatusCache userStatusCache = new UserStatusCache(userRepository,
+                new CacheConfig().cacheManager(new LocalCacheProperties()));
+
+        statelessFilter = new JwtAuthenticationFilter(jwtService, username -> user, userStatusCache);
+        ReflectionTestUtils.setField(statelessFilter, "statelessValidation", true);
+        databaseFilter = new JwtAuthenticationFilter(jwtService, username -> user, userStatusCache);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public AccessToken parseAccessToken() {
+        return jwtService.parseAccessToken(token);
+    }
+
+    @Benchmark
+    public Authentication filterWithClaims() throws Exception {
+        return authenticate(statelessFilter);
+    }
+
+    @Benchmark
+    public Authentication filterWithUserLookup() throws Exception {
+        return authenticate(databaseFilter);
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private UserStatusView statusView() {
+        return new UserStatusView() {
+            @Override
+            public Long getId() {
+                return user.getId();
+            }
+
+            @Override
+            public User.Role getRole() {
+                return user.getRole();
+            }
+
+            @Override
+            public User.Status getStatus() {
+                return user.getStatus();
+            }
+
+            @Override
+            public LocalDateTime getPasswordChangedAt() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.project.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.company.project.config.JwtKeyProperties;
+import com.company.project.entity.Address;
+import com.company.project.entity.Category;
+import com.company.project.entity.City;
+import com.company.project.entity.Locality;
+import com.company.project.entity.Product;
+import com.company.project.entity.State;
+import com.company.project.entity.User;
+import com.company.project.security.JwtTokenCodec;
+
+/**
+ * In-memory entities and components shared by the benchmarks, shaped like
+ * typical production data
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "V1R5cUI0TUE3RDdTbkhGcXFkSktHV3d0WWVKY3ZXM2U1UEQyNGxLRjN3cQ==";
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtTokenCodec tokenCodec() {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setSecret(SECRET);
+        return new JwtTokenCodec(properties);
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("admin");
+        user.setEmail("admin@example.com");
+        user.setPassword("{noop}secret");
+        user.setRole(User.Role.ADMIN);
+        user.setStatus(User.Status.ACTIVE);
+        return user;
+    }
+
+    static Product product(long id, Category category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Ceiling Fan " + id);
+        product.setDescription("1200 mm energy efficient ceiling fan with remote, model " + id);
+        product.setPrice(new BigDecimal("2499.00"));
+        product.setCategory(category);
+        product.setSpecifications("{\"sweep\":\"1200mm\",\"power\":\"28W\",\"warranty\":\"2 years\"}");
+        product.setImages(new ArrayList<>(List.of(
+                "/uploads/products/" + id + "-front.jpg",
+                "/uploads/products/" + id + "-side.jpg",
+                "/uploads/products/" + id + "-box.jpg")));
+        product.setStock(25);
+        product.setFeatured(id % 5 == 0);
+        product.setCreatedAt(TIMESTAMP);
+        product.setUpdatedAt(TIMESTAMP);
+        return product;
+    }
+
+    static Category category(long id, Category parent) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName("Category " + id);
+        category.setDescription("Description of category " + id);
+        category.setImageUrl("/uploads/categories/" + id + ".jpg");
+        category.setParentCategory(parent);
+        category.setCreatedAt(TIMESTAMP);
+        category.setUpdatedAt(TIMESTAMP);
+        if (parent != null) {
+            parent.getSubCategories().add(category);
+        }
+        return category;
+    }
+
+    /**
+     * Builds a category tree with the given depth and fan-out, each category
+     * holding a few products
+     * 
+     * @return every category of the tree, roots first
+     */
+    static List<Category> categoryTree(int depth, int fanOut, int productsPerCategory) {
+        List<Category> all = new ArrayList<>();
+        List<Category> level = new ArrayList<>();
+        long[] ids = {1, 1};
+        for (int i = 0; i < fanOut; i++) {
+            level.add(category(ids[0]++, null));
+        }
+        all.addAll(level);
+        for (int d = 1; d < depth; d++) {
+            List<Category> next = new ArrayList<>();
+            for (Category parent : level) {
+                for (int i = 0; i < fanOut; i++) {
+                    next.add(category(ids[0]++, parent));
+                }
+            }
+            all.addAll(next);
+            level = next;
+        }
+        for (Category category : all) {
+            for (int i = 0; i < productsPerCategory; i++) {
+                category.getProducts().add(product(ids[1]++, category));
+            }
+        }
+        return all;
+    }
+
+    static Address address() {
+        State state = new State();
+        state.setId(1L);
+        state.setName("Kerala");
+        state.setCode("KL");
+        City city = new City();
+        city.setId(10L);
+        city.setName("Kochi");
+        city.setState(state);
+        Locality locality = new Locality();
+        locality.setId(100L);
+        locality.setName("Edappally");
+        locality.setPincode("682024");
+        locality.setCity(city);
+        return Address.builder()
+                .id(1000L)
+                .addressLine1("12/345 Palarivattom Road")
+                .addressLine2("Second Floor, Flat 2B")
+                .landmark("Lulu Mall")
+                .locality(locality)
+                .user(user())
+                .isDefault(true)
+                .contactName("Anu Joseph")
+                .contactPhone("9876543210")
+                .addressType(Address.AddressType.HOME)
+                .build();
+    }
+}
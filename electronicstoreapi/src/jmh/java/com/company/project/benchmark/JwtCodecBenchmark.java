@@ -0,0 +1,90 @@
+package com.company.project.benchmark;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.project.config.JwtKeyProperties;
+import com.company.project.security.JwtTokenCodec;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Signing and verifying an access token with {@link JwtTokenCodec} against
+ * the previous approach of decoding the key and building a parser per call
+ * (the "perCall" benchmarks).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtCodecBenchmark {
+
+    private static final String SECRET = "V1R5cUI0TUE3RDdTbkhGcXFkSktHV3d0WWVKY3ZXM2U1UEQyNGxLRjN3cQ==";
+    private static final Map<String, Object> CLAIMS = Map.of("uid", 42L, "role", "ADMIN", "status", "ACTIVE");
+
+    private JwtTokenCodec codec;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setSecret(SECRET);
+        codec = new JwtTokenCodec(properties);
+        token = signWithCodec();
+    }
+
+    @Benchmark
+    public String signWithCodec() {
+        long now = System.currentTimeMillis();
+        return codec.sign("admin", CLAIMS, new Date(now), new Date(now + 3_600_000));
+    }
+
+    @Benchmark
+    public String signPerCall() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims(CLAIMS)
+                .subject("admin")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 3_600_000))
+                .signWith(perCallKey())
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verifyWithCodec() {
+        return codec.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyPerCall() {
+        return Jwts.parser()
+                .verifyWith(perCallKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private SecretKey perCallKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.project.benchmark;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import com.company.project.entity.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Imports 10,000 products with three images each through JPA, with the
+ * production id generation and statement ordering. The in-memory H2 database
+ * is reached over a loopback TCP connection, so every statement or batch
+ * pays a round trip as it would against MySQL. A JDBC batch size of 1 turns
+ * batching off for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProductImportBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+
+    @Param({ "1", "50" })
+    private int batchSize;
+
+    private Server server;
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:import;DB_CLOSE_DELAY=-1", "sa", "");
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.company.project.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.order_inserts", "true",
+                "hibernate.order_updates", "true",
+                "hibernate.id.optimizer.pooled.preferred", "pooled-lo"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+    }
+
+    @Setup(Level.Iteration)
+    public void deleteProducts() {
+        inTransaction(entityManager -> {
+            entityManager.createNativeQuery("DELETE FROM product_images").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM products").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        factoryBean.destroy();
+        server.stop();
+    }
+
+    @Benchmark
+    public void importProducts() {
+        inTransaction(entityManager -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 1; i <= PRODUCTS; i++) {
+                Product product = BenchmarkFixtures.product(i, null);
+                product.setId(null);
+                product.setCreatedBy("import");
+                product.setLastModifiedBy("import");
+                entityManager.persist(product);
+                // Flushed in chunks so the persistence context stays small, as a real import would
+                if (i % 50 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.accept(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.project.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.company.project.config.ImageVariantProperties;
+import com.company.project.dto.response.AddressResponse;
+import com.company.project.dto.response.CategoryResponse;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.Address;
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.service.impl.AddressServiceImpl;
+import com.company.project.service.impl.LocalFileStorageServiceImpl;
+import com.company.project.service.impl.ProductServiceImpl;
+
+/**
+ * Entity to response DTO mapping. The service mappers are private, so they
+ * are reached through method handles rather than widening their visibility.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final MethodHandle CONVERT_PRODUCT = privateMethod(ProductServiceImpl.class,
+            "convertToResponse", ProductResponse.class, Product.class);
+    private static final MethodHandle MAP_ADDRESS = privateMethod(AddressServiceImpl.class,
+            "mapToAddressResponse", AddressResponse.class, Address.class);
+
+    private ProductServiceImpl productService;
+    private AddressServiceImpl addressService;
+    private Product product;
+    private Address address;
+    private List<Category> categoryTree;
+
+    @Setup
+    public void setUp() {
+        // Variant URLs are derived per image, so the mapping includes that cost
+        ImageVariantProperties variantProperties = new ImageVariantProperties();
+        variantProperties.setSizes(Map.of("thumbnail", 160, "small", 320, "medium", 640, "large", 1280));
+        LocalFileStorageServiceImpl fileStorageService = new LocalFileStorageServiceImpl(
+                System.getProperty("java.io.tmpdir"), variantProperties, event -> { }, null);
+        productService = new ProductServiceImpl(null, null, fileStorageService, null, null, null, null);
+        addressService = new AddressServiceImpl(null, null, null);
+        product = BenchmarkFixtures.product(1L, BenchmarkFixtures.category(1L, null));
+        address = BenchmarkFixtures.address();
+        // 4 levels with fan-out 4: 340 categories, 5 products each
+        categoryTree = BenchmarkFixtures.categoryTree(4, 4, 5);
+    }
+
+    @Benchmark
+    public ProductResponse convertProduct() throws Throwable {
+        return (ProductResponse) CONVERT_PRODUCT.invokeExact(productService, product);
+    }
+
+    @Benchmark
+    public AddressResponse mapAddress() throws Throwable {
+        return (AddressResponse) MAP_ADDRESS.invokeExact(addressService, address);
+    }
+
+    @Benchmark
+    public void categoryTreeFromEntity(Blackhole blackhole) {
+        for (Category category : categoryTree) {
+            blackhole.consume(CategoryResponse.fromEntity(category));
+        }
+    }
+
+    private static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?> argType) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, argType));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.project.config;
+
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Async Configuration
+ * 
+ * Enables @Scheduled background jobs such as the email outbox dispatcher,
+ * and @Async methods, which run on Spring Boot's application task
+ * executor. By default that is a bounded platform thread pool configured
+ * under spring.task.execution.pool; with spring.threads.virtual.enabled on
+ * a Java 21+ runtime it starts one virtual thread per task instead, capped
+ * by spring.task.execution.simple.concurrency-limit.
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig implements AsyncConfigurer {
+
+    /**
+     * Logs failures of @Async methods that return void, which would
+     * otherwise have no caller to report to
+     * 
+     * @return Handler for uncaught async exceptions
+     */
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Async call to {} failed", method.getName(), ex);
+    }
+}
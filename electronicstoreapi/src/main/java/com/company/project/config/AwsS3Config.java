@@ -1,21 +1,27 @@
 package com.company.project.config;
 
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.client.builder.AwsClientBuilder;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import java.net.URI;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+
 /**
  * AWS S3 Configuration
- * 
+ *
  * Configures the AWS S3 client for file storage when storage.type is set to 's3'.
  * This configuration is conditionally loaded only when S3 storage is enabled.
- * 
+ *
  * The application supports two storage types:
  * 1. Local file system (default, configured with storage.type=local)
  * 2. AWS S3 (configured with storage.type=s3)
@@ -37,20 +43,39 @@ public class AwsS3Config {
     private String endpointUrl;
 
     /**
-     * Creates and configures an Amazon S3 client
-     * 
-     * This client is used to interact with the S3 bucket for file operations
-     * like upload, download, and delete.
-     * 
-     * @return Configured AmazonS3 client
+     * Creates and configures an asynchronous Amazon S3 client
+     *
+     * Requests run on a Netty event loop over a bounded connection pool, so
+     * no thread is held while bytes are in flight. Uploads above the
+     * multipart threshold are split into parts that are sent in parallel.
+     * Checksums are only sent where S3 requires them; the flexible checksum
+     * trailers sent by default are not understood by every S3-compatible store.
+     *
+     * @param properties Connection pool and multipart settings
+     * @return Configured S3AsyncClient
      */
-    @Bean
-    public AmazonS3 amazonS3Client() {
-        BasicAWSCredentials awsCredentials = new BasicAWSCredentials(accessKey, secretKey);
-        
-        return AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpointUrl, region))
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(S3ClientProperties properties) {
+        return S3AsyncClient.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .region(Region.of(region))
+                .endpointOverride(URI.create(endpointUrl))
+                .forcePathStyle(properties.isPathStyleAccess())
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(properties.getMaxConcurrency())
+                        .maxPendingConnectionAcquires(properties.getMaxPendingConnectionAcquires())
+                        .connectionAcquisitionTimeout(properties.getConnectionAcquisitionTimeout())
+                        .connectionTimeout(properties.getConnectionTimeout())
+                        .readTimeout(properties.getReadTimeout())
+                        .writeTimeout(properties.getWriteTimeout()))
+                .overrideConfiguration(override -> override.apiCallTimeout(properties.getApiCallTimeout()))
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(properties.getMultipartThreshold().toBytes())
+                        .minimumPartSizeInBytes(properties.getMultipartPartSize().toBytes())
+                        .build())
                 .build();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.company.project.config;
+
+import java.util.List;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache configuration for the public read endpoints.
+ *
+ * Each cache is a bounded in-process Caffeine cache (W-TinyLFU admission and
+ * eviction) with a write TTL, so a missed eviction can only serve stale data
+ * for a limited time. The manager is transaction aware: evictions issued
+ * inside a transaction are applied after it commits, so a concurrent reader
+ * cannot repopulate a cache with the pre-commit state.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+    public static final String SETTINGS = "settings";
+    public static final String STATES = "states";
+    public static final String CITIES = "cities";
+    public static final String LOCALITIES = "localities";
+    public static final String OUTLETS = "outlets";
+    public static final String USERS = "users";
+
+    public static final List<String> CACHE_NAMES = List.of(
+            PRODUCTS, CATEGORIES, SETTINGS, STATES, CITIES, LOCALITIES, OUTLETS, USERS);
+
+    @Bean
+    public CacheManager cacheManager(LocalCacheProperties properties) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(CACHE_NAMES.stream()
+                .map(name -> buildCache(name, properties.specFor(name)))
+                .toList());
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private CaffeineCache buildCache(String name, LocalCacheProperties.Spec spec) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.project.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding the email outbox configuration from
+ * application.yml
+ *
+ * Maps properties under the "email.outbox" prefix. A failed message is
+ * retried after initial-backoff, doubling up to max-backoff, until it has
+ * been attempted max-attempts times.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "email.outbox")
+public class EmailOutboxProperties {
+
+    private int batchSize = 50;
+    private int maxAttempts = 8;
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofHours(1);
+    // How long a claimed batch stays reserved before another dispatcher may take it over
+    private Duration claimTimeout = Duration.ofMinutes(5);
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,27 @@
+package com.company.project.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding the dependency health check configuration
+ * from application.yml
+ *
+ * Maps properties under the "health" prefix. Each check result is reused
+ * for the cache TTL, so probe traffic hits a dependency at most once per TTL
+ * per instance no matter how often the probes are polled.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "health")
+public class HealthProbeProperties {
+
+    private Duration cacheTtl = Duration.ofSeconds(5);
+    private Duration timeout = Duration.ofSeconds(2);
+    private DataSize minFreeDisk = DataSize.ofMegabytes(100);
+}
@@ -0,0 +1,56 @@
+package com.company.project.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding HTTP caching policies from application.yml
+ * 
+ * Maps properties under the "http-cache" prefix. Each policy is keyed by
+ * endpoint name and translated into a Cache-Control header. An endpoint
+ * without a policy (or without a max-age) is sent with "no-cache", so
+ * clients may store it but must revalidate with its ETag on every use.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+
+    public static final String PRODUCT = "product";
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY = "category";
+
+    private Map<String, Policy> policies = new HashMap<>();
+
+    public CacheControl cacheControlFor(String endpoint) {
+        Policy policy = policies.get(endpoint);
+        if (policy == null || policy.getMaxAge() == null) {
+            return CacheControl.noCache();
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(policy.getMaxAge());
+        cacheControl = policy.isCachePrivate() ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+        if (policy.isMustRevalidate()) {
+            cacheControl = cacheControl.mustRevalidate();
+        }
+        if (policy.getStaleWhileRevalidate() != null) {
+            cacheControl = cacheControl.staleWhileRevalidate(policy.getStaleWhileRevalidate());
+        }
+        return cacheControl;
+    }
+
+    @Data
+    public static class Policy {
+        private Duration maxAge;
+        private Duration staleWhileRevalidate;
+        private boolean mustRevalidate;
+        private boolean cachePrivate;
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.project.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding the image variant configuration from
+ * application.yml
+ *
+ * Maps properties under the "image.variants" prefix. Every entry under
+ * "sizes" names a variant and the longest edge, in pixels, it is scaled down
+ * to. Variants are WebP files stored next to the original, so their URLs
+ * follow from the original's URL.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "image.variants")
+public class ImageVariantProperties {
+
+    public static final String EXTENSION = ".webp";
+
+    private boolean enabled = true;
+    // WebP lossy quality between 0 and 1
+    private float quality = 0.8f;
+    // Larger images are not decoded at all, so a small file cannot expand into gigabytes of pixels
+    private long maxPixels = 40_000_000L;
+    private int threads = 2;
+    private int queueCapacity = 100;
+    private Map<String, Integer> sizes = new LinkedHashMap<>();
+
+    /**
+     * URLs of every configured variant of an image, keyed by variant name;
+     * empty when variants are disabled
+     */
+    public Map<String, String> variantUrls(String fileUrl) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        if (enabled && fileUrl != null) {
+            sizes.keySet().forEach(variant -> urls.put(variant, variantUrl(fileUrl, variant)));
+        }
+        return urls;
+    }
+
+    /**
+     * URL of one variant: the original's URL with its extension replaced by
+     * ".{variant}.webp"
+     */
+    public static String variantUrl(String fileUrl, String variant) {
+        int slash = fileUrl.lastIndexOf('/');
+        int dot = fileUrl.lastIndexOf('.');
+        String base = dot > slash ? fileUrl.substring(0, dot) : fileUrl;
+        return base + "." + variant + EXTENSION;
+    }
+
+    /**
+     * Whether a file name is that of a configured variant, even while
+     * generation is disabled
+     */
+    public boolean isVariantName(String fileName) {
+        return sizes.keySet().stream().anyMatch(variant -> fileName.endsWith("." + variant + EXTENSION));
+    }
+}
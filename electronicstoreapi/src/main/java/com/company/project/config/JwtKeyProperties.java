@@ -0,0 +1,30 @@
+package com.company.project.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding the JWT signing keys from application.yml
+ *
+ * Maps the key-related properties under the "jwt" prefix. "secret" is the
+ * original key and verifies tokens that carry no key id. Additional keys are
+ * listed under "keys" by key id (Base64 encoded, like "secret"); when
+ * "active-key-id" is set new tokens are signed with that key and carry its
+ * id in the "kid" header, while tokens signed with any other listed key stay
+ * valid until they expire. Rotating is therefore: add a key, make it active,
+ * and drop the old one once its tokens have expired.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtKeyProperties {
+
+    private String secret;
+    private String activeKeyId;
+    private Map<String, String> keys = new LinkedHashMap<>();
+}
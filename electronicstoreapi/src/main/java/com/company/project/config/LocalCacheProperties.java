@@ -0,0 +1,47 @@
+package com.company.project.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.company.project.util.AppConstants;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding the local read cache configuration from
+ * application.yml
+ *
+ * Maps properties under the "cache" prefix. Every cache gets the default
+ * size bound and time-to-live unless it has its own entry under "specs".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class LocalCacheProperties {
+
+    private Duration defaultTtl = Duration.ofSeconds(AppConstants.DEFAULT_CACHE_EXPIRATION);
+    private long defaultMaxSize = 1000;
+    private Map<String, Spec> specs = new HashMap<>();
+
+    /**
+     * Resolves the effective settings for a cache, falling back to the
+     * defaults for anything not overridden
+     */
+    public Spec specFor(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        Spec resolved = new Spec();
+        resolved.setTtl(spec != null && spec.getTtl() != null ? spec.getTtl() : defaultTtl);
+        resolved.setMaxSize(spec != null && spec.getMaxSize() != null ? spec.getMaxSize() : defaultMaxSize);
+        return resolved;
+    }
+
+    @Data
+    public static class Spec {
+        private Duration ttl;
+        private Long maxSize;
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.project.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.company.project.metrics.StatementCounter;
+
+/**
+ * Metrics configuration
+ * 
+ * Request, Hikari pool and JVM metrics come from Spring Boot Actuator and
+ * are scraped from /actuator/prometheus (see SecurityConfig for access).
+ * This class wires in the pieces the actuator does not provide, such as the
+ * per-repository statement counts recorded by MetricsAspect.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.project.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding the orphaned image collector configuration
+ * from application.yml
+ *
+ * Maps properties under the "file.orphan-collector" prefix. Every interval
+ * the collector checks the next files-per-run stored files, in name order,
+ * and wraps around at the end. Files younger than grace-period are never
+ * collected, as an upload is stored before the row referencing it is saved.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.orphan-collector")
+public class OrphanImageCollectorProperties {
+
+    private boolean enabled = true;
+    // Only report what would be deleted
+    private boolean dryRun = true;
+    private Duration gracePeriod = Duration.ofHours(24);
+    private int filesPerRun = 5000;
+    // Listed files checked against the database per query
+    private int batchSize = 500;
+    private double maxDeletesPerSecond = 20;
+    // Orphaned file names included in a report
+    private int reportSampleSize = 100;
+}
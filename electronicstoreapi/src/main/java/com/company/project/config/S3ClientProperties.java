@@ -0,0 +1,37 @@
+package com.company.project.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Properties class for binding the S3 client tuning from application.yml
+ *
+ * Maps properties under the "aws.s3.client" prefix. Objects larger than
+ * multipart-threshold are uploaded as parts of multipart-part-size, sent in
+ * parallel over the shared connection pool of max-concurrency connections.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "aws.s3.client")
+public class S3ClientProperties {
+
+    private int maxConcurrency = 64;
+    // Requests allowed to wait for a pooled connection before new ones fail fast
+    private int maxPendingConnectionAcquires = 1000;
+    private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration writeTimeout = Duration.ofSeconds(30);
+    // Upper bound for one operation including retries and every part of a multipart upload
+    private Duration apiCallTimeout = Duration.ofMinutes(2);
+    private DataSize multipartThreshold = DataSize.ofMegabytes(8);
+    // S3 rejects parts below 5MB other than the last
+    private DataSize multipartPartSize = DataSize.ofMegabytes(5);
+    // Required by most S3-compatible stores (MinIO, LocalStack) reached through a plain endpoint
+    private boolean pathStyleAccess = false;
+}
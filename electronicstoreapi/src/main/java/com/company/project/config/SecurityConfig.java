@@ -1,22 +1,30 @@
 package com.company.project.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -25,6 +33,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.company.project.security.AuthEntryPointJwt;
 import com.company.project.security.JwtAuthenticationFilter;
+import com.company.project.util.AppConstants;
 
 import lombok.RequiredArgsConstructor;
 
@@ -53,6 +62,14 @@ public class SecurityConfig {
     private final AuthEntryPointJwt unauthorizedHandler;
     private final CorsProperties corsProperties;
 
+    private static final String METRICS_ROLE = "METRICS";
+
+    @Value("${metrics.scrape.username}")
+    private String scrapeUsername;
+
+    @Value("${metrics.scrape.password}")
+    private String scrapePassword;
+
     /**
      * Configures authentication provider with user details service and password
      * encoder
@@ -161,7 +178,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints that don't require authentication
-                        .requestMatchers("/auth/**", "/users/create", "/health/**", "/images/**").permitAll()
+                        .requestMatchers("/auth/**", "/users/create", "/health/**").permitAll()
                         // Customer-facing product and category endpoints - GET operations only
                         .requestMatchers(HttpMethod.GET,
                                 "/api/v1/products", "/products",
@@ -181,4 +198,60 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /**
+     * Configures security for the actuator endpoints
+     * 
+     * Health is public so load balancers can probe it. Metrics and the
+     * Prometheus scrape endpoint require HTTP Basic with the scrape
+     * credentials from application.yml; these are separate from application
+     * user accounts so a scraper never holds a user token.
+     * 
+     * @param http HttpSecurity to configure
+     * @return Security filter chain for actuator requests
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        UserDetails scraper = org.springframework.security.core.userdetails.User.withUsername(scrapeUsername)
+                .password(passwordEncoder().encode(scrapePassword))
+                .roles(METRICS_ROLE)
+                .build();
+        DaoAuthenticationProvider scrapeProvider = new DaoAuthenticationProvider(passwordEncoder());
+        scrapeProvider.setUserDetailsService(new InMemoryUserDetailsManager(scraper));
+
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authenticationManager(new ProviderManager(scrapeProvider))
+                .httpBasic(Customizer.withDefaults())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole(METRICS_ROLE));
+        return http.build();
+    }
+
+    /**
+     * Configures security for uploaded images
+     * 
+     * Images are public, so these requests get a minimal chain: no JWT
+     * filter, no session, no request cache and no authentication entry
+     * point. Spring Security's no-store Cache-Control is left off so the
+     * long-lived headers set by the image controller reach the client.
+     * 
+     * @param http HttpSecurity to configure
+     * @return Security filter chain for image requests
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain imageSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(AppConstants.IMAGES_PATH + "/**")
+                .csrf(csrf -> csrf.disable())
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(cache -> cache.disable())
+                .headers(headers -> headers.cacheControl(cacheControl -> cacheControl.disable()))
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        return http.build();
+    }
 }
\ No newline at end of file
@@ -7,7 +7,6 @@ import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,7 +20,6 @@ import lombok.RequiredArgsConstructor;
  * 
  * Configures web-related settings including:
  * - JSON serialization/deserialization
- * - Static resource handling
  * - CORS is now handled in SecurityConfig for centralized configuration
  */
 @Configuration
@@ -44,17 +42,6 @@ public class WebConfig implements WebMvcConfigurer {
         converters.add(converter);
     }
 
-    /**
-     * Configure static resource handling for uploaded files
-     * 
-     * @param registry Resource handler registry
-     */
-    @Override
-    public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("file:./uploads/images/");
-    }
-
     /**
      * CORS configuration has been moved to SecurityConfig
      * 
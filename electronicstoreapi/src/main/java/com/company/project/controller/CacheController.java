@@ -0,0 +1,78 @@
+package com.company.project.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.project.dto.response.ApiResponse;
+import com.company.project.dto.response.CacheStatsResponse;
+import com.company.project.service.CacheService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cache Controller
+ * 
+ * Exposes hit, miss and eviction counters of the local read caches and lets
+ * administrators drop cached entries after out-of-band data changes.
+ */
+@RestController
+@RequestMapping("/caches")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    /**
+     * Get statistics for all caches
+     * 
+     * @return list of cache statistics
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        return ResponseEntity.ok(
+                ApiResponse.success(cacheService.getCacheStats(), "Cache statistics retrieved successfully"));
+    }
+
+    /**
+     * Get statistics for one cache
+     * 
+     * @param name cache name
+     * @return cache statistics
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<ApiResponse<CacheStatsResponse>> getCacheStats(@PathVariable String name) {
+        return ResponseEntity.ok(
+                ApiResponse.success(cacheService.getCacheStats(name), "Cache statistics retrieved successfully"));
+    }
+
+    /**
+     * Clear one cache
+     * 
+     * @param name cache name
+     * @return empty response
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<ApiResponse<Void>> clearCache(@PathVariable String name) {
+        cacheService.clearCache(name);
+        return ResponseEntity.ok(ApiResponse.success(null, "Cache cleared successfully"));
+    }
+
+    /**
+     * Clear all caches
+     * 
+     * @return empty response
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> clearAllCaches() {
+        cacheService.clearAllCaches();
+        return ResponseEntity.ok(ApiResponse.success(null, "All caches cleared successfully"));
+    }
+}
@@ -1,7 +1,5 @@
 package com.company.project.controller;
 
-import java.util.List;
-
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -20,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.project.config.HttpCacheProperties;
 import com.company.project.dto.request.CategoryRequest;
 import com.company.project.dto.response.ApiResponse;
 import com.company.project.dto.response.CategoryResponse;
@@ -27,6 +26,7 @@ import com.company.project.entity.Category;
 import com.company.project.service.CategoryService;
 import com.company.project.service.ResponseService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -47,31 +47,40 @@ public class CategoryController {
         /**
          * Get all categories with pagination
          * 
+         * Supports conditional requests against the version of the category
+         * tree, answering 304 without building the response when unchanged.
+         * 
          * @param pageable Pagination information
+         * @param request  Current request, for its conditional headers
          * @return ApiResponse containing page of categories
          */
         @GetMapping
         public ResponseEntity<ApiResponse<Page<CategoryResponse>>> getAllCategories(
-                        @PageableDefault(size = 10) Pageable pageable) {
-                List<CategoryResponse> responseList = categoryService.getAllCategories();
-
-                return ResponseEntity.ok(
-                                responseService.createPageResponse(responseList, pageable,
+                        @PageableDefault(size = 10) Pageable pageable,
+                        HttpServletRequest request) {
+                return responseService.createConditionalResponse(request, HttpCacheProperties.CATEGORIES,
+                                categoryService.getCategoriesVersion(),
+                                () -> responseService.createPageResponse(categoryService.getAllCategories(), pageable,
                                                 "Categories retrieved successfully"));
         }
 
         /**
          * Get a category by its ID
          * 
-         * @param id Category ID
+         * Supports conditional requests, answering 304 without loading the
+         * category when it is unchanged.
+         * 
+         * @param id      Category ID
+         * @param request Current request, for its conditional headers
          * @return ApiResponse containing the requested category
          */
         @GetMapping("/{id}")
-        public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id) {
-                CategoryResponse response = categoryService.getCategoryById(id);
-
-                return ResponseEntity.ok(
-                                responseService.createSingleResponse(response, "Category retrieved successfully"));
+        public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id,
+                        HttpServletRequest request) {
+                return responseService.createConditionalResponse(request, HttpCacheProperties.CATEGORY,
+                                categoryService.getCategoryVersion(id),
+                                () -> responseService.createSingleResponse(categoryService.getCategoryById(id),
+                                                "Category retrieved successfully"));
         }
 
         /**
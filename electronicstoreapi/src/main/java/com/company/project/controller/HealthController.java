@@ -6,6 +6,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +26,10 @@ import lombok.RequiredArgsConstructor;
  * Provides endpoints to check the health and status of the application.
  * These endpoints can be used by monitoring tools or load balancers to verify
  * that the application is running properly.
+ * 
+ * Status comes from the actuator liveness and readiness groups, whose
+ * dependency checks are cached for a few seconds, so polling these endpoints
+ * adds no load on the database.
  */
 @RestController
 @RequestMapping("/health")
@@ -35,16 +42,30 @@ public class HealthController {
     @Value("${spring.profiles.active:default}")
     private String activeProfile;
 
+    private final HealthEndpoint healthEndpoint;
+
     /**
-     * Simple health check endpoint
-     * Returns a 200 OK response if the application is running
+     * Readiness check endpoint
+     * Returns 200 OK when the application and the dependencies it needs to
+     * serve traffic are up, and 503 otherwise
      * 
-     * @return Success response
+     * @return Readiness status
      */
     @GetMapping
     public ResponseEntity<ApiResponse<String>> healthCheck() {
-        return ResponseEntity.ok(
-                new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), "Application is running", "OK"));
+        return probe("readiness", "Application is ready", "Application is not ready");
+    }
+
+    /**
+     * Liveness check endpoint
+     * Returns 200 OK while the application is running; does not check
+     * dependencies, so a database outage never triggers a restart
+     * 
+     * @return Liveness status
+     */
+    @GetMapping("/liveness")
+    public ResponseEntity<ApiResponse<String>> livenessCheck() {
+        return probe("liveness", "Application is running", "Application is broken");
     }
 
     /**
@@ -68,4 +89,15 @@ public class HealthController {
         return ResponseEntity.ok(
                 new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), "Health information", healthData));
     }
+
+    private ResponseEntity<ApiResponse<String>> probe(String group, String upMessage, String downMessage) {
+        HealthComponent health = healthEndpoint.healthForPath(group);
+        Status status = health != null ? health.getStatus() : Status.UNKNOWN;
+        if (Status.UP.equals(status)) {
+            return ResponseEntity.ok(
+                    new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), upMessage, status.getCode()));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                new ApiResponse<>("ERROR", HttpStatus.SERVICE_UNAVAILABLE.value(), downMessage, status.getCode()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.company.project.controller;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.project.exception.ResourceNotFoundException;
+import com.company.project.service.storage.ImageFileSender;
+import com.company.project.util.AppConstants;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Image Controller
+ *
+ * Serves uploaded images and their variants from the local upload directory.
+ * These requests skip authentication entirely (see SecurityConfig), and the
+ * body is written by {@link ImageFileSender} rather than through message
+ * converters. With S3 storage images are served by the bucket instead.
+ */
+@RestController
+@RequestMapping(AppConstants.IMAGES_PATH)
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class ImageController {
+
+    private final Path uploadDir;
+    private final ImageFileSender imageFileSender;
+
+    public ImageController(@Value("${file.upload.dir}") String uploadDir, ImageFileSender imageFileSender) {
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.imageFileSender = imageFileSender;
+    }
+
+    /**
+     * Sends an image, honouring conditional, range and Accept-Encoding headers
+     *
+     * @param fileName Stored file name
+     * @param request  Current request
+     * @param response Response the file is written to
+     */
+    @GetMapping("/{fileName}")
+    public void getImage(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = uploadDir.resolve(fileName).normalize();
+        if (fileName.startsWith(".") || !uploadDir.equals(file.getParent())) {
+            throw new ResourceNotFoundException("Image not found: " + fileName);
+        }
+        try {
+            imageFileSender.send(file, request, response);
+        } catch (NoSuchFileException ex) {
+            throw new ResourceNotFoundException("Image not found: " + fileName);
+        }
+    }
+}
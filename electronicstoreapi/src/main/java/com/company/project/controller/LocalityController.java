@@ -1,7 +1,6 @@
 package com.company.project.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -13,25 +12,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.project.dto.request.LocalityRequest;
 import com.company.project.dto.response.ApiResponse;
-import com.company.project.dto.response.CityResponse;
 import com.company.project.dto.response.LocalityResponse;
-import com.company.project.dto.response.StateResponse;
-import com.company.project.entity.City;
-import com.company.project.entity.Locality;
-import com.company.project.exception.ResourceNotFoundException;
-import com.company.project.repository.CityRepository;
-import com.company.project.repository.LocalityRepository;
+import com.company.project.service.LocalityService;
+
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/localities")
 public class LocalityController {
 
-    @Autowired
-    private LocalityRepository localityRepository;
+    private final LocalityService localityService;
 
     @Autowired
-    private CityRepository cityRepository;
+    public LocalityController(LocalityService localityService) {
+        this.localityService = localityService;
+    }
 
     /**
      * Get all localities
@@ -40,10 +37,7 @@ public class LocalityController {
      */
     @GetMapping
     public ResponseEntity<ApiResponse<List<LocalityResponse>>> getAllLocalities() {
-        List<Locality> localities = localityRepository.findAll();
-        List<LocalityResponse> localityResponses = localities.stream()
-                .map(this::mapToLocalityResponse)
-                .collect(Collectors.toList());
+        List<LocalityResponse> localityResponses = localityService.getAllLocalities();
 
         return ResponseEntity.ok(
                 new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), "Localities retrieved successfully",
@@ -58,10 +52,7 @@ public class LocalityController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<LocalityResponse>> getLocalityById(@PathVariable Long id) {
-        Locality locality = localityRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Locality not found with id: " + id));
-
-        LocalityResponse localityResponse = mapToLocalityResponse(locality);
+        LocalityResponse localityResponse = localityService.getLocalityById(id);
 
         return ResponseEntity.ok(
                 new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), "Locality retrieved successfully",
@@ -76,13 +67,7 @@ public class LocalityController {
      */
     @GetMapping("/by-city/{cityId}")
     public ResponseEntity<ApiResponse<List<LocalityResponse>>> getLocalitiesByCity(@PathVariable Long cityId) {
-        City city = cityRepository.findById(cityId)
-                .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + cityId));
-
-        List<Locality> localities = localityRepository.findByCity(city);
-        List<LocalityResponse> localityResponses = localities.stream()
-                .map(this::mapToLocalityResponse)
-                .collect(Collectors.toList());
+        List<LocalityResponse> localityResponses = localityService.getLocalitiesByCity(cityId);
 
         return ResponseEntity.ok(
                 new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), "Localities by city retrieved successfully",
@@ -96,88 +81,16 @@ public class LocalityController {
      * @return created locality
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<LocalityResponse>> createLocality(@RequestBody LocalityRequest localityRequest) {
-        // Get the city
-        City city = cityRepository.findById(localityRequest.getCityId())
-                .orElseThrow(
-                        () -> new ResourceNotFoundException("City not found with id: " + localityRequest.getCityId()));
-
-        // Check if locality already exists in this city
-        if (localityRepository.existsByNameAndCity(localityRequest.getName(), city)) {
+    public ResponseEntity<ApiResponse<LocalityResponse>> createLocality(
+            @Valid @RequestBody LocalityRequest localityRequest) {
+        try {
+            LocalityResponse localityResponse = localityService.createLocality(localityRequest);
+            return ResponseEntity.status(HttpStatus.CREATED).body(
+                    new ApiResponse<>("SUCCESS", HttpStatus.CREATED.value(), "Locality created successfully",
+                            localityResponse));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(
-                    new ApiResponse<>("ERROR", HttpStatus.BAD_REQUEST.value(),
-                            "Locality with this name already exists in the city", null));
-        }
-
-        Locality locality = new Locality();
-        locality.setName(localityRequest.getName());
-        locality.setPincode(localityRequest.getPincode());
-        locality.setCity(city);
-
-        Locality savedLocality = localityRepository.save(locality);
-        LocalityResponse localityResponse = mapToLocalityResponse(savedLocality);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(
-                new ApiResponse<>("SUCCESS", HttpStatus.CREATED.value(), "Locality created successfully",
-                        localityResponse));
-    }
-
-    /**
-     * Map Locality entity to LocalityResponse DTO
-     * 
-     * @param locality the locality entity
-     * @return the locality response DTO
-     */
-    private LocalityResponse mapToLocalityResponse(Locality locality) {
-        LocalityResponse response = new LocalityResponse();
-        response.setId(locality.getId());
-        response.setName(locality.getName());
-        response.setPincode(locality.getPincode());
-
-        CityResponse cityResponse = new CityResponse();
-        cityResponse.setId(locality.getCity().getId());
-        cityResponse.setName(locality.getCity().getName());
-
-        StateResponse stateResponse = new StateResponse();
-        stateResponse.setId(locality.getCity().getState().getId());
-        stateResponse.setName(locality.getCity().getState().getName());
-        cityResponse.setState(stateResponse);
-
-        response.setCity(cityResponse);
-
-        return response;
-    }
-
-    /**
-     * Request DTO for creating a locality
-     */
-    public static class LocalityRequest {
-        private String name;
-        private String pincode;
-        private Long cityId;
-
-        public String getName() {
-            return name;
-        }
-
-        public void setName(String name) {
-            this.name = name;
-        }
-
-        public String getPincode() {
-            return pincode;
-        }
-
-        public void setPincode(String pincode) {
-            this.pincode = pincode;
-        }
-
-        public Long getCityId() {
-            return cityId;
-        }
-
-        public void setCityId(Long cityId) {
-            this.cityId = cityId;
+                    new ApiResponse<>("ERROR", HttpStatus.BAD_REQUEST.value(), e.getMessage(), null));
         }
     }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.company.project.dto.request.OutletRequest;
 import com.company.project.dto.response.ApiResponse;
+import com.company.project.dto.response.CursorPage;
 import com.company.project.dto.response.OutletResponse;
 import com.company.project.service.OutletService;
 import com.company.project.util.AppConstants;
@@ -120,6 +121,23 @@ public class OutletController {
                                                 outlets));
         }
 
+        /**
+         * Walk all outlets ordered by name with cursor (keyset) pagination
+         *
+         * @param after cursor from the previous slice; omit for the first slice
+         * @param size  slice size
+         * @return slice of outlets with the cursor for the next one
+         */
+        @GetMapping("/scroll")
+        public ResponseEntity<ApiResponse<CursorPage<OutletResponse>>> scrollOutlets(
+                        @RequestParam(required = false) String after,
+                        @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
+                CursorPage<OutletResponse> outlets = outletService.scrollOutlets(after, size);
+                return ResponseEntity.ok(
+                                new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), "Outlets retrieved successfully",
+                                                outlets));
+        }
+
         /**
          * Get outlets by locality id
          *
@@ -1,10 +1,21 @@
 package com.company.project.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,15 +31,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.company.project.config.HttpCacheProperties;
 import com.company.project.dto.request.ProductCreateRequest;
+import com.company.project.dto.request.ProductFilter;
 import com.company.project.dto.request.ProductRequest;
 import com.company.project.dto.response.ApiResponse;
+import com.company.project.dto.response.CursorPage;
+import com.company.project.dto.response.ProductImportReport;
 import com.company.project.dto.response.ProductResponse;
 import com.company.project.entity.Product;
+import com.company.project.exception.BadRequestException;
 import com.company.project.service.ProductService;
 import com.company.project.service.ResponseService;
+import com.company.project.service.bulk.ProductBulkService;
+import com.company.project.util.AppConstants;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -45,25 +65,77 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 
         private final ProductService productService;
+        private final ProductBulkService productBulkService;
         private final ResponseService responseService;
 
         /**
          * Get all products with optional filtering and pagination
          * 
-         * @param keyword    Optional search keyword for product filtering
-         * @param categoryId Optional category ID for filtering
-         * @param status     Optional product status for filtering
-         * @param pageable   Pagination information
+         * All supplied criteria are combined, so e.g. a keyword search can be
+         * narrowed by category, status and price at the same time.
+         * A keyword with at most a category and status filter is ranked by
+         * relevance and ignores the sort; combined with other filters it
+         * matches product names and the sort applies.
+         * 
+         * @param keyword               Optional search keyword for product filtering
+         * @param categoryId            Optional category ID for filtering
+         * @param includeSubcategories  Whether to include products of descendant categories
+         * @param status                Optional product status for filtering
+         * @param minPrice              Optional inclusive lower price bound
+         * @param maxPrice              Optional inclusive upper price bound
+         * @param inStock               Optional stock availability filter
+         * @param featured              Optional featured flag filter
+         * @param spec                  Optional specification filters as key:value pairs
+         * @param pageable              Pagination information
          * @return ApiResponse containing page of filtered products
          */
         @GetMapping
         public ResponseEntity<ApiResponse<Page<ProductResponse>>> getProducts(
                         @RequestParam(required = false) String keyword,
                         @RequestParam(required = false) Long categoryId,
+                        @RequestParam(defaultValue = "false") boolean includeSubcategories,
                         @RequestParam(required = false) Product.Status status,
+                        @RequestParam(required = false) BigDecimal minPrice,
+                        @RequestParam(required = false) BigDecimal maxPrice,
+                        @RequestParam(required = false) Boolean inStock,
+                        @RequestParam(required = false) Boolean featured,
+                        @RequestParam(required = false) List<String> spec,
                         @PageableDefault(size = 10, sort = "createdAt", direction = org.springframework.data.domain.Sort.Direction.DESC) Pageable pageable) {
 
-                Page<ProductResponse> products = productService.searchProducts(keyword, categoryId, status, pageable);
+                ProductFilter filter = ProductFilter.builder()
+                                .keyword(keyword)
+                                .categoryId(categoryId)
+                                .includeSubcategories(includeSubcategories)
+                                .status(status)
+                                .minPrice(minPrice)
+                                .maxPrice(maxPrice)
+                                .inStock(inStock)
+                                .featured(featured)
+                                .specifications(parseSpecifications(spec))
+                                .build();
+
+                Page<ProductResponse> products = productService.filterProducts(filter, pageable);
+                return ResponseEntity.ok(
+                                responseService.success(products));
+        }
+
+        /**
+         * Walk all products with cursor (keyset) pagination
+         * 
+         * Each slice seeks past the last row of the previous one and no total
+         * count is computed, so deep traversal stays as cheap as the first page.
+         * 
+         * @param after   Cursor from the previous slice; omit for the first slice
+         * @param size    Slice size
+         * @param orderBy Ordering, either createdAt (newest first) or name
+         * @return ApiResponse containing the slice and the cursor for the next one
+         */
+        @GetMapping("/scroll")
+        public ResponseEntity<ApiResponse<CursorPage<ProductResponse>>> scrollProducts(
+                        @RequestParam(required = false) String after,
+                        @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size,
+                        @RequestParam(defaultValue = "createdAt") String orderBy) {
+                CursorPage<ProductResponse> products = productService.scrollProducts(after, size, orderBy);
                 return ResponseEntity.ok(
                                 responseService.success(products));
         }
@@ -71,14 +143,20 @@ public class ProductController {
         /**
          * Get a product by its ID
          * 
-         * @param id Product ID
+         * Supports conditional requests: a matching If-None-Match or
+         * If-Modified-Since is answered with 304 without loading the product.
+         * 
+         * @param id      Product ID
+         * @param request Current request, for its conditional headers
          * @return ApiResponse containing the requested product
          */
         @GetMapping("/{id}")
-        public ResponseEntity<ApiResponse<ProductResponse>> getProductById(@PathVariable Long id) {
-                ProductResponse product = productService.getProductById(id);
-                return ResponseEntity.ok(
-                                responseService.createSingleResponse(product, "Product retrieved successfully"));
+        public ResponseEntity<ApiResponse<ProductResponse>> getProductById(@PathVariable Long id,
+                        HttpServletRequest request) {
+                return responseService.createConditionalResponse(request, HttpCacheProperties.PRODUCT,
+                                productService.getProductVersion(id),
+                                () -> responseService.createSingleResponse(productService.getProductById(id),
+                                                "Product retrieved successfully"));
         }
 
         /**
@@ -176,6 +254,82 @@ public class ProductController {
                                                 "Low stock products retrieved successfully"));
         }
 
+        /**
+         * Export all products with low stock levels as CSV
+         * 
+         * The file is streamed while rows are read, so the whole result set is
+         * never held in memory.
+         * 
+         * @param threshold Stock level threshold (default: 5)
+         * @return CSV attachment with one row per low stock product
+         */
+        @GetMapping(value = "/low-stock/export", produces = "text/csv")
+        @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+        public ResponseEntity<StreamingResponseBody> exportLowStockProducts(
+                        @RequestParam(defaultValue = "5") Integer threshold) {
+
+                StreamingResponseBody body = outputStream -> {
+                        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                        productService.exportLowStockProducts(threshold, writer);
+                        writer.flush();
+                };
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"low-stock-products.csv\"")
+                                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                                .body(body);
+        }
+
+        /**
+         * Import products in bulk from CSV or JSON Lines
+         * 
+         * The body is read as a stream and valid rows are saved in chunks,
+         * so a large catalog is neither buffered nor held in one
+         * transaction. Invalid rows are skipped and reported with their line.
+         * CSV input starts with a header naming the columns, as written by
+         * the export.
+         * 
+         * @param request Current request, whose body holds the rows
+         * @return ApiResponse with the number of imported rows and the rejected ones
+         */
+        @PostMapping(value = "/bulk", consumes = { "text/csv", "application/x-ndjson" })
+        @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+        public ResponseEntity<ApiResponse<ProductImportReport>> importProducts(HttpServletRequest request)
+                        throws IOException {
+                MediaType contentType = MediaType.parseMediaType(request.getContentType());
+                Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+                ProductImportReport report = productBulkService.importProducts(
+                                new BufferedReader(new InputStreamReader(request.getInputStream(), charset)),
+                                ProductBulkService.Format.fromMediaType(contentType));
+                return ResponseEntity.ok(
+                                responseService.createSingleResponse(report, "Imported " + report.getImported()
+                                                + " of " + report.getReceived() + " products"));
+        }
+
+        /**
+         * Export all products as CSV or JSON Lines
+         * 
+         * Products are streamed in id order while they are read, with the
+         * columns the bulk import accepts.
+         * 
+         * @param format Either csv or ndjson
+         * @return Attachment with one row per product
+         */
+        @GetMapping("/export")
+        @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+        public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "csv") String format) {
+                ProductBulkService.Format exportFormat = ProductBulkService.Format.fromExtension(format);
+                StreamingResponseBody body = outputStream -> {
+                        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                        productBulkService.exportProducts(exportFormat, writer);
+                        writer.flush();
+                };
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"products." + exportFormat.getExtension() + "\"")
+                                .contentType(new MediaType(exportFormat.getMediaType(), StandardCharsets.UTF_8))
+                                .body(body);
+        }
+
         /**
          * Upload product images without associating with a product
          * 
@@ -275,4 +429,19 @@ public class ProductController {
                 return ResponseEntity.ok(
                                 responseService.success(updatedProduct));
         }
+
+        private Map<String, String> parseSpecifications(List<String> spec) {
+                Map<String, String> specifications = new LinkedHashMap<>();
+                if (spec == null) {
+                        return specifications;
+                }
+                for (String entry : spec) {
+                        int separator = entry.indexOf(':');
+                        if (separator <= 0 || separator == entry.length() - 1) {
+                                throw new BadRequestException("Specification filter must be key:value, got: " + entry);
+                        }
+                        specifications.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+                }
+                return specifications;
+        }
 }
\ No newline at end of file
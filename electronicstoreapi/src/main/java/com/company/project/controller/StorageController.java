@@ -0,0 +1,48 @@
+package com.company.project.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.project.dto.response.ApiResponse;
+import com.company.project.dto.response.OrphanImageReport;
+import com.company.project.service.storage.OrphanImageCollector;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Storage Controller
+ * 
+ * Lets administrators see which stored images no product or category
+ * references before the orphaned image collector is allowed to delete them.
+ */
+@RestController
+@RequestMapping("/storage")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+public class StorageController {
+
+    // Upper bound for one report, which lists and checks every file in its range
+    private static final int MAX_REPORT_FILES = 10_000;
+
+    private final OrphanImageCollector orphanImageCollector;
+
+    /**
+     * Dry-run report of orphaned images among a page of stored files
+     * 
+     * @param startAfter file name to continue after; nextStartAfter of the previous report
+     * @param limit      number of stored files to check
+     * @return orphan report
+     */
+    @GetMapping("/orphans")
+    public ResponseEntity<ApiResponse<OrphanImageReport>> getOrphanReport(
+            @RequestParam(required = false) String startAfter,
+            @RequestParam(defaultValue = "1000") int limit) {
+        OrphanImageReport report = orphanImageCollector.report(startAfter,
+                Math.max(1, Math.min(limit, MAX_REPORT_FILES)));
+        return ResponseEntity.ok(ApiResponse.success(report, "Orphaned image report generated successfully"));
+    }
+}
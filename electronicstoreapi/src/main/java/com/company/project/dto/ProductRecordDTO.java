@@ -0,0 +1,74 @@
+package com.company.project.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.company.project.entity.Product;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One product as a row of a bulk import or export. The category is given by
+ * id or by name; the id is only filled in on export and ignored on import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductRecordDTO {
+    private Long id;
+
+    @NotBlank(message = "Product name is required")
+    @Size(max = 255, message = "Product name must be at most 255 characters")
+    private String name;
+
+    private String description;
+
+    @NotNull(message = "Price is required")
+    @Positive(message = "Price must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 digits and 2 decimals")
+    private BigDecimal price;
+
+    @NotNull(message = "Stock is required")
+    @Positive(message = "Stock must be positive")
+    private Integer stock;
+
+    private Long categoryId;
+
+    private String category;
+
+    // Kept as JSON text; written into JSON Lines as an embedded object
+    @JsonRawValue
+    private String specifications;
+
+    @Builder.Default
+    private List<@NotBlank(message = "Image URL must not be blank")
+            @Size(max = 255, message = "Image URL must be at most 255 characters") String> images = new ArrayList<>();
+
+    private Product.Status status;
+
+    private Boolean featured;
+
+    // Specifications are accepted as a JSON object as well as JSON text
+    @JsonSetter("specifications")
+    public void setSpecificationsJson(JsonNode specifications) {
+        this.specifications = specifications == null || specifications.isNull() ? null
+                : specifications.isTextual() ? specifications.asText() : specifications.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.project.dto.request;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.company.project.entity.Product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional criteria for product listings. Every non-null field narrows the
+ * result; all of them are combined into a single query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+    private String keyword;
+
+    private Long categoryId;
+
+    // Also match products in any descendant of categoryId
+    private boolean includeSubcategories;
+
+    private Product.Status status;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private Boolean inStock;
+
+    private Boolean featured;
+
+    // Exact matches on top-level keys of the specifications JSON
+    @Builder.Default
+    private Map<String, String> specifications = new LinkedHashMap<>();
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.project.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Usage counters of a single local cache since startup or its last clear
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private String name;
+    private long size;
+    private long maxSize;
+    private long ttlSeconds;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+}
@@ -25,6 +25,9 @@ public class CategoryResponse {
         private CategorySummary parentCategory;
         private List<CategorySummary> subCategories;
         private List<ProductSummary> products;
+        // Products assigned directly to this category, and including all subcategories
+        private Long productCount;
+        private Long totalProductCount;
         private Category.Status status;
 
         @JsonFormat(pattern = AppConstants.DEFAULT_DATETIME_FORMAT)
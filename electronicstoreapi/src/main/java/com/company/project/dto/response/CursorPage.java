@@ -0,0 +1,25 @@
+package com.company.project.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A slice of a keyset-paginated listing
+ * 
+ * Unlike {@link org.springframework.data.domain.Page} there is no total count;
+ * pass {@code nextCursor} back as {@code after} to fetch the following slice.
+ * 
+ * @param <T> Type of the listed items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+}
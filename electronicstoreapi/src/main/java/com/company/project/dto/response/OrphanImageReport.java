@@ -0,0 +1,32 @@
+package com.company.project.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one orphaned image collector run over a range of stored files
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrphanImageReport {
+    private boolean dryRun;
+    private String startAfter;
+    // Name to continue after; null once the end of the storage was reached
+    private String nextStartAfter;
+    private int scanned;
+    // Removed together with their original, so not checked on their own
+    private int variants;
+    // Younger than the grace period, so not checked
+    private int recent;
+    private int referenced;
+    private int orphaned;
+    private long orphanedBytes;
+    private int deleted;
+    private List<String> orphanSample;
+}
@@ -0,0 +1,38 @@
+package com.company.project.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk product import. Rows are imported or rejected one by
+ * one, so a rejected row never holds back the rest.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportReport {
+    private String format;
+    private int received;
+    private int imported;
+    private int failed;
+    // The first max-reported-errors rejected rows, in input order
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    /**
+     * A rejected row and why. For CSV the line is where the record starts
+     * (the header is line 1); for JSON Lines it is the line of the object.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private int line;
+        private String message;
+    }
+}
@@ -3,6 +3,7 @@ package com.company.project.dto.response;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import com.company.project.entity.Product;
 import com.company.project.util.AppConstants;
@@ -25,6 +26,8 @@ public class ProductResponse {
     private CategorySummary category;
     private String specifications;
     private List<String> images;
+    // Resized WebP URLs per image, in the same order as images, keyed by variant name
+    private List<Map<String, String>> imageVariants;
     private Product.Status status;
     private Integer stock;
     private Boolean featured;
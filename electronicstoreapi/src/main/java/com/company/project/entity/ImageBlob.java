@@ -0,0 +1,33 @@
+package com.company.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A content-addressed image file and the number of rows referencing it
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "image_blobs")
+public class ImageBlob {
+    @Id
+    @Column(length = 512)
+    private String url;
+
+    @Column(nullable = false)
+    private int refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // When a store or another row last took a reference
+    private LocalDateTime lastAcquiredAt;
+}
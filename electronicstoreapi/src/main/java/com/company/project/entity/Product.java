@@ -24,7 +24,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -34,8 +36,12 @@ import lombok.EqualsAndHashCode;
 @Table(name = "products")
 @EntityListeners(AuditingEntityListener.class)
 public class Product extends Auditable {
+    // Ids are handed out in blocks from a table rather than by AUTO_INCREMENT,
+    // which would make Hibernate insert each product on its own to read its id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id")
+    @TableGenerator(name = "product_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "products", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -57,6 +63,7 @@ public class Product extends Auditable {
 
     @ElementCollection
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "image_order")
     @Column(name = "image_url")
     private List<String> images = new ArrayList<>();
 
@@ -74,6 +81,28 @@ public class Product extends Auditable {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    /**
+     * Replaces the images position by position in the managed list, so only
+     * the positions that changed are written instead of the whole collection
+     */
+    public void replaceImages(List<String> newImages) {
+        if (images == null) {
+            images = new ArrayList<>(newImages);
+            return;
+        }
+        int kept = Math.min(images.size(), newImages.size());
+        for (int i = 0; i < kept; i++) {
+            if (!images.get(i).equals(newImages.get(i))) {
+                images.set(i, newImages.get(i));
+            }
+        }
+        if (images.size() > kept) {
+            images.subList(kept, images.size()).clear();
+        } else {
+            images.addAll(newImages.subList(kept, newImages.size()));
+        }
+    }
+
     public enum Status {
         ACTIVE, INACTIVE
     }
@@ -0,0 +1,11 @@
+package com.company.project.exception;
+
+/**
+ * Invalid client input, such as a malformed filter or cursor. Mapped to 400;
+ * other {@link IllegalArgumentException}s remain server errors.
+ */
+public class BadRequestException extends IllegalArgumentException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.project.health;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import com.company.project.config.HealthProbeProperties;
+
+/**
+ * Base class for dependency health checks behind the readiness probe
+ * 
+ * The check runs on a separate thread and is reported DOWN if it does not
+ * finish within the configured timeout, so a hung dependency cannot stall
+ * the probe past the orchestrator's own deadline. The result, healthy or
+ * not, is reused until the cache TTL expires and concurrent probes during a
+ * refresh share the one check.
+ */
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService CHECK_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "health-check-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Duration cacheTtl;
+    private final Duration timeout;
+    // Held while waiting on the check, so a lock rather than a monitor that would pin a virtual thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CachedResult cached;
+    private Future<Health> pending;
+
+    protected CachedHealthIndicator(HealthProbeProperties properties) {
+        this.cacheTtl = properties.getCacheTtl();
+        this.timeout = properties.getTimeout();
+    }
+
+    /**
+     * Probes the dependency and records the outcome on the builder
+     * 
+     * Throwing marks the dependency DOWN with the exception as the detail.
+     * 
+     * @param builder Health builder to populate
+     * @throws Exception if the dependency cannot be reached
+     */
+    protected abstract void doHealthCheck(Health.Builder builder) throws Exception;
+
+    @Override
+    public Health health() {
+        CachedResult current = cached;
+        if (current != null && !current.isExpired()) {
+            return current.health();
+        }
+        refreshLock.lock();
+        try {
+            current = cached;
+            if (current == null || current.isExpired()) {
+                current = new CachedResult(runCheck(), System.nanoTime() + cacheTtl.toNanos());
+                cached = current;
+            }
+            return current.health();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Health runCheck() {
+        // A check stuck in a blocking connect is not abandoned for a new one;
+        // later probes wait on it again rather than piling up threads
+        if (pending == null || pending.isDone()) {
+            pending = CHECK_EXECUTOR.submit(() -> {
+                Health.Builder builder = new Health.Builder();
+                try {
+                    doHealthCheck(builder);
+                } catch (Exception ex) {
+                    builder.down(ex);
+                }
+                return builder.build();
+            });
+        }
+        try {
+            return pending.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            return Health.down().withDetail("error", "Timed out after " + timeout.toMillis() + "ms").build();
+        } catch (ExecutionException ex) {
+            return Health.down(ex.getCause()).build();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Health.down(ex).build();
+        }
+    }
+
+    private record CachedResult(Health health, long expiresAt) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
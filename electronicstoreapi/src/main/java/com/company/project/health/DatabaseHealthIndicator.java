@@ -0,0 +1,41 @@
+package com.company.project.health;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import com.company.project.config.HealthProbeProperties;
+
+/**
+ * Readiness check for the database
+ * 
+ * Borrows a pooled connection and validates it with the driver's own
+ * liveness check, bounded by the probe timeout, instead of running a query.
+ */
+@Component
+public class DatabaseHealthIndicator extends CachedHealthIndicator {
+
+    private final DataSource dataSource;
+    private final int validationTimeoutSeconds;
+
+    public DatabaseHealthIndicator(DataSource dataSource, HealthProbeProperties properties) {
+        super(properties);
+        this.dataSource = dataSource;
+        this.validationTimeoutSeconds = (int) Math.max(1, properties.getTimeout().toSeconds());
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            builder.withDetail("database", connection.getMetaData().getDatabaseProductName());
+            if (connection.isValid(validationTimeoutSeconds)) {
+                builder.up();
+            } else {
+                builder.down().withDetail("error", "Connection validation failed");
+            }
+        }
+    }
+}
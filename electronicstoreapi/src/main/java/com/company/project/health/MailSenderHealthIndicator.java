@@ -0,0 +1,37 @@
+package com.company.project.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import com.company.project.config.HealthProbeProperties;
+
+/**
+ * Health check for the SMTP server used for outgoing email
+ * 
+ * Reported on the aggregate health endpoint but not part of the readiness
+ * group: browsing and ordering keep working while mail is down, so losing
+ * SMTP must not take the instance out of the load balancer.
+ */
+@Component
+public class MailSenderHealthIndicator extends CachedHealthIndicator {
+
+    private final JavaMailSender mailSender;
+
+    public MailSenderHealthIndicator(JavaMailSender mailSender, HealthProbeProperties properties) {
+        super(properties);
+        this.mailSender = mailSender;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        if (!(mailSender instanceof JavaMailSenderImpl smtpSender)) {
+            builder.unknown().withDetail("error", "Mail sender does not support connection checks");
+            return;
+        }
+        builder.withDetail("location", smtpSender.getHost() + ":" + smtpSender.getPort());
+        smtpSender.testConnection();
+        builder.up();
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.project.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.company.project.config.HealthProbeProperties;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * Readiness check for the S3 image bucket
+ * 
+ * Issues a HEAD on the bucket, which verifies the endpoint, the credentials
+ * and the bucket in one request without listing or reading any objects.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3HealthIndicator extends CachedHealthIndicator {
+
+    private final S3AsyncClient s3Client;
+    private final String bucketName;
+
+    public S3HealthIndicator(S3AsyncClient s3Client, @Value("${aws.s3.bucket-name}") String bucketName,
+            HealthProbeProperties properties) {
+        super(properties);
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        builder.withDetail("bucket", bucketName);
+        s3Client.headBucket(request -> request.bucket(bucketName)).join();
+        builder.up();
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.project.health;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.company.project.config.HealthProbeProperties;
+
+/**
+ * Readiness check for local image storage
+ * 
+ * Reports DOWN when the upload directory is missing or read-only, or when
+ * the free space on its volume drops below health.min-free-disk, so uploads
+ * are routed away before they start failing.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class UploadStorageHealthIndicator extends CachedHealthIndicator {
+
+    private final Path uploadDir;
+    private final long minFreeBytes;
+
+    public UploadStorageHealthIndicator(@Value("${file.upload.dir}") String uploadDir,
+            HealthProbeProperties properties) {
+        super(properties);
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.minFreeBytes = properties.getMinFreeDisk().toBytes();
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        builder.withDetail("path", uploadDir.toString());
+        if (!Files.isDirectory(uploadDir) || !Files.isWritable(uploadDir)) {
+            builder.down().withDetail("error", "Upload directory is missing or not writable");
+            return;
+        }
+        long free = Files.getFileStore(uploadDir).getUsableSpace();
+        builder.withDetail("free", free).withDetail("threshold", minFreeBytes);
+        if (free >= minFreeBytes) {
+            builder.up();
+        } else {
+            builder.down();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.company.project.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.company.project.service.FileStorageService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records timers for controller methods, repository methods, file storage
+ * and JWT signing/verification
+ * 
+ * Every timer carries an "outcome" tag: "success", or the simple name of the
+ * exception thrown. Metric names:
+ * - app.controller.requests: controller, method
+ * - app.repository.queries: repository, method
+ * - app.repository.statements: SQL statements per repository call
+ * - app.storage.operations: backend, operation
+ * - app.storage.bytes: bytes written per upload, per backend
+ * - app.jwt.operations: operation (sign or verify)
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("app.controller.requests", Tags.of(
+                "controller", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName()), joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of("repository", repositoryName(joinPoint), "method", joinPoint.getSignature().getName());
+        long statementsBefore = StatementCounter.current();
+        try {
+            return time("app.repository.queries", tags, joinPoint);
+        } finally {
+            DistributionSummary.builder("app.repository.statements")
+                    .description("SQL statements issued per repository call")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(StatementCounter.current() - statementsBefore);
+        }
+    }
+
+    @Around("execution(* com.company.project.service.FileStorageService+.storeFile(..)) && args(file)")
+    public Object timeStore(ProceedingJoinPoint joinPoint, MultipartFile file) throws Throwable {
+        String backend = ((FileStorageService) joinPoint.getTarget()).getFileType();
+        Object result = time("app.storage.operations", Tags.of("backend", backend, "operation", "store"), joinPoint);
+        DistributionSummary.builder("app.storage.bytes")
+                .description("Bytes written to file storage")
+                .baseUnit("bytes")
+                .tag("backend", backend)
+                .register(meterRegistry)
+                .record(file.getSize());
+        return result;
+    }
+
+    @Around("execution(* com.company.project.service.FileStorageService+.deleteFile(..))")
+    public Object timeDelete(ProceedingJoinPoint joinPoint) throws Throwable {
+        String backend = ((FileStorageService) joinPoint.getTarget()).getFileType();
+        return time("app.storage.operations", Tags.of("backend", backend, "operation", "delete"), joinPoint);
+    }
+
+    @Around("execution(public * com.company.project.security.JwtTokenCodec.*(..))")
+    public Object timeJwt(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("app.jwt.operations", Tags.of("operation", joinPoint.getSignature().getName()), joinPoint);
+    }
+
+    private Object time(String name, Tags tags, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        return interfaces.length > 0
+                ? interfaces[0].getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.project.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread
+ * 
+ * Registered as Hibernate's statement inspector; {@link MetricsAspect} reads
+ * the count before and after each repository call to attribute statements
+ * to the repository method that issued them.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return statements prepared on this thread so far
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -3,6 +3,7 @@ package com.company.project.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,12 +13,23 @@ import com.company.project.entity.User;
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
 
+    /**
+     * Find an address with its user and the locality -> city -> state chain
+     * the response is built from
+     * 
+     * @param id the ID of the address
+     * @return optional containing the address if found
+     */
+    @EntityGraph(attributePaths = {"user", "locality", "locality.city", "locality.city.state"})
+    Optional<Address> findWithLocationById(Long id);
+
     /**
      * Find all addresses for a specific user
      * 
      * @param user the user whose addresses to find
      * @return list of addresses for the user
      */
+    @EntityGraph(attributePaths = {"user", "locality", "locality.city", "locality.city.state"})
     List<Address> findByUser(User user);
 
     /**
@@ -34,6 +46,7 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      * @param user the user whose default address to find
      * @return optional containing the default address if found
      */
+    @EntityGraph(attributePaths = {"user", "locality", "locality.city", "locality.city.state"})
     Optional<Address> findByUserAndIsDefaultTrue(User user);
 
     /**
@@ -1,9 +1,15 @@
 package com.company.project.repository;
 
 import com.company.project.entity.Category;
+import com.company.project.repository.projection.CategoryProductCount;
+import com.company.project.repository.projection.CategoryTreeRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +17,36 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByParentCategoryIsNull();
     
     Optional<Category> findByName(String name);
+
+    // Everything CategoryResponse.fromEntity reads, in two statements: Hibernate
+    // cannot fetch both lists in one. Run both in one transaction so the second
+    // fills in the instance returned by the first.
+    @EntityGraph(attributePaths = {"parentCategory", "subCategories"})
+    Optional<Category> findWithChildrenById(Long id);
+
+    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.products WHERE c.id = :id")
+    Optional<Category> findWithProductsById(@Param("id") Long id);
     
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Product p WHERE p.category.id = ?1")
     boolean hasProducts(Long categoryId);
+
+    @Query("SELECT c.id AS id, c.name AS name, c.description AS description, c.imageUrl AS imageUrl, "
+            + "c.parentCategory.id AS parentId, c.status AS status, c.createdAt AS createdAt, "
+            + "c.updatedAt AS updatedAt, c.createdBy AS createdBy, c.lastModifiedBy AS lastModifiedBy "
+            + "FROM Category c ORDER BY c.id")
+    List<CategoryTreeRow> findAllTreeRows();
+
+    @Query("SELECT p.category.id AS categoryId, COUNT(p) AS productCount, MAX(p.updatedAt) AS lastProductUpdate "
+            + "FROM Product p WHERE p.category IS NOT NULL GROUP BY p.category.id")
+    List<CategoryProductCount> countProductsByCategory();
+
+    @Query("SELECT c.imageUrl, COUNT(c) FROM Category c WHERE c.imageUrl IS NOT NULL GROUP BY c.imageUrl")
+    List<Object[]> countImageReferences();
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Category c SET c.imageUrl = :to WHERE c.imageUrl = :from")
+    int replaceImageUrl(String from, String to);
+
+    @Query("SELECT DISTINCT c.imageUrl FROM Category c WHERE c.imageUrl IN :urls")
+    List<String> findReferencedImageUrls(Collection<String> urls);
 } 
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.company.project.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,8 +12,16 @@ import com.company.project.entity.State;
 
 @Repository
 public interface CityRepository extends JpaRepository<City, Long> {
+    // Reads load the state the response includes
+    @EntityGraph(attributePaths = "state")
+    List<City> findAll();
+
+    @EntityGraph(attributePaths = "state")
+    Optional<City> findWithStateById(Long id);
+
     Optional<City> findByName(String name);
 
+    @EntityGraph(attributePaths = "state")
     List<City> findByState(State state);
 
     List<City> findByStateOrderByNameAsc(State state);
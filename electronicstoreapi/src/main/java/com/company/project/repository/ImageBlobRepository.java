@@ -0,0 +1,27 @@
+package com.company.project.repository;
+
+import com.company.project.entity.ImageBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount + :delta, b.lastAcquiredAt = :now WHERE b.url = :url")
+    int addReferences(String url, int delta, LocalDateTime now);
+
+    /**
+     * Locks the row so that a release and a concurrent store of the same
+     * content cannot interleave between the count reaching zero and the
+     * file being deleted
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ImageBlob b WHERE b.url = :url")
+    Optional<ImageBlob> findForUpdate(String url);
+}
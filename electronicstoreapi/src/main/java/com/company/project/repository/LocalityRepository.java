@@ -3,6 +3,7 @@ package com.company.project.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,8 +12,16 @@ import com.company.project.entity.Locality;
 
 @Repository
 public interface LocalityRepository extends JpaRepository<Locality, Long> {
+    // Reads load the city and state the response includes
+    @EntityGraph(attributePaths = {"city", "city.state"})
+    List<Locality> findAll();
+
+    @EntityGraph(attributePaths = {"city", "city.state"})
+    Optional<Locality> findWithCityById(Long id);
+
     Optional<Locality> findByName(String name);
 
+    @EntityGraph(attributePaths = {"city", "city.state"})
     List<Locality> findByCity(City city);
 
     List<Locality> findByCityOrderByNameAsc(City city);
@@ -0,0 +1,42 @@
+package com.company.project.repository;
+
+import com.company.project.entity.OutboundEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    @Query("SELECT e.id FROM OutboundEmail e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt, e.id")
+    List<Long> findDueIds(Collection<OutboundEmail.Status> statuses, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims due rows for one dispatch run. Rows another instance claimed in
+     * the meantime no longer match, so each row is sent by one dispatcher.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboundEmail e SET e.status = :claimed, e.claimToken = :claimToken, e.nextAttemptAt = :claimExpiry " +
+           "WHERE e.id IN :ids AND e.status IN :statuses AND e.nextAttemptAt <= :now")
+    int claim(Collection<Long> ids, Collection<OutboundEmail.Status> statuses, LocalDateTime now,
+              OutboundEmail.Status claimed, String claimToken, LocalDateTime claimExpiry);
+
+    List<OutboundEmail> findByClaimToken(String claimToken);
+
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :sent, e.sentAt = :sentAt, e.claimToken = NULL, " +
+           "e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markSent(Collection<Long> ids, OutboundEmail.Status sent, LocalDateTime sentAt);
+
+    @Query("SELECT e.status, COUNT(e) FROM OutboundEmail e WHERE e.status IN :statuses GROUP BY e.status")
+    List<Object[]> countByStatusIn(Collection<OutboundEmail.Status> statuses);
+
+    @Modifying
+    @Query("DELETE FROM OutboundEmail e WHERE e.status = :status AND e.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(OutboundEmail.Status status, LocalDateTime before);
+}
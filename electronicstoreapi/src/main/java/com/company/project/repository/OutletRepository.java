@@ -1,10 +1,15 @@
 package com.company.project.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.company.project.entity.Locality;
@@ -12,13 +17,33 @@ import com.company.project.entity.Outlet;
 
 @Repository
 public interface OutletRepository extends JpaRepository<Outlet, Long> {
+    // Fetches the locality -> city -> state chain in the same statement; every
+    // read below does, as mapping an outlet walks the whole chain
+    String FETCH_LOCATION = "SELECT o FROM Outlet o JOIN FETCH o.locality l JOIN FETCH l.city c JOIN FETCH c.state";
+
+    @Query(FETCH_LOCATION + " WHERE o.id = :id")
+    Optional<Outlet> findWithLocationById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"locality", "locality.city", "locality.city.state"})
     List<Outlet> findByLocalityAndActiveTrue(Locality locality);
 
+    @EntityGraph(attributePaths = {"locality", "locality.city", "locality.city.state"})
     List<Outlet> findByLocality_City_IdAndActiveTrue(Long cityId);
 
+    @EntityGraph(attributePaths = {"locality", "locality.city", "locality.city.state"})
     List<Outlet> findByLocality_City_State_IdAndActiveTrue(Long stateId);
 
+    @EntityGraph(attributePaths = {"locality", "locality.city", "locality.city.state"})
     List<Outlet> findByActiveTrue();
 
+    @EntityGraph(attributePaths = {"locality", "locality.city", "locality.city.state"})
     Page<Outlet> findAll(Pageable pageable);
+
+    // Keyset (seek) pagination over (name, id), without a count query
+
+    @Query(FETCH_LOCATION + " ORDER BY o.name ASC, o.id ASC")
+    List<Outlet> findOrderByName(Limit limit);
+
+    @Query(FETCH_LOCATION + " WHERE o.name > :name OR (o.name = :name AND o.id > :id) ORDER BY o.name ASC, o.id ASC")
+    List<Outlet> findOrderByNameAfter(@Param("name") String name, @Param("id") Long id, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.company.project.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.company.project.entity.Product;
+import com.company.project.repository.projection.ProductListingView;
+
+/**
+ * Listing queries built from a {@link Specification}, for filters that cannot
+ * be expressed as a fixed derived or {@code @Query} method.
+ */
+public interface ProductListingRepository {
+    Page<ProductListingView> findListings(Specification<Product> specification, Pageable pageable);
+}
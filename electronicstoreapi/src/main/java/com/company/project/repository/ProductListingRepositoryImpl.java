@@ -0,0 +1,139 @@
+package com.company.project.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.repository.projection.ProductListingView;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.Value;
+
+/**
+ * Criteria implementation of {@link ProductListingRepository}. Selects the
+ * same flat columns as {@link ProductRepository#LISTING_SELECT} so a filtered
+ * page is read in one statement; the count query is skipped when the page
+ * already shows the total.
+ */
+public class ProductListingRepositoryImpl implements ProductListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductListingView> findListings(Specification<Product> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category", JoinType.LEFT);
+
+        query.multiselect(
+                product.get("id"),
+                product.get("name"),
+                product.get("description"),
+                product.get("price"),
+                product.get("specifications"),
+                product.get("status"),
+                product.get("stock"),
+                product.get("featured"),
+                category.get("id"),
+                category.get("name"),
+                category.get("description"),
+                product.get("createdAt"),
+                product.get("updatedAt"),
+                product.get("createdBy"),
+                product.get("lastModifiedBy"));
+
+        Predicate predicate = toPredicate(specification, product, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<ProductListingView> content = typedQuery.getResultList().stream()
+                .map(ProductListingRepositoryImpl::toView)
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product));
+
+        Predicate predicate = toPredicate(specification, product, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate toPredicate(Specification<Product> specification, Root<Product> root,
+            CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return specification != null ? specification.toPredicate(root, query, cb) : null;
+    }
+
+    private static ProductListingView toView(Tuple tuple) {
+        return new ListingRow(
+                tuple.get(0, Long.class),
+                tuple.get(1, String.class),
+                tuple.get(2, String.class),
+                tuple.get(3, BigDecimal.class),
+                tuple.get(4, String.class),
+                tuple.get(5, Product.Status.class),
+                tuple.get(6, Integer.class),
+                tuple.get(7, Boolean.class),
+                tuple.get(8, Long.class),
+                tuple.get(9, String.class),
+                tuple.get(10, String.class),
+                tuple.get(11, LocalDateTime.class),
+                tuple.get(12, LocalDateTime.class),
+                tuple.get(13, String.class),
+                tuple.get(14, String.class));
+    }
+
+    @Value
+    private static class ListingRow implements ProductListingView {
+        Long id;
+        String name;
+        String description;
+        BigDecimal price;
+        String specifications;
+        Product.Status status;
+        Integer stock;
+        Boolean featured;
+        Long categoryId;
+        String categoryName;
+        String categoryDescription;
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+        String createdBy;
+        String lastModifiedBy;
+    }
+}
@@ -1,27 +1,173 @@
 package com.company.project.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.company.project.entity.Product;
+import com.company.project.repository.projection.LowStockView;
+import com.company.project.repository.projection.ProductExportView;
+import com.company.project.repository.projection.ProductImageView;
+import com.company.project.repository.projection.ProductListingView;
+import com.company.project.repository.projection.ProductSearchView;
+import com.company.project.repository.projection.ProductVersionView;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductListingRepository {
+    // Shared select clause for the listing projections below
+    String LISTING_SELECT = "SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price, "
+            + "p.specifications AS specifications, p.status AS status, p.stock AS stock, p.featured AS featured, "
+            + "c.id AS categoryId, c.name AS categoryName, c.description AS categoryDescription, "
+            + "p.createdAt AS createdAt, p.updatedAt AS updatedAt, "
+            + "p.createdBy AS createdBy, p.lastModifiedBy AS lastModifiedBy "
+            + "FROM Product p LEFT JOIN p.category c";
+
+    @EntityGraph(attributePaths = {"category", "images"})
+    Optional<Product> findWithCategoryAndImagesById(Long id);
+
+    // Entity reads below fetch the category with the product. Images are a
+    // collection, which would turn a page into in-memory paging, so callers
+    // load them with findImagesByProductIds instead.
+
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> specification, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.category.id = ?1 AND p.status = ?2")
     Page<Product> findByCategoryIdAndStatus(Long categoryId, Product.Status status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     List<Product> findByStockLessThan(Integer minStock);
 
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findByStockLessThan(Integer minStock, Pageable pageable);
+
     // Find featured products
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByFeaturedTrueAndStatusOrderByCreatedAtDesc(Product.Status status, Pageable pageable);
 
     // Find latest products by created date
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByStatusOrderByCreatedAtDesc(Product.Status status, Pageable pageable);
-}
\ No newline at end of file
+
+    // Listing projections: one statement per page (plus count), no lazy loading
+
+    @Query(value = LISTING_SELECT, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductListingView> findAllListings(Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " WHERE c.id = :categoryId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
+    Page<ProductListingView> findListingsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " WHERE c.id = :categoryId AND p.status = :status",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.status = :status")
+    Page<ProductListingView> findListingsByCategoryIdAndStatus(@Param("categoryId") Long categoryId,
+            @Param("status") Product.Status status, Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<ProductListingView> findListingsByNameContaining(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " WHERE p.featured = true AND p.status = :status ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.featured = true AND p.status = :status")
+    Page<ProductListingView> findFeaturedListings(@Param("status") Product.Status status, Pageable pageable);
+
+    @Query(value = LISTING_SELECT + " WHERE p.status = :status ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.status = :status")
+    Page<ProductListingView> findLatestListings(@Param("status") Product.Status status, Pageable pageable);
+
+    @Query(LISTING_SELECT + " WHERE p.id IN :ids")
+    List<ProductListingView> findListingsByIds(@Param("ids") Collection<Long> ids);
+
+    // Low-stock listing, served from the stock index in (stock, id) order
+    @Query(value = LISTING_SELECT + " WHERE p.stock < :threshold ORDER BY p.stock ASC, p.id ASC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.stock < :threshold")
+    Page<ProductListingView> findLowStockListings(@Param("threshold") Integer threshold, Pageable pageable);
+
+    // Low-stock rows for export, read in keyset batches over (stock, id)
+    @Query("SELECT p.id AS id, p.name AS name, c.name AS categoryName, p.stock AS stock, p.price AS price, "
+            + "p.status AS status FROM Product p LEFT JOIN p.category c "
+            + "WHERE p.stock < :threshold AND (p.stock > :stock OR (p.stock = :stock AND p.id > :id)) "
+            + "ORDER BY p.stock ASC, p.id ASC")
+    List<LowStockView> findLowStockAfter(@Param("threshold") Integer threshold, @Param("stock") Integer stock,
+            @Param("id") Long id, Limit limit);
+
+    // Catalog rows for export, read in keyset batches over id
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price, "
+            + "p.stock AS stock, p.category.id AS categoryId, p.specifications AS specifications, "
+            + "p.status AS status, p.featured AS featured FROM Product p WHERE p.id > :id ORDER BY p.id")
+    List<ProductExportView> findExportRowsAfter(@Param("id") Long id, Limit limit);
+
+    // Validators for conditional GETs of a single product; primary key lookups only
+    @Query("SELECT p.updatedAt AS updatedAt, c.updatedAt AS categoryUpdatedAt "
+            + "FROM Product p LEFT JOIN p.category c WHERE p.id = :id")
+    Optional<ProductVersionView> findVersionById(@Param("id") Long id);
+
+    // Keyset (seek) pagination: each slice starts after the last row of the previous one, without a count query
+
+    @Query(LISTING_SELECT + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductListingView> findNewestListings(Limit limit);
+
+    @Query(LISTING_SELECT + " WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)"
+            + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductListingView> findNewestListingsAfter(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
+
+    @Query(LISTING_SELECT + " ORDER BY p.name ASC, p.id ASC")
+    List<ProductListingView> findListingsOrderByName(Limit limit);
+
+    @Query(LISTING_SELECT + " WHERE p.name > :name OR (p.name = :name AND p.id > :id) ORDER BY p.name ASC, p.id ASC")
+    List<ProductListingView> findListingsOrderByNameAfter(@Param("name") String name, @Param("id") Long id,
+            Limit limit);
+
+    // Batched image fetch for a page of products, keyed by product id, in gallery order
+    @Query("SELECT p.id AS productId, i AS imageUrl FROM Product p JOIN p.images i WHERE p.id IN :productIds "
+            + "ORDER BY p.id, index(i)")
+    List<ProductImageView> findImagesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // Source rows for the in-process search index; must be consumed inside a transaction
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, "
+            + "p.specifications AS specifications, c.id AS categoryId, p.status AS status "
+            + "FROM Product p LEFT JOIN p.category c")
+    Stream<ProductSearchView> streamSearchDocuments();
+
+    // Image references per URL, for reference counting of shared image files
+    @Query("SELECT i, COUNT(i) FROM Product p JOIN p.images i GROUP BY i")
+    List<Object[]> countImageReferences();
+
+    @Query("SELECT DISTINCT p.id FROM Product p JOIN p.images i GROUP BY p.id, i HAVING COUNT(i) > 1")
+    List<Long> findIdsWithRepeatedImages();
+
+    // Element collection rows cannot be addressed in JPQL updates
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE product_images SET image_url = :to WHERE image_url = :from", nativeQuery = true)
+    int replaceImageUrl(@Param("from") String from, @Param("to") String to);
+
+    @Query("SELECT DISTINCT i FROM Product p JOIN p.images i WHERE i IN :urls")
+    List<String> findReferencedImageUrls(@Param("urls") Collection<String> urls);
+}
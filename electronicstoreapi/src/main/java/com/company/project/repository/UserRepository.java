@@ -1,7 +1,10 @@
 package com.company.project.repository;
 
 import com.company.project.entity.User;
+import com.company.project.repository.projection.UserStatusView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -10,4 +13,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id AS id, u.role AS role, u.status AS status, u.passwordChangedAt AS passwordChangedAt "
+            + "FROM User u WHERE u.username = :username")
+    Optional<UserStatusView> findStatusByUsername(@Param("username") String username);
 } 
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.company.project.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of products directly assigned to a category, and when the most
+ * recently modified of them last changed.
+ */
+public interface CategoryProductCount {
+    Long getCategoryId();
+
+    Long getProductCount();
+
+    LocalDateTime getLastProductUpdate();
+}
@@ -0,0 +1,31 @@
+package com.company.project.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.company.project.entity.Category;
+
+/**
+ * Flat category row with its parent id, used to materialize the category
+ * tree in a single query.
+ */
+public interface CategoryTreeRow {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getImageUrl();
+
+    Long getParentId();
+
+    Category.Status getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getCreatedBy();
+
+    String getLastModifiedBy();
+}
@@ -0,0 +1,23 @@
+package com.company.project.repository.projection;
+
+import java.math.BigDecimal;
+
+import com.company.project.entity.Product;
+
+/**
+ * The columns of a low-stock product needed for replenishment, without the
+ * heavy description and specification columns.
+ */
+public interface LowStockView {
+    Long getId();
+
+    String getName();
+
+    String getCategoryName();
+
+    Integer getStock();
+
+    BigDecimal getPrice();
+
+    Product.Status getStatus();
+}
@@ -0,0 +1,29 @@
+package com.company.project.repository.projection;
+
+import java.math.BigDecimal;
+
+import com.company.project.entity.Product;
+
+/**
+ * The columns of a product written by the catalog export; the category name
+ * and the images are looked up separately.
+ */
+public interface ProductExportView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    Integer getStock();
+
+    Long getCategoryId();
+
+    String getSpecifications();
+
+    Product.Status getStatus();
+
+    Boolean getFeatured();
+}
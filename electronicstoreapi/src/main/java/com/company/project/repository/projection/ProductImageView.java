@@ -0,0 +1,11 @@
+package com.company.project.repository.projection;
+
+/**
+ * A single (product id, image url) pair from the product_images collection
+ * table, used to batch-load images for a page of products.
+ */
+public interface ProductImageView {
+    Long getProductId();
+
+    String getImageUrl();
+}
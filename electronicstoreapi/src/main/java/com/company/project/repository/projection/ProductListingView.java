@@ -0,0 +1,45 @@
+package com.company.project.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.company.project.entity.Product;
+
+/**
+ * Flat read-only projection of a product row used by listing endpoints.
+ * 
+ * The owning category is flattened into the row so a page of products can be
+ * read in a single statement without touching the lazy associations on
+ * {@link Product}. Images are fetched separately, see {@link ProductImageView}.
+ */
+public interface ProductListingView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    String getSpecifications();
+
+    Product.Status getStatus();
+
+    Integer getStock();
+
+    Boolean getFeatured();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategoryDescription();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getCreatedBy();
+
+    String getLastModifiedBy();
+}
@@ -0,0 +1,21 @@
+package com.company.project.repository.projection;
+
+import com.company.project.entity.Product;
+
+/**
+ * Searchable fields of a product, streamed when the in-process search index
+ * is built at startup.
+ */
+public interface ProductSearchView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getSpecifications();
+
+    Long getCategoryId();
+
+    Product.Status getStatus();
+}
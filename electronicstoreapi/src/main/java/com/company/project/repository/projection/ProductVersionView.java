@@ -0,0 +1,13 @@
+package com.company.project.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modification times a single product representation depends on; the
+ * product embeds a summary of its category.
+ */
+public interface ProductVersionView {
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getCategoryUpdatedAt();
+}
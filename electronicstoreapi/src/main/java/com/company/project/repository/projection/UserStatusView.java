@@ -0,0 +1,18 @@
+package com.company.project.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.company.project.entity.User;
+
+/**
+ * The parts of a user that decide whether an access token is still honoured.
+ */
+public interface UserStatusView {
+    Long getId();
+
+    User.Role getRole();
+
+    User.Status getStatus();
+
+    LocalDateTime getPasswordChangedAt();
+}
@@ -0,0 +1,98 @@
+package com.company.project.repository.specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.company.project.entity.Product;
+import com.company.project.exception.BadRequestException;
+
+/**
+ * Composable predicates for {@link Product} queries.
+ * 
+ * Each factory returns {@code null} when its argument is absent so the
+ * results can be passed straight to {@link Specification#allOf}.
+ */
+public final class ProductSpecifications {
+
+    // Specification keys are interpolated into a JSON path, so keep them to plain identifiers
+    private static final Pattern SPEC_KEY = Pattern.compile("[A-Za-z0-9_ -]{1,64}");
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> nameContains(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + keyword.trim().toLowerCase() + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern);
+    }
+
+    public static Specification<Product> inCategories(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return null;
+        }
+        if (categoryIds.size() == 1) {
+            Long categoryId = categoryIds.iterator().next();
+            return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+        }
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Product> hasStatus(Product.Status status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Product> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        if (maxPrice == null) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+        }
+        if (minPrice == null) {
+            return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+        }
+        return (root, query, cb) -> cb.between(root.get("price"), minPrice, maxPrice);
+    }
+
+    public static Specification<Product> inStock(Boolean inStock) {
+        if (inStock == null) {
+            return null;
+        }
+        return inStock
+                ? (root, query, cb) -> cb.greaterThan(root.get("stock"), 0)
+                : (root, query, cb) -> cb.or(cb.isNull(root.get("stock")), cb.lessThanOrEqualTo(root.get("stock"), 0));
+    }
+
+    public static Specification<Product> isFeatured(Boolean featured) {
+        if (featured == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("featured"), featured);
+    }
+
+    /**
+     * Matches products whose specifications JSON has {@code key} set to
+     * {@code value}. Relies on MySQL's JSON functions.
+     */
+    public static Specification<Product> hasSpecification(String key, String value) {
+        if (key == null || value == null) {
+            return null;
+        }
+        if (!SPEC_KEY.matcher(key).matches()) {
+            throw new BadRequestException("Invalid specification key: " + key);
+        }
+        String path = "$.\"" + key + "\"";
+        return (root, query, cb) -> cb.equal(
+                cb.function("JSON_UNQUOTE", String.class,
+                        cb.function("JSON_EXTRACT", String.class, root.get("specifications"), cb.literal(path))),
+                value);
+    }
+}
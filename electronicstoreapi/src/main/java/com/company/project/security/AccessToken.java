@@ -0,0 +1,31 @@
+package com.company.project.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Claims of a verified access token
+ * 
+ * Tokens issued before role and status claims were added carry only the
+ * subject and timestamps; {@link #hasEmbeddedClaims()} tells them apart.
+ */
+public record AccessToken(
+        String username,
+        Long userId,
+        String role,
+        String status,
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    public boolean hasEmbeddedClaims() {
+        return role != null && status != null;
+    }
+
+    public Collection<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
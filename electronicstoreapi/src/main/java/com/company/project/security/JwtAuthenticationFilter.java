@@ -2,22 +2,27 @@ package com.company.project.security;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.company.project.entity.User;
 import com.company.project.util.AppConstants;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * JWT Authentication Filter
@@ -29,16 +34,45 @@ import lombok.RequiredArgsConstructor;
  * This filter only processes access tokens (JWTs), not refresh tokens.
  * Refresh tokens are handled separately by the AuthService.
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the verified {@link AccessToken}, so later
+     * code handling the same request can read the claims without parsing again
+     */
+    public static final String ACCESS_TOKEN_ATTRIBUTE = AccessToken.class.getName();
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+
+    /**
+     * When enabled, tokens carrying role and status claims are authorized
+     * from those claims plus the cached user status, without loading the user
+     */
+    @Value("${jwt.stateless-validation:false}")
+    private boolean statelessValidation;
+
+    /**
+     * Images are public and requested many times per page, so their requests
+     * never look at the Authorization header
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + AppConstants.IMAGES_PATH + "/");
+    }
 
     /**
      * Processes each request to validate JWT token if present
      * 
+     * The token signature and expiry are verified exactly once; the resulting
+     * claims are then checked either against the user status cache or, for
+     * tokens without embedded claims, against the user loaded from the
+     * database. Invalid tokens leave the request unauthenticated.
+     * 
      * @param request     The HTTP request
      * @param response    The HTTP response
      * @param filterChain The filter chain
@@ -50,35 +84,72 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         // Extract Authorization header
         final String authHeader = request.getHeader(AppConstants.AUTH_HEADER);
-        // Skip if no Authorization header or not a Bearer token
-        if (authHeader == null || !authHeader.startsWith(AppConstants.TOKEN_PREFIX)) {
+        // Skip if no Authorization header, not a Bearer token, or already authenticated
+        if (authHeader == null || !authHeader.startsWith(AppConstants.TOKEN_PREFIX)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Extract the JWT token (remove "Bearer " prefix)
-        final String jwt = authHeader.substring(AppConstants.TOKEN_PREFIX.length());
-        // Extract username from token
-        final String username = jwtService.extractUsername(jwt);
-
-        // If username exists and no authentication exists in context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load user details
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            // Validate token
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                // Create authentication token with user details and authorities
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                // Set details from request
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                // Update security context with authentication
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        // Extract the JWT token (remove "Bearer " prefix) and verify it, unless
+        // this request was already verified on an earlier dispatch
+        AccessToken token = request.getAttribute(ACCESS_TOKEN_ATTRIBUTE) instanceof AccessToken verified
+                ? verified
+                : null;
+        if (token == null) {
+            final String jwt = authHeader.substring(AppConstants.TOKEN_PREFIX.length());
+            try {
+                token = jwtService.parseAccessToken(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Rejected access token: {}", e.getMessage());
+                filterChain.doFilter(request, response);
+                return;
             }
+            request.setAttribute(ACCESS_TOKEN_ATTRIBUTE, token);
+        }
+
+        UserDetails principal = statelessValidation && token.hasEmbeddedClaims()
+                ? resolveFromClaims(token)
+                : resolveFromDatabase(token);
+        if (principal != null) {
+            // Create authentication token with user details and authorities
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null,
+                    principal.getAuthorities());
+            // Set details from request
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Update security context with authentication
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         // Continue filter chain
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveFromClaims(AccessToken token) {
+        UserStatusCache.UserStatus status = userStatusCache.get(token.username());
+        if (status == null || !status.accepts(token)) {
+            return null;
+        }
+        return org.springframework.security.core.userdetails.User.withUsername(token.username())
+                .password("")
+                .authorities(token.authorities())
+                .build();
+    }
+
+    private UserDetails resolveFromDatabase(AccessToken token) {
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(token.username());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        if (!userDetails.isEnabled()) {
+            return null;
+        }
+        if (userDetails instanceof User user && !UserStatusCache.UserStatus.from(user).accepts(token)) {
+            return null;
+        }
+        return userDetails;
+    }
 }
\ No newline at end of file
@@ -7,4 +7,5 @@ public interface JwtService {
     boolean isTokenValid(String token, UserDetails userDetails);
     String generateToken(UserDetails userDetails);
     String getUsernameFromToken(String token);
+    AccessToken parseAccessToken(String token);
 } 
\ No newline at end of file
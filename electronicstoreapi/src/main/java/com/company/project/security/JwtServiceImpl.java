@@ -5,16 +5,14 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.company.project.entity.User;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Service for JWT token operations
@@ -23,10 +21,14 @@ import io.jsonwebtoken.security.Keys;
  * These JWT tokens are used as access tokens for API authorization.
  */
 @Service
+@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_STATUS = "status";
+
+    private final JwtTokenCodec tokenCodec;
 
     @Value("${jwt.expiration:#{T(com.company.project.constants.AppConstants).DEFAULT_JWT_EXPIRATION}}")
     private long jwtExpiration;
@@ -59,19 +61,48 @@ public class JwtServiceImpl implements JwtService {
      */
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
+        // The parser rejects expired tokens, so one verification covers both checks
         final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return username.equals(userDetails.getUsername());
+    }
+
+    /**
+     * Verifies a token's signature and expiry once and returns its claims
+     * 
+     * @param token JWT token
+     * @return Verified token claims
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    @Override
+    public AccessToken parseAccessToken(String token) {
+        Claims claims = tokenCodec.verify(token);
+        return new AccessToken(
+                claims.getSubject(),
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.get(CLAIM_ROLE, String.class),
+                claims.get(CLAIM_STATUS, String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
     }
 
     /**
      * Generates a JWT token for a user
      * 
+     * Application users also get their id, role and status embedded so
+     * requests can be authorized without loading the user.
+     * 
      * @param userDetails User details to include in token
      * @return JWT token string
      */
     @Override
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getRole() != null) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_STATUS, user.getStatus() != null ? user.getStatus().name() : null);
+        }
+        return generateToken(claims, userDetails);
     }
 
     /**
@@ -82,34 +113,8 @@ public class JwtServiceImpl implements JwtService {
      * @return JWT token string
      */
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts
-                .builder()
-                .claims(extraClaims)
-                .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
-                .compact();
-    }
-
-    /**
-     * Checks if a token is expired
-     * 
-     * @param token JWT token
-     * @return true if token is expired, false otherwise
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extracts the expiration date from a token
-     * 
-     * @param token JWT token
-     * @return Expiration date
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        long now = System.currentTimeMillis();
+        return tokenCodec.sign(userDetails.getUsername(), extraClaims, new Date(now), new Date(now + jwtExpiration));
     }
 
     /**
@@ -120,32 +125,7 @@ public class JwtServiceImpl implements JwtService {
      * @return Extracted claim value
      */
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = tokenCodec.verify(token);
         return claimsResolver.apply(claims);
     }
-
-    /**
-     * Extracts all claims from a token
-     * 
-     * @param token JWT token
-     * @return All claims
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Gets the signing key for JWT verification
-     * 
-     * @return Signing key
-     */
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
\ No newline at end of file
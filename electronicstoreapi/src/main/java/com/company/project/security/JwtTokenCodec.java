@@ -0,0 +1,125 @@
+package com.company.project.security;
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.company.project.config.JwtKeyProperties;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Signs and verifies the application's JWTs
+ * 
+ * The HMAC keys and the parser are built once at startup and shared; both
+ * are immutable and safe to use from any thread. Tokens are signed with the
+ * active key and verified with whichever configured key their "kid" header
+ * names, so keys can be rotated without invalidating tokens in flight (see
+ * {@link JwtKeyProperties}).
+ */
+@Component
+public class JwtTokenCodec {
+
+    private final Map<String, SecretKey> verificationKeys;
+    private final SecretKey defaultKey;
+    private final String activeKeyId;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtTokenCodec(JwtKeyProperties properties) {
+        this.defaultKey = StringUtils.hasText(properties.getSecret()) ? decode(properties.getSecret()) : null;
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        properties.getKeys().forEach((keyId, secret) -> keys.put(keyId, decode(secret)));
+        this.verificationKeys = Collections.unmodifiableMap(keys);
+
+        this.activeKeyId = StringUtils.hasText(properties.getActiveKeyId()) ? properties.getActiveKeyId() : null;
+        if (activeKeyId != null) {
+            this.signingKey = verificationKeys.get(activeKeyId);
+            if (signingKey == null) {
+                throw new IllegalStateException("jwt.active-key-id '" + activeKeyId + "' is not listed under jwt.keys");
+            }
+        } else if (defaultKey != null) {
+            this.signingKey = defaultKey;
+        } else {
+            throw new IllegalStateException("Either jwt.secret or jwt.active-key-id must be configured");
+        }
+
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Signs a token with the active key
+     * 
+     * @param subject     Token subject
+     * @param claims      Additional claims, may be empty
+     * @param issuedAt    Issue time
+     * @param expiresAt   Expiry time
+     * @return Compact JWT string
+     */
+    public String sign(String subject, Map<String, ?> claims, Date issuedAt, Date expiresAt) {
+        JwtBuilder builder = Jwts.builder();
+        if (activeKeyId != null) {
+            builder.header().keyId(activeKeyId);
+        }
+        return builder
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(issuedAt)
+                .expiration(expiresAt)
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Verifies a token's signature and expiry and returns its claims
+     * 
+     * @param token Compact JWT string
+     * @return Verified claims
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged,
+     *         signed with an unknown key or expired
+     */
+    public Claims verify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private SecretKey verificationKey(String keyId) {
+        if (keyId == null) {
+            if (defaultKey == null) {
+                throw new UnsupportedJwtException("Token has no key id and no default key is configured");
+            }
+            return defaultKey;
+        }
+        SecretKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey decode(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+}
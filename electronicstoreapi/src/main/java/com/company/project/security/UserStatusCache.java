@@ -0,0 +1,85 @@
+package com.company.project.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.company.project.config.CacheConfig;
+import com.company.project.entity.User;
+import com.company.project.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Short-lived cache of the user state that access tokens are checked against
+ * 
+ * Lets the JWT filter trust role claims without loading the user on every
+ * request. Entries expire after a short TTL (see the "users" cache spec) so
+ * changes made on another instance are picked up quickly; changes made here
+ * call {@link #evict(String)}, which takes effect once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Snapshot of a user's role, status and last password change
+     */
+    public record UserStatus(Long id, User.Role role, User.Status status, LocalDateTime passwordChangedAt) {
+
+        public static UserStatus from(User user) {
+            return new UserStatus(user.getId(), user.getRole(), user.getStatus(), user.getPasswordChangedAt());
+        }
+
+        /**
+         * Whether a token is still honoured: the user must be active, hold the
+         * role the token was issued for, and not have changed password since.
+         * Token timestamps only have second precision, so the change time is
+         * truncated to seconds; a token issued in the same second survives.
+         */
+        public boolean accepts(AccessToken token) {
+            if (status != User.Status.ACTIVE) {
+                return false;
+            }
+            if (token.role() != null && (role == null || !role.name().equals(token.role()))) {
+                return false;
+            }
+            if (passwordChangedAt == null || token.issuedAt() == null) {
+                return true;
+            }
+            return !token.issuedAt().isBefore(passwordChangedAt.truncatedTo(ChronoUnit.SECONDS)
+                    .atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    /**
+     * @return the user's current status, or null if no such user exists
+     */
+    @Nullable
+    public UserStatus get(String username) {
+        return cache().get(username, () -> userRepository.findStatusByUsername(username)
+                .map(view -> new UserStatus(view.getId(), view.getRole(), view.getStatus(),
+                        view.getPasswordChangedAt()))
+                .orElse(null));
+    }
+
+    public void evict(String username) {
+        cache().evict(username);
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + CacheConfig.USERS);
+        }
+        return cache;
+    }
+}
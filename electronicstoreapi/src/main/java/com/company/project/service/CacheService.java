@@ -0,0 +1,38 @@
+package com.company.project.service;
+
+import java.util.List;
+
+import com.company.project.dto.response.CacheStatsResponse;
+import com.company.project.exception.ResourceNotFoundException;
+
+public interface CacheService {
+
+    /**
+     * Get hit, miss and eviction counters for every configured cache
+     * 
+     * @return List of cache statistics, in configuration order
+     */
+    List<CacheStatsResponse> getCacheStats();
+
+    /**
+     * Get hit, miss and eviction counters for one cache
+     * 
+     * @param name Cache name
+     * @return Cache statistics
+     * @throws ResourceNotFoundException if no cache has this name
+     */
+    CacheStatsResponse getCacheStats(String name);
+
+    /**
+     * Drop every entry of one cache
+     * 
+     * @param name Cache name
+     * @throws ResourceNotFoundException if no cache has this name
+     */
+    void clearCache(String name);
+
+    /**
+     * Drop every entry of every cache
+     */
+    void clearAllCaches();
+}
@@ -5,12 +5,24 @@ import java.util.List;
 import com.company.project.dto.request.CategoryRequest;
 import com.company.project.dto.response.CategoryResponse;
 import com.company.project.entity.Category;
+import com.company.project.util.ResourceVersion;
 
 public interface CategoryService {
     List<CategoryResponse> getAllCategories();
 
     CategoryResponse getCategoryById(Long id);
 
+    /**
+     * Validators for the representation returned by {@link #getAllCategories}
+     */
+    ResourceVersion getCategoriesVersion();
+
+    /**
+     * Validators for the representation returned by {@link #getCategoryById},
+     * covering its parent, subcategories and directly assigned products
+     */
+    ResourceVersion getCategoryVersion(Long id);
+
     CategoryResponse createCategory(CategoryRequest request);
 
     CategoryResponse updateCategory(Long id, CategoryRequest request);
@@ -0,0 +1,44 @@
+package com.company.project.service;
+
+import java.util.List;
+
+import com.company.project.dto.request.CityRequest;
+import com.company.project.dto.response.CityResponse;
+import com.company.project.exception.ResourceNotFoundException;
+
+public interface CityService {
+
+    /**
+     * Get all cities
+     * 
+     * @return List of city responses
+     */
+    List<CityResponse> getAllCities();
+
+    /**
+     * Get a city by ID
+     * 
+     * @param id City ID
+     * @return City response
+     * @throws ResourceNotFoundException if city not found
+     */
+    CityResponse getCityById(Long id);
+
+    /**
+     * Get all cities in a state
+     * 
+     * @param stateId State ID
+     * @return List of city responses
+     * @throws ResourceNotFoundException if state not found
+     */
+    List<CityResponse> getCitiesByState(Long stateId);
+
+    /**
+     * Create a new city
+     * 
+     * @param cityRequest City data
+     * @return Created city response
+     * @throws IllegalArgumentException if the state already has a city with this name
+     */
+    CityResponse createCity(CityRequest cityRequest);
+}
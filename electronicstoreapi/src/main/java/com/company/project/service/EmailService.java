@@ -1,5 +1,9 @@
 package com.company.project.service;
 
 public interface EmailService {
+
+    /**
+     * Queues an email for delivery once the current transaction commits
+     */
     void sendEmail(String to, String subject, String body);
 } 
\ No newline at end of file
@@ -1,9 +1,71 @@
 package com.company.project.service;
 
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.web.multipart.MultipartFile;
 
+import com.company.project.service.storage.StoredFile;
+
 public interface FileStorageService {
     String storeFile(MultipartFile file);
+
+    /**
+     * Deletes a file and its variants; inside a transaction once it commits.
+     * A content-addressed file is only deleted with its last reference.
+     */
     void deleteFile(String fileUrl);
     String getFileType();
-} 
\ No newline at end of file
+
+    /**
+     * Opens a stored file for reading; the caller closes the stream
+     */
+    InputStream loadFile(String fileUrl);
+
+    /**
+     * Stores a WebP variant of a stored image next to it
+     *
+     * @return URL of the variant
+     */
+    String storeVariant(String fileUrl, String variant, byte[] content);
+
+    /**
+     * URLs of the configured variants of a stored image, keyed by variant
+     * name. Variants are generated in the background, so a URL may not
+     * resolve for a short while after upload.
+     */
+    Map<String, String> getVariantUrls(String fileUrl);
+
+    /**
+     * Records another reference to a stored file, e.g. when a URL returned by
+     * {@link #storeFile} is saved on a second row. Content-addressed files
+     * are shared, and {@link #deleteFile} only removes one once every
+     * reference to it has been deleted; other URLs are not affected.
+     */
+    void retainFile(String fileUrl);
+
+    /**
+     * Copies a file stored under a random name to its content address,
+     * unless an identical file is already stored there. The original stays
+     * until the caller deletes it, and reference counts are left to the caller.
+     *
+     * @return URL of the content-addressed file
+     */
+    String copyToContentAddress(String fileUrl);
+
+    /**
+     * Deletes a file and its variants straight away, regardless of
+     * references. For maintenance jobs that have checked the file is unused.
+     */
+    void purgeFile(String fileUrl);
+
+    /**
+     * Lists stored files, variants included, in name order
+     *
+     * @param startAfter Name to continue after, or null to start at the beginning
+     * @param limit      Maximum number of files returned
+     * @return The next files; fewer than limit once the end is reached
+     */
+    List<StoredFile> listFiles(String startAfter, int limit);
+}
\ No newline at end of file
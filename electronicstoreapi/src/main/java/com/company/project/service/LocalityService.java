@@ -0,0 +1,44 @@
+package com.company.project.service;
+
+import java.util.List;
+
+import com.company.project.dto.request.LocalityRequest;
+import com.company.project.dto.response.LocalityResponse;
+import com.company.project.exception.ResourceNotFoundException;
+
+public interface LocalityService {
+
+    /**
+     * Get all localities
+     * 
+     * @return List of locality responses
+     */
+    List<LocalityResponse> getAllLocalities();
+
+    /**
+     * Get a locality by ID
+     * 
+     * @param id Locality ID
+     * @return Locality response
+     * @throws ResourceNotFoundException if locality not found
+     */
+    LocalityResponse getLocalityById(Long id);
+
+    /**
+     * Get all localities in a city
+     * 
+     * @param cityId City ID
+     * @return List of locality responses
+     * @throws ResourceNotFoundException if city not found
+     */
+    List<LocalityResponse> getLocalitiesByCity(Long cityId);
+
+    /**
+     * Create a new locality
+     * 
+     * @param localityRequest Locality data
+     * @return Created locality response
+     * @throws IllegalArgumentException if the city already has a locality with this name
+     */
+    LocalityResponse createLocality(LocalityRequest localityRequest);
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 
 import com.company.project.dto.request.OutletRequest;
+import com.company.project.dto.response.CursorPage;
 import com.company.project.dto.response.OutletResponse;
 
 public interface OutletService {
@@ -57,6 +58,16 @@ public interface OutletService {
      */
     Page<OutletResponse> getAllOutlets(int page, int size);
 
+    /**
+     * Get outlets ordered by name using keyset pagination
+     * 
+     * @param after cursor returned with the previous slice, or null for the
+     *              first slice
+     * @param size  the slice size
+     * @return slice of outlets with the cursor for the next one
+     */
+    CursorPage<OutletResponse> scrollOutlets(String after, int size);
+
     /**
      * Get outlets by locality id
      * 
@@ -1,5 +1,7 @@
 package com.company.project.service;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -7,9 +9,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.company.project.dto.request.ProductCreateRequest;
+import com.company.project.dto.request.ProductFilter;
 import com.company.project.dto.request.ProductRequest;
+import com.company.project.dto.response.CursorPage;
 import com.company.project.dto.response.ProductResponse;
 import com.company.project.entity.Product;
+import com.company.project.util.ResourceVersion;
 
 public interface ProductService {
     Page<ProductResponse> getAllProducts(Pageable pageable);
@@ -20,10 +25,20 @@ public interface ProductService {
 
     Page<ProductResponse> searchProducts(String keyword, Long categoryId, Product.Status status, Pageable pageable);
 
+    Page<ProductResponse> filterProducts(ProductFilter filter, Pageable pageable);
+
+    CursorPage<ProductResponse> scrollProducts(String after, int size, String orderBy);
+
     Page<ProductResponse> getProductsByCategoryAndStatus(Long categoryId, Product.Status status, Pageable pageable);
 
     ProductResponse getProductById(Long id);
 
+    /**
+     * Validators for the representation returned by {@link #getProductById},
+     * read without loading the product
+     */
+    ResourceVersion getProductVersion(Long id);
+
     ProductResponse createProduct(ProductRequest request);
 
     ProductResponse updateProduct(Long id, ProductRequest request);
@@ -52,6 +67,8 @@ public interface ProductService {
 
     Page<ProductResponse> getLowStockProductsPaginated(Integer threshold, Pageable pageable);
 
+    void exportLowStockProducts(Integer threshold, Writer writer) throws IOException;
+
     String uploadSingleImage(MultipartFile image);
 
     List<String> uploadImages(List<MultipartFile> images);
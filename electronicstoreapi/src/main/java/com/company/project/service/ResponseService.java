@@ -1,22 +1,33 @@
 package com.company.project.service;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.company.project.config.HttpCacheProperties;
 import com.company.project.dto.response.ApiResponse;
 import com.company.project.dto.response.ProductResponse;
+import com.company.project.util.ResourceVersion;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Service for standardizing API responses across the application
  */
 @Service
+@RequiredArgsConstructor
 public class ResponseService {
 
+    private final HttpCacheProperties httpCacheProperties;
+
     /**
      * Standardize single item responses
      * 
@@ -107,4 +118,37 @@ public class ResponseService {
     public ApiResponse<Page<ProductResponse>> success(Page<ProductResponse> products) {
         return new ApiResponse<>("SUCCESS", HttpStatus.OK.value(), "Products retrieved successfully", products);
     }
+
+    /**
+     * Answer a conditional GET for a versioned resource
+     * 
+     * The request's If-None-Match / If-Modified-Since headers are checked
+     * against the version first; when the client copy is current a bodiless
+     * 304 is returned and the body is never loaded, mapped or serialized.
+     * Both outcomes carry the ETag, Last-Modified and the Cache-Control
+     * policy configured for the endpoint.
+     * 
+     * @param <T>      Type of data
+     * @param request  Current request
+     * @param endpoint Name of the Cache-Control policy
+     * @param version  Current version of the resource
+     * @param body     Builds the response, only invoked when the client copy is stale
+     * @return 304 without a body, or 200 with the built response
+     */
+    public <T> ResponseEntity<ApiResponse<T>> createConditionalResponse(HttpServletRequest request, String endpoint,
+            ResourceVersion version, Supplier<ApiResponse<T>> body) {
+        // Evaluated against the request only, so Spring does not also write validators to the response
+        boolean notModified = new ServletWebRequest(request)
+                .checkNotModified(version.etag(), version.lastModified().toEpochMilli());
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .cacheControl(httpCacheProperties.cacheControlFor(endpoint));
+        if (notModified) {
+            return builder.build();
+        }
+        return builder.body(body.get());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,521 @@
+package com.company.project.service.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.project.config.CacheConfig;
+import com.company.project.dto.ProductRecordDTO;
+import com.company.project.dto.response.ProductImportReport;
+import com.company.project.entity.Product;
+import com.company.project.exception.BadRequestException;
+import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.ProductRepository;
+import com.company.project.repository.projection.ProductExportView;
+import com.company.project.repository.projection.ProductImageView;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTree;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.util.CsvReader;
+import com.company.project.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports and exports the product catalog as CSV or JSON Lines.
+ *
+ * An import is read as a stream. Each row is validated on its own and its
+ * category is resolved from a map built once per import, by id or by name.
+ * Valid rows are saved in chunks, each chunk in its own transaction written
+ * in JDBC batches, and the persistence context is cleared after every chunk,
+ * so memory does not grow with the input. A chunk that fails to save is
+ * retried row by row to find the rows at fault. Rejected rows are reported
+ * with their line and never hold back the others.
+ *
+ * An export reads the catalog in keyset batches over the id and writes each
+ * batch as it is read, in the same columns an import accepts.
+ */
+@Slf4j
+@Service
+public class ProductBulkService {
+
+    // Rows read per query while streaming an export
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    // Separates the image URLs within the CSV images column
+    private static final String IMAGE_SEPARATOR = "|";
+
+    private static final String[] CSV_COLUMNS = { "id", "name", "description", "price", "stock", "categoryId",
+            "category", "specifications", "images", "status", "featured" };
+
+    /**
+     * Formats a catalog can be imported from and exported to
+     */
+    public enum Format {
+        CSV(new MediaType("text", "csv"), "csv"),
+        NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromMediaType(MediaType mediaType) {
+            return Arrays.stream(values())
+                    .filter(format -> format.mediaType.equalsTypeAndSubtype(mediaType))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unsupported import format: " + mediaType));
+        }
+
+        public static Format fromExtension(String extension) {
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(extension))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unsupported export format: " + extension));
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final ProductSearchIndex productSearchIndex;
+    private final FileStorageService fileStorageService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader recordReader;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // Rows saved per transaction
+    @Value("${product.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${product.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ProductBulkService(ProductRepository productRepository, CategoryRepository categoryRepository,
+            CategoryTreeService categoryTreeService, ProductSearchIndex productSearchIndex,
+            FileStorageService fileStorageService, ObjectMapper objectMapper, Validator validator,
+            EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryTreeService = categoryTreeService;
+        this.productSearchIndex = productSearchIndex;
+        this.fileStorageService = fileStorageService;
+        this.objectMapper = objectMapper;
+        this.recordReader = objectMapper.readerFor(ProductRecordDTO.class);
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Creates a product for every valid row of the input
+     *
+     * @param input  Rows to import; CSV input starts with a header naming the columns
+     * @param format Format of the input
+     * @return Counts of imported and rejected rows, with the reasons rows were rejected
+     */
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    public ProductImportReport importProducts(BufferedReader input, Format format) throws IOException {
+        ImportRun run = new ImportRun(format, new CategoryLookup(categoryTreeService.getTree()));
+        if (format == Format.CSV) {
+            readCsv(input, run);
+        } else {
+            readJsonLines(input, run);
+        }
+        run.flush();
+
+        ProductImportReport report = run.report;
+        log.info("Imported {} of {} products from {} ({} rejected)", report.getImported(), report.getReceived(),
+                format, report.getFailed());
+        return report;
+    }
+
+    /**
+     * Writes every product to the writer as it is read
+     *
+     * @param format Format to write
+     * @param writer Destination, flushed after every batch
+     */
+    public void exportProducts(Format format, Writer writer) throws IOException {
+        CategoryTree tree = categoryTreeService.getTree();
+        CsvWriter csv = format == Format.CSV ? new CsvWriter(writer) : null;
+        if (csv != null) {
+            csv.writeRow((Object[]) CSV_COLUMNS);
+        }
+
+        Long lastId = 0L;
+        List<ProductExportView> batch;
+        do {
+            batch = productRepository.findExportRowsAfter(lastId, Limit.of(EXPORT_BATCH_SIZE));
+            Map<Long, List<String>> images = images(batch);
+            for (ProductExportView row : batch) {
+                ProductRecordDTO record = toRecord(row, tree, images.getOrDefault(row.getId(), List.of()));
+                if (csv != null) {
+                    csv.writeRow(record.getId(), record.getName(), record.getDescription(), record.getPrice(),
+                            record.getStock(), record.getCategoryId(), record.getCategory(),
+                            record.getSpecifications(), String.join(IMAGE_SEPARATOR, record.getImages()),
+                            record.getStatus(), record.getFeatured());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(record));
+                    writer.write('\n');
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            writer.flush();
+        } while (batch.size() == EXPORT_BATCH_SIZE);
+    }
+
+    private void readCsv(BufferedReader input, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(input);
+        List<String> header = csv.readRow();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name")) {
+            throw new BadRequestException("The first CSV line must name the columns, e.g. "
+                    + String.join(",", CSV_COLUMNS));
+        }
+
+        while (true) {
+            List<String> values;
+            try {
+                values = csv.readRow();
+            } catch (IllegalArgumentException ex) {
+                // The rest of the input was read as part of the broken value
+                run.reject(csv.getRecordLine(), ex.getMessage());
+                return;
+            }
+            if (values == null) {
+                return;
+            }
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                run.add(csv.getRecordLine(), fromCsv(values, columns));
+            } catch (IllegalArgumentException ex) {
+                run.reject(csv.getRecordLine(), ex.getMessage());
+            }
+        }
+    }
+
+    private void readJsonLines(BufferedReader input, ImportRun run) throws IOException {
+        int line = 0;
+        String text;
+        while ((text = input.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            ProductRecordDTO record;
+            try {
+                record = recordReader.readValue(text);
+            } catch (JsonProcessingException ex) {
+                run.reject(line, "Invalid JSON: " + ex.getOriginalMessage());
+                continue;
+            }
+            if (record == null) {
+                run.reject(line, "Expected a JSON object");
+            } else {
+                run.add(line, record);
+            }
+        }
+    }
+
+    private static ProductRecordDTO fromCsv(List<String> values, Map<String, Integer> columns) {
+        String images = column(values, columns, "images");
+        return ProductRecordDTO.builder()
+                .name(column(values, columns, "name"))
+                .description(column(values, columns, "description"))
+                .price(parse(values, columns, "price", BigDecimal::new))
+                .stock(parse(values, columns, "stock", Integer::valueOf))
+                .categoryId(parse(values, columns, "categoryid", Long::valueOf))
+                .category(column(values, columns, "category"))
+                .specifications(column(values, columns, "specifications"))
+                .images(images == null ? new ArrayList<>()
+                        : Arrays.stream(images.split(Pattern.quote(IMAGE_SEPARATOR)))
+                                .map(String::trim)
+                                .filter(url -> !url.isEmpty())
+                                .collect(Collectors.toCollection(ArrayList::new)))
+                .status(parse(values, columns, "status",
+                        status -> Product.Status.valueOf(status.toUpperCase(Locale.ROOT))))
+                .featured(parse(values, columns, "featured", ProductBulkService::parseBoolean))
+                .build();
+    }
+
+    // The trimmed value of a column, or null when the column is missing or the value blank
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size() || values.get(index).isBlank()) {
+            return null;
+        }
+        return values.get(index).trim();
+    }
+
+    private static <T> T parse(List<String> values, Map<String, Integer> columns, String name,
+            Function<String, T> parser) {
+        String value = column(values, columns, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException(value);
+        }
+        return Boolean.valueOf(value);
+    }
+
+    private Map<Long, List<String>> images(List<ProductExportView> batch) {
+        Map<Long, List<String>> imagesByProduct = new HashMap<>();
+        if (batch.isEmpty()) {
+            return imagesByProduct;
+        }
+        List<Long> productIds = batch.stream().map(ProductExportView::getId).toList();
+        for (ProductImageView image : productRepository.findImagesByProductIds(productIds)) {
+            imagesByProduct.computeIfAbsent(image.getProductId(), id -> new ArrayList<>()).add(image.getImageUrl());
+        }
+        return imagesByProduct;
+    }
+
+    private static ProductRecordDTO toRecord(ProductExportView row, CategoryTree tree, List<String> images) {
+        return ProductRecordDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .price(row.getPrice())
+                .stock(row.getStock())
+                .categoryId(row.getCategoryId())
+                .category(row.getCategoryId() == null ? null
+                        : tree.find(row.getCategoryId()).map(CategoryTree.Node::name).orElse(null))
+                .specifications(row.getSpecifications())
+                .images(images)
+                .status(row.getStatus())
+                .featured(row.getFeatured())
+                .build();
+    }
+
+    private Product toProduct(PendingRow row) {
+        ProductRecordDTO record = row.record();
+        Product product = new Product();
+        product.setName(record.getName());
+        product.setDescription(record.getDescription());
+        product.setPrice(record.getPrice());
+        // A reference is enough; the category was checked against the lookup
+        product.setCategory(categoryRepository.getReferenceById(row.categoryId()));
+        product.setSpecifications(record.getSpecifications());
+        product.setStock(record.getStock());
+        product.setImages(new ArrayList<>(record.getImages()));
+        product.setStatus(record.getStatus() != null ? record.getStatus() : Product.Status.ACTIVE);
+        product.setFeatured(Boolean.TRUE.equals(record.getFeatured()));
+        return product;
+    }
+
+    private record PendingRow(int line, ProductRecordDTO record, Long categoryId) {
+    }
+
+    /**
+     * State of one import: the report so far and the valid rows not yet saved
+     */
+    private final class ImportRun {
+
+        private final CategoryLookup categories;
+        private final ProductImportReport report;
+        private final List<PendingRow> chunk = new ArrayList<>();
+
+        ImportRun(Format format, CategoryLookup categories) {
+            this.categories = categories;
+            this.report = ProductImportReport.builder()
+                    .format(format.getExtension())
+                    .errors(new ArrayList<>())
+                    .build();
+        }
+
+        void add(int line, ProductRecordDTO record) {
+            report.setReceived(report.getReceived() + 1);
+            Set<ConstraintViolation<ProductRecordDTO>> violations = validator.validate(record);
+            if (!violations.isEmpty()) {
+                fail(line, violations.stream()
+                        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (record.getSpecifications() != null && !isJson(record.getSpecifications())) {
+                fail(line, "Specifications must be valid JSON");
+                return;
+            }
+            Long categoryId;
+            try {
+                categoryId = categories.resolve(record);
+            } catch (IllegalArgumentException ex) {
+                fail(line, ex.getMessage());
+                return;
+            }
+
+            chunk.add(new PendingRow(line, record, categoryId));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        // A row that could not even be read
+        void reject(int line, String message) {
+            report.setReceived(report.getReceived() + 1);
+            fail(line, message);
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                save(chunk);
+                report.setImported(report.getImported() + chunk.size());
+            } catch (RuntimeException chunkFailure) {
+                for (PendingRow row : chunk) {
+                    try {
+                        save(List.of(row));
+                        report.setImported(report.getImported() + 1);
+                    } catch (RuntimeException ex) {
+                        fail(row.line(),
+                                "Could not save: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+        }
+
+        private void save(List<PendingRow> rows) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Product> products = productRepository.saveAll(
+                        rows.stream().map(ProductBulkService.this::toProduct).toList());
+                for (Product product : products) {
+                    product.getImages().forEach(fileStorageService::retainFile);
+                    productSearchIndex.indexProduct(product);
+                }
+                categoryTreeService.invalidate();
+                // Written in JDBC batches here; then dropped, so the next chunk starts from an empty context
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        private void fail(int line, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new ProductImportReport.RowError(line, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        private boolean isJson(String text) {
+            try {
+                return !objectMapper.readTree(text).isMissingNode();
+            } catch (JsonProcessingException ex) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Categories by id and by case-insensitive name, built from the category
+     * tree once per import. Names shared by several categories cannot be used.
+     */
+    private static final class CategoryLookup {
+
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<String, Long> idsByName = new HashMap<>();
+        private final Set<String> ambiguousNames = new HashSet<>();
+
+        CategoryLookup(CategoryTree tree) {
+            for (CategoryTree.Node node : tree.getNodes()) {
+                ids.add(node.id());
+                String key = key(node.name());
+                if (idsByName.putIfAbsent(key, node.id()) != null) {
+                    ambiguousNames.add(key);
+                }
+            }
+        }
+
+        Long resolve(ProductRecordDTO record) {
+            if (record.getCategoryId() != null) {
+                if (!ids.contains(record.getCategoryId())) {
+                    throw new IllegalArgumentException("Category not found with id: " + record.getCategoryId());
+                }
+                return record.getCategoryId();
+            }
+            if (record.getCategory() == null || record.getCategory().isBlank()) {
+                throw new IllegalArgumentException("Category is required");
+            }
+            String key = key(record.getCategory());
+            if (ambiguousNames.contains(key)) {
+                throw new IllegalArgumentException("Category name " + record.getCategory()
+                        + " is used by several categories; give its categoryId instead");
+            }
+            Long id = idsByName.get(key);
+            if (id == null) {
+                throw new IllegalArgumentException("Category not found with name: " + record.getCategory());
+            }
+            return id;
+        }
+
+        private static String key(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
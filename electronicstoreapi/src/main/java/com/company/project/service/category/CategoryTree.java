@@ -0,0 +1,154 @@
+package com.company.project.service.category;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.company.project.entity.Category;
+import com.company.project.repository.projection.CategoryProductCount;
+import com.company.project.repository.projection.CategoryTreeRow;
+
+/**
+ * Immutable snapshot of the category hierarchy.
+ *
+ * Built from one query over the categories table plus one grouped product
+ * count and last-modified query, so a category, its ancestors or its whole subtree can be looked up
+ * without touching the database or any lazy association.
+ */
+public final class CategoryTree {
+
+    /**
+     * A single category with its precomputed relationships. Ancestors are
+     * ordered from the direct parent up to the root. {@code lastProductUpdate}
+     * is the latest modification of a product directly in this category, or
+     * null when it has none.
+     */
+    public record Node(
+            Long id,
+            String name,
+            String description,
+            String imageUrl,
+            Long parentId,
+            Category.Status status,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            String createdBy,
+            String lastModifiedBy,
+            List<Long> childIds,
+            Set<Long> ancestorIds,
+            Set<Long> descendantIds,
+            long productCount,
+            long totalProductCount,
+            LocalDateTime lastProductUpdate) {
+    }
+
+    private final Map<Long, Node> nodes;
+
+    private CategoryTree(Map<Long, Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    public static CategoryTree build(List<CategoryTreeRow> rows, List<CategoryProductCount> productStats) {
+        Map<Long, CategoryTreeRow> rowsById = new LinkedHashMap<>();
+        for (CategoryTreeRow row : rows) {
+            rowsById.put(row.getId(), row);
+        }
+
+        Map<Long, Long> productCounts = new HashMap<>();
+        Map<Long, LocalDateTime> lastProductUpdates = new HashMap<>();
+        for (CategoryProductCount stats : productStats) {
+            productCounts.put(stats.getCategoryId(), stats.getProductCount());
+            if (stats.getLastProductUpdate() != null) {
+                lastProductUpdates.put(stats.getCategoryId(), stats.getLastProductUpdate());
+            }
+        }
+
+        Map<Long, List<Long>> childIds = new HashMap<>();
+        Map<Long, Set<Long>> ancestorIds = new HashMap<>();
+        Map<Long, Set<Long>> descendantIds = new HashMap<>();
+        for (CategoryTreeRow row : rowsById.values()) {
+            if (row.getParentId() != null && rowsById.containsKey(row.getParentId())) {
+                childIds.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row.getId());
+            }
+
+            // Walk up to the root; the visited check guards against corrupt cyclic parent links
+            Set<Long> ancestors = new LinkedHashSet<>();
+            Set<Long> visited = new HashSet<>();
+            visited.add(row.getId());
+            Long parentId = row.getParentId();
+            while (parentId != null && rowsById.containsKey(parentId) && visited.add(parentId)) {
+                ancestors.add(parentId);
+                descendantIds.computeIfAbsent(parentId, id -> new LinkedHashSet<>()).add(row.getId());
+                parentId = rowsById.get(parentId).getParentId();
+            }
+            ancestorIds.put(row.getId(), ancestors);
+        }
+
+        Map<Long, Node> nodes = new LinkedHashMap<>();
+        for (CategoryTreeRow row : rowsById.values()) {
+            Set<Long> descendants = descendantIds.getOrDefault(row.getId(), Set.of());
+            long productCount = productCounts.getOrDefault(row.getId(), 0L);
+            long totalProductCount = productCount;
+            for (Long descendantId : descendants) {
+                totalProductCount += productCounts.getOrDefault(descendantId, 0L);
+            }
+
+            nodes.put(row.getId(), new Node(
+                    row.getId(),
+                    row.getName(),
+                    row.getDescription(),
+                    row.getImageUrl(),
+                    row.getParentId(),
+                    row.getStatus(),
+                    row.getCreatedAt(),
+                    row.getUpdatedAt(),
+                    row.getCreatedBy(),
+                    row.getLastModifiedBy(),
+                    List.copyOf(childIds.getOrDefault(row.getId(), List.of())),
+                    Collections.unmodifiableSet(ancestorIds.get(row.getId())),
+                    Collections.unmodifiableSet(descendants),
+                    productCount,
+                    totalProductCount,
+                    lastProductUpdates.get(row.getId())));
+        }
+        return new CategoryTree(Collections.unmodifiableMap(nodes));
+    }
+
+    /**
+     * All categories in id order
+     */
+    public List<Node> getNodes() {
+        return List.copyOf(nodes.values());
+    }
+
+    public Optional<Node> find(Long id) {
+        return Optional.ofNullable(nodes.get(id));
+    }
+
+    /**
+     * The given category id followed by the ids of all its descendants. An
+     * unknown id yields just that id, so callers filter to an empty result
+     * rather than to everything.
+     */
+    public Set<Long> subtreeIds(Long id) {
+        Set<Long> ids = new LinkedHashSet<>();
+        ids.add(id);
+        Node node = nodes.get(id);
+        if (node != null) {
+            ids.addAll(node.descendantIds());
+        }
+        return ids;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.project.service.category;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import com.company.project.repository.CategoryRepository;
+import com.company.project.util.AfterCommit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link CategoryTree}.
+ *
+ * The tree is materialized lazily on first use and dropped whenever
+ * categories or product assignments change; the next read rebuilds it with
+ * two queries. Invalidation inside a transaction is deferred until commit so
+ * a concurrent reader cannot cache uncommitted state.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeService {
+
+    private final CategoryRepository categoryRepository;
+
+    // Guards building and dropping the tree, so a build that raced with a change is never left cached.
+    // A lock rather than a monitor: the build runs JDBC queries, which would pin a virtual thread.
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private volatile CategoryTree tree;
+
+    public CategoryTree getTree() {
+        CategoryTree current = tree;
+        if (current != null) {
+            return current;
+        }
+
+        buildLock.lock();
+        try {
+            current = tree;
+            if (current != null) {
+                return current;
+            }
+            current = load();
+            tree = current;
+            return current;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Discards the cached tree once the current transaction (if any) commits
+     */
+    public void invalidate() {
+        AfterCommit.run("discard the category tree", () -> {
+            buildLock.lock();
+            try {
+                tree = null;
+            } finally {
+                buildLock.unlock();
+            }
+        });
+    }
+
+    private CategoryTree load() {
+        long start = System.nanoTime();
+        CategoryTree loaded = CategoryTree.build(categoryRepository.findAllTreeRows(),
+                categoryRepository.countProductsByCategory());
+        log.debug("Built category tree with {} categories in {} ms", loaded.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+}
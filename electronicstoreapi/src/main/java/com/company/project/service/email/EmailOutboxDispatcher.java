@@ -0,0 +1,275 @@
+package com.company.project.service.email;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.project.config.EmailOutboxProperties;
+import com.company.project.entity.OutboundEmail;
+import com.company.project.repository.OutboundEmailRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers queued emails from the outbox table.
+ *
+ * Runs after every commit that queued mail and on a fixed poll for retries.
+ * Each run claims a batch of due rows in a short transaction, sends the batch
+ * over one SMTP connection with no transaction or pooled connection held, and
+ * records the outcome in a second short transaction. Failed messages are
+ * retried with exponential backoff until they run out of attempts. A claim
+ * left behind by a crashed instance lapses after the claim timeout.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final List<OutboundEmail.Status> CLAIMABLE =
+            List.of(OutboundEmail.Status.PENDING, OutboundEmail.Status.SENDING);
+    private static final List<OutboundEmail.Status> REPORTED =
+            List.of(OutboundEmail.Status.PENDING, OutboundEmail.Status.SENDING, OutboundEmail.Status.FAILED);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final EmailOutboxProperties properties;
+
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+    private final Map<OutboundEmail.Status, AtomicLong> depth = new EnumMap<>(OutboundEmail.Status.class);
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    public EmailOutboxDispatcher(OutboundEmailRepository outboundEmailRepository, JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            EmailOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.mailSender = mailSender;
+        // Always a fresh transaction, even when woken from another transaction's after-commit callback
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskExecutor = taskExecutor;
+        this.properties = properties;
+
+        for (OutboundEmail.Status status : REPORTED) {
+            AtomicLong count = new AtomicLong();
+            depth.put(status, count);
+            Gauge.builder("app.email.outbox.depth", count, AtomicLong::get)
+                    .tag("status", status.name().toLowerCase())
+                    .description("Outbox rows by status as of the last dispatch run")
+                    .register(meterRegistry);
+        }
+        this.sentCounter = deliveries(meterRegistry, "sent");
+        this.retryCounter = deliveries(meterRegistry, "retry");
+        this.failedCounter = deliveries(meterRegistry, "failed");
+    }
+
+    /**
+     * Starts a dispatch run on the task executor without waiting for it
+     */
+    public void wakeUp() {
+        taskExecutor.execute(this::dispatch);
+    }
+
+    /**
+     * Sends every due message, batch by batch
+     *
+     * A call made while a run is in progress makes that run go round once
+     * more instead of starting a second one, so messages are never sent
+     * twice by the same instance and no request is lost.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:5s}")
+    public void dispatch() {
+        dispatchRequested.set(true);
+        while (dispatchRequested.get() && dispatchLock.tryLock()) {
+            try {
+                dispatchRequested.set(false);
+                drain();
+            } catch (RuntimeException ex) {
+                log.warn("Email outbox dispatch failed", ex);
+            } finally {
+                dispatchLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Deletes delivered messages older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval:1h}")
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        Integer purged = transactionTemplate.execute(status ->
+                outboundEmailRepository.deleteByStatusAndSentAtBefore(OutboundEmail.Status.SENT, before));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} sent emails from the outbox", purged);
+        }
+    }
+
+    private void drain() {
+        List<OutboundEmail> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == properties.getBatchSize());
+        refreshDepth();
+    }
+
+    private List<OutboundEmail> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = outboundEmailRepository.findDueIds(CLAIMABLE, now,
+                    PageRequest.of(0, properties.getBatchSize()));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboundEmailRepository.claim(ids, CLAIMABLE, now, OutboundEmail.Status.SENDING, claimToken,
+                    now.plus(properties.getClaimTimeout()));
+            return outboundEmailRepository.findByClaimToken(claimToken);
+        });
+    }
+
+    private void deliver(List<OutboundEmail> batch) {
+        Map<MimeMessage, OutboundEmail> messages = new LinkedHashMap<>();
+        Map<OutboundEmail, Exception> failures = new IdentityHashMap<>();
+        for (OutboundEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException ex) {
+                failures.put(email, ex);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                // JavaMailSenderImpl sends the whole array over a single connection
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException ex) {
+                if (ex.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email, ex));
+                } else {
+                    ex.getFailedMessages().forEach((message, cause) -> failures.put(messages.get(message), cause));
+                }
+            } catch (MailException ex) {
+                messages.values().forEach(email -> failures.put(email, ex));
+            }
+        }
+
+        recordOutcome(batch, failures);
+    }
+
+    private MimeMessage toMimeMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        return message;
+    }
+
+    private void recordOutcome(List<OutboundEmail> batch, Map<OutboundEmail, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sent = new ArrayList<>();
+        List<OutboundEmail> failed = new ArrayList<>();
+        for (OutboundEmail email : batch) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                sent.add(email.getId());
+                continue;
+            }
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setClaimToken(null);
+            email.setLastError(truncate(String.valueOf(failure.getMessage())));
+            if (attempts >= properties.getMaxAttempts()) {
+                email.setStatus(OutboundEmail.Status.FAILED);
+                log.error("Giving up on email {} to {} after {} attempts", email.getId(), email.getRecipient(),
+                        attempts, failure);
+                failedCounter.increment();
+            } else {
+                email.setStatus(OutboundEmail.Status.PENDING);
+                email.setNextAttemptAt(now.plus(backoff(attempts)));
+                log.warn("Email {} to {} failed on attempt {}, retrying at {}: {}", email.getId(),
+                        email.getRecipient(), attempts, email.getNextAttemptAt(), failure.getMessage());
+                retryCounter.increment();
+            }
+            failed.add(email);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboundEmailRepository.markSent(sent, OutboundEmail.Status.SENT, now);
+            }
+            if (!failed.isEmpty()) {
+                outboundEmailRepository.saveAll(failed);
+            }
+        });
+        sentCounter.increment(sent.size());
+    }
+
+    /**
+     * Delay before the next attempt: the initial backoff doubled for every
+     * earlier failure, capped at the maximum
+     */
+    Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff();
+        for (int i = 1; i < attempts && delay.compareTo(properties.getMaxBackoff()) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(properties.getMaxBackoff()) < 0 ? delay : properties.getMaxBackoff();
+    }
+
+    private void refreshDepth() {
+        Map<OutboundEmail.Status, Long> counts = new EnumMap<>(OutboundEmail.Status.class);
+        for (Object[] row : outboundEmailRepository.countByStatusIn(REPORTED)) {
+            counts.put((OutboundEmail.Status) row[0], (Long) row[1]);
+        }
+        depth.forEach((status, count) -> count.set(counts.getOrDefault(status, 0L)));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static Counter deliveries(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("app.email.outbox.deliveries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -48,7 +48,7 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     public AddressResponse getAddressById(Long addressId) {
-        Address address = addressRepository.findById(addressId)
+        Address address = addressRepository.findWithLocationById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found with ID: " + addressId));
 
         return mapToAddressResponse(address);
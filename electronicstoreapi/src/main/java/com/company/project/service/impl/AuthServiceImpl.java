@@ -12,6 +12,7 @@ import com.company.project.exception.TokenRefreshException;
 import com.company.project.repository.PasswordResetTokenRepository;
 import com.company.project.repository.UserRepository;
 import com.company.project.security.JwtService;
+import com.company.project.security.UserStatusCache;
 import com.company.project.service.AuthService;
 import com.company.project.service.EmailService;
 import com.company.project.service.RefreshTokenService;
@@ -40,6 +41,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final UserStatusCache userStatusCache;
 
     @Value("${app.base-url}")
     private String baseUrl;
@@ -136,9 +138,11 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("New password and confirm password do not match");
         }
         
-        // Update password
+        // Update password; access tokens issued before now stop working
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordChangedAt(LocalDateTime.now());
         userRepository.save(user);
+        userStatusCache.evict(user.getUsername());
         
         // Logout all devices (optional)
         refreshTokenService.deleteByUserId(user.getId());
@@ -172,6 +176,7 @@ public class AuthServiceImpl implements AuthService {
                 "This link will expire in 24 hours.\n\n" +
                 "If you did not request a password reset, please ignore this email.";
         
+        // Queued in the outbox with the token and sent once this transaction commits
         emailService.sendEmail(user.getEmail(), subject, body);
     }
 
@@ -188,7 +193,9 @@ public class AuthServiceImpl implements AuthService {
         
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPasswordChangedAt(LocalDateTime.now());
         userRepository.save(user);
+        userStatusCache.evict(user.getUsername());
         
         // Delete token after use
         passwordResetTokenRepository.delete(resetToken);
@@ -196,4 +203,5 @@ public class AuthServiceImpl implements AuthService {
         // Logout all devices
         refreshTokenService.deleteByUserId(user.getId());
     }
-} 
\ No newline at end of file
+
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.company.project.service.impl;
+
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import com.company.project.config.CacheConfig;
+import com.company.project.config.LocalCacheProperties;
+import com.company.project.dto.response.CacheStatsResponse;
+import com.company.project.exception.ResourceNotFoundException;
+import com.company.project.service.CacheService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class CacheServiceImpl implements CacheService {
+
+    private final CacheManager cacheManager;
+    private final LocalCacheProperties cacheProperties;
+
+    @Override
+    public List<CacheStatsResponse> getCacheStats() {
+        return CacheConfig.CACHE_NAMES.stream()
+                .map(this::getCacheStats)
+                .toList();
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = getCaffeineCache(name).getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        LocalCacheProperties.Spec spec = cacheProperties.specFor(name);
+
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(nativeCache.estimatedSize())
+                .maxSize(spec.getMaxSize())
+                .ttlSeconds(spec.getTtl().toSeconds())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    @Override
+    public void clearCache(String name) {
+        getCache(name).clear();
+    }
+
+    @Override
+    public void clearAllCaches() {
+        CacheConfig.CACHE_NAMES.forEach(name -> getCache(name).clear());
+    }
+
+    private Cache getCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new ResourceNotFoundException("Cache not found with name: " + name);
+        }
+        return cache;
+    }
+
+    private CaffeineCache getCaffeineCache(String name) {
+        Cache cache = getCache(name);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return (CaffeineCache) cache;
+    }
+}
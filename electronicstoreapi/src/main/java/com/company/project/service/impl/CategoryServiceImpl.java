@@ -1,10 +1,15 @@
 package com.company.project.service.impl;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.company.project.config.CacheConfig;
 import com.company.project.dto.request.CategoryRequest;
 import com.company.project.dto.response.CategoryResponse;
 import com.company.project.entity.Category;
@@ -12,6 +17,9 @@ import com.company.project.exception.ResourceNotFoundException;
 import com.company.project.repository.CategoryRepository;
 import com.company.project.service.CategoryService;
 import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTree;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.util.ResourceVersion;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,24 +29,73 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final FileStorageService fileStorageService;
+    private final CategoryTreeService categoryTreeService;
 
+    /**
+     * Served from the cached category tree; product lists are not included,
+     * only product counts
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
     public List<CategoryResponse> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
-        return categories.stream()
-                .map(CategoryResponse::fromEntity)
+        CategoryTree tree = categoryTreeService.getTree();
+        return tree.getNodes().stream()
+                .map(node -> toResponse(tree, node))
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public CategoryResponse getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
+        Category category = categoryRepository.findWithChildrenById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        categoryRepository.findWithProductsById(id);
         return CategoryResponse.fromEntity(category);
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'version'")
+    public ResourceVersion getCategoriesVersion() {
+        ResourceVersion.Builder version = ResourceVersion.builder("categories");
+        for (CategoryTree.Node node : categoryTreeService.getTree().getNodes()) {
+            version.add(node.id())
+                    .add(node.parentId())
+                    .addTimestamp(node.updatedAt())
+                    .add(node.productCount())
+                    .add(node.totalProductCount());
+        }
+        return version.build();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'version:' + #id")
+    public ResourceVersion getCategoryVersion(Long id) {
+        CategoryTree tree = categoryTreeService.getTree();
+        CategoryTree.Node node = tree.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+
+        ResourceVersion.Builder version = ResourceVersion.builder("category-" + id)
+                .addTimestamp(node.updatedAt())
+                .add(node.parentId())
+                .addTimestamp(node.parentId() != null
+                        ? tree.find(node.parentId()).map(CategoryTree.Node::updatedAt).orElse(null)
+                        : null)
+                .add(node.productCount())
+                .addTimestamp(node.lastProductUpdate());
+        for (Long childId : node.childIds()) {
+            version.add(childId)
+                    .addTimestamp(tree.find(childId).map(CategoryTree.Node::updatedAt).orElse(null));
+        }
+        return version.build();
+    }
+
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    })
     public CategoryResponse createCategory(CategoryRequest request) {
         Category category = new Category();
         category.setName(request.getName());
@@ -49,6 +106,8 @@ public class CategoryServiceImpl implements CategoryService {
             String imageUrl = fileStorageService.storeFile(request.getImage());
             category.setImageUrl(imageUrl);
         } else if (request.getImageUrl() != null && !request.getImageUrl().isEmpty()) {
+            // The URL may point at a stored image shared with other rows
+            fileStorageService.retainFile(request.getImageUrl());
             category.setImageUrl(request.getImageUrl());
         }
 
@@ -61,11 +120,16 @@ public class CategoryServiceImpl implements CategoryService {
 
         category.setStatus(Category.Status.ACTIVE);
         Category savedCategory = categoryRepository.save(category);
+        categoryTreeService.invalidate();
         return CategoryResponse.fromEntity(savedCategory);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    })
     public CategoryResponse updateCategory(Long id, CategoryRequest request) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -88,6 +152,7 @@ public class CategoryServiceImpl implements CategoryService {
                 if (category.getImageUrl() != null && !category.getImageUrl().isEmpty()) {
                     fileStorageService.deleteFile(category.getImageUrl());
                 }
+                fileStorageService.retainFile(request.getImageUrl());
                 category.setImageUrl(request.getImageUrl());
             }
         }
@@ -102,11 +167,16 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        categoryTreeService.invalidate();
         return CategoryResponse.fromEntity(updatedCategory);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -116,16 +186,58 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalStateException("Cannot delete category with products");
         }
 
+        if (category.getImageUrl() != null && !category.getImageUrl().isEmpty()) {
+            fileStorageService.deleteFile(category.getImageUrl());
+        }
         categoryRepository.delete(category);
+        categoryTreeService.invalidate();
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    })
     public CategoryResponse updateCategoryStatus(Long id, Category.Status status) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         category.setStatus(status);
         Category updatedCategory = categoryRepository.save(category);
+        categoryTreeService.invalidate();
         return CategoryResponse.fromEntity(updatedCategory);
     }
+
+    private CategoryResponse toResponse(CategoryTree tree, CategoryTree.Node node) {
+        return CategoryResponse.builder()
+                .id(node.id())
+                .name(node.name())
+                .description(node.description())
+                .imageUrl(node.imageUrl())
+                .parentCategory(node.parentId() != null
+                        ? tree.find(node.parentId()).map(this::toSummary).orElse(null)
+                        : null)
+                .subCategories(node.childIds().stream()
+                        .map(tree::find)
+                        .flatMap(Optional::stream)
+                        .map(this::toSummary)
+                        .toList())
+                .productCount(node.productCount())
+                .totalProductCount(node.totalProductCount())
+                .status(node.status())
+                .createdAt(node.createdAt())
+                .updatedAt(node.updatedAt())
+                .createdBy(node.createdBy())
+                .lastModifiedBy(node.lastModifiedBy())
+                .build();
+    }
+
+    private CategoryResponse.CategorySummary toSummary(CategoryTree.Node node) {
+        return CategoryResponse.CategorySummary.builder()
+                .id(node.id())
+                .name(node.name())
+                .description(node.description())
+                .imageUrl(node.imageUrl())
+                .build();
+    }
 }
\ No newline at end of file
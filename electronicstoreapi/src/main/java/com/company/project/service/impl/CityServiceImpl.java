@@ -0,0 +1,95 @@
+package com.company.project.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.company.project.config.CacheConfig;
+import com.company.project.dto.request.CityRequest;
+import com.company.project.dto.response.CityResponse;
+import com.company.project.dto.response.StateResponse;
+import com.company.project.entity.City;
+import com.company.project.entity.State;
+import com.company.project.exception.ResourceNotFoundException;
+import com.company.project.repository.CityRepository;
+import com.company.project.repository.StateRepository;
+import com.company.project.service.CityService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class CityServiceImpl implements CityService {
+
+    private final CityRepository cityRepository;
+    private final StateRepository stateRepository;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CITIES, key = "'all'")
+    public List<CityResponse> getAllCities() {
+        return cityRepository.findAll().stream()
+                .map(this::mapToCityResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CITIES, key = "#id")
+    public CityResponse getCityById(Long id) {
+        City city = cityRepository.findWithStateById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + id));
+        return mapToCityResponse(city);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CITIES, key = "'state:' + #stateId")
+    public List<CityResponse> getCitiesByState(Long stateId) {
+        State state = stateRepository.findById(stateId)
+                .orElseThrow(() -> new ResourceNotFoundException("State not found with id: " + stateId));
+
+        return cityRepository.findByState(state).stream()
+                .map(this::mapToCityResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CITIES, allEntries = true)
+    public CityResponse createCity(CityRequest cityRequest) {
+        State state = stateRepository.findById(cityRequest.getStateId())
+                .orElseThrow(
+                        () -> new ResourceNotFoundException("State not found with id: " + cityRequest.getStateId()));
+
+        // Check if city already exists in this state
+        if (cityRepository.existsByNameAndState(cityRequest.getName(), state)) {
+            throw new IllegalArgumentException("City with this name already exists in the state");
+        }
+
+        City city = new City();
+        city.setName(cityRequest.getName());
+        city.setState(state);
+
+        City savedCity = cityRepository.save(city);
+        return mapToCityResponse(savedCity);
+    }
+
+    /**
+     * Maps a City entity to a CityResponse DTO
+     * 
+     * @param city The city entity
+     * @return The mapped CityResponse
+     */
+    private CityResponse mapToCityResponse(City city) {
+        CityResponse response = new CityResponse();
+        response.setId(city.getId());
+        response.setName(city.getName());
+
+        StateResponse stateResponse = new StateResponse();
+        stateResponse.setId(city.getState().getId());
+        stateResponse.setName(city.getState().getName());
+        response.setState(stateResponse);
+
+        return response;
+    }
+}
@@ -1,23 +1,41 @@
 package com.company.project.service.impl;
 
+import com.company.project.entity.OutboundEmail;
+import com.company.project.repository.OutboundEmailRepository;
 import com.company.project.service.EmailService;
+import com.company.project.service.email.EmailOutboxDispatcher;
+import com.company.project.util.AfterCommit;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
 
+    /**
+     * Queues the email in the outbox as part of the caller's transaction, so
+     * it is sent only if that transaction commits. SMTP is never contacted
+     * on the calling thread; the dispatcher is woken once the commit is done.
+     */
     @Override
+    @Transactional
     public void sendEmail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        LocalDateTime now = LocalDateTime.now();
+        outboundEmailRepository.save(OutboundEmail.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(OutboundEmail.Status.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+
+        AfterCommit.run("wake the email dispatcher", emailOutboxDispatcher::wakeUp);
     }
 } 
\ No newline at end of file
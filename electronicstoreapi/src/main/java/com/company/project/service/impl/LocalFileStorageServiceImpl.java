@@ -1,18 +1,38 @@
 package com.company.project.service.impl;
 
+import com.company.project.config.ImageVariantProperties;
 import com.company.project.exception.FileStorageException;
 import com.company.project.service.FileStorageService;
+import com.company.project.service.storage.ContentAddress;
+import com.company.project.service.storage.ImageReferenceCounter;
+import com.company.project.service.storage.ImageStoredEvent;
+import com.company.project.service.storage.StoredFile;
+import com.company.project.util.AfterCommit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 
 @Service
@@ -20,12 +40,24 @@ import java.util.UUID;
 public class LocalFileStorageServiceImpl implements FileStorageService {
 
     private final Path fileStorageLocation;
+    private final ImageVariantProperties variantProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageReferenceCounter references;
     
     @Value("${file.upload.base-url}")
     private String baseUrl;
 
-    public LocalFileStorageServiceImpl(@Value("${file.upload.dir}") String uploadDir) {
+    // Name files by the SHA-256 of their content so identical uploads share one file
+    @Value("${file.upload.content-addressed:true}")
+    private boolean contentAddressed;
+
+    public LocalFileStorageServiceImpl(@Value("${file.upload.dir}") String uploadDir,
+            ImageVariantProperties variantProperties, ApplicationEventPublisher eventPublisher,
+            ImageReferenceCounter references) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.variantProperties = variantProperties;
+        this.eventPublisher = eventPublisher;
+        this.references = references;
         
         try {
             Files.createDirectories(this.fileStorageLocation);
@@ -45,6 +77,12 @@ public class LocalFileStorageServiceImpl implements FileStorageService {
             if (fileName.contains("..")) {
                 throw new FileStorageException("Sorry! Filename contains invalid path sequence " + fileName);
             }
+
+            if (contentAddressed) {
+                try (InputStream input = file.getInputStream()) {
+                    return storeContentAddressed(input, fileName);
+                }
+            }
             
             // Generate unique file name
             String uniqueFileName = UUID.randomUUID().toString() + "_" + fileName;
@@ -54,7 +92,9 @@ public class LocalFileStorageServiceImpl implements FileStorageService {
             Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
             
             // Construct the file URL
-            return baseUrl + uniqueFileName;
+            String fileUrl = baseUrl + uniqueFileName;
+            eventPublisher.publishEvent(new ImageStoredEvent(fileUrl));
+            return fileUrl;
             
         } catch (IOException ex) {
             throw new FileStorageException("Could not store file " + fileName + ". Please try again!", ex);
@@ -63,17 +103,166 @@ public class LocalFileStorageServiceImpl implements FileStorageService {
 
     @Override
     public void deleteFile(String fileUrl) {
+        if (ContentAddress.isContentAddressed(fileUrl)) {
+            // Possibly shared: only the last reference deletes it
+            references.release(fileUrl, () -> deleteStoredFile(fileUrl));
+        } else {
+            AfterCommit.run("delete image " + fileUrl, () -> deleteStoredFile(fileUrl));
+        }
+    }
+
+    @Override
+    public void purgeFile(String fileUrl) {
+        deleteStoredFile(fileUrl);
+    }
+
+    @Override
+    public List<StoredFile> listFiles(String startAfter, int limit) {
+        // Keeps the first names after startAfter in a bounded max-heap, so memory is limited to one page
+        PriorityQueue<String> names = new PriorityQueue<>(Comparator.reverseOrder());
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.fileStorageLocation)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (startAfter != null && name.compareTo(startAfter) <= 0) {
+                    continue;
+                }
+                if (names.size() < limit) {
+                    names.add(name);
+                } else if (name.compareTo(names.peek()) < 0) {
+                    names.poll();
+                    names.add(name);
+                }
+            }
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not list the upload directory", ex);
+        }
+
+        List<StoredFile> files = new ArrayList<>(names.size());
+        for (String name : names.stream().sorted().toList()) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(this.fileStorageLocation.resolve(name),
+                        BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    files.add(new StoredFile(name, baseUrl + name, attributes.size(),
+                            attributes.lastModifiedTime().toInstant()));
+                }
+            } catch (NoSuchFileException ex) {
+                // Deleted since it was listed
+            } catch (IOException ex) {
+                throw new FileStorageException("Could not read attributes of " + name, ex);
+            }
+        }
+        return files;
+    }
+
+    @Override
+    public void retainFile(String fileUrl) {
+        if (ContentAddress.isContentAddressed(fileUrl)) {
+            references.retain(fileUrl);
+        }
+    }
+
+    @Override
+    public String copyToContentAddress(String fileUrl) {
+        if (ContentAddress.isContentAddressed(fileUrl)) {
+            return fileUrl;
+        }
+        Path source = resolve(fileUrl);
+        MessageDigest digest = ContentAddress.newDigest();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(source), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not read file " + fileUrl, ex);
+        }
+
+        String hashedName = ContentAddress.fileName(digest.digest(), source.getFileName().toString());
+        String hashedUrl = baseUrl + hashedName;
         try {
-            String fileName = fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
-            Path filePath = this.fileStorageLocation.resolve(fileName);
-            Files.deleteIfExists(filePath);
+            Files.copy(source, this.fileStorageLocation.resolve(hashedName));
+        } catch (FileAlreadyExistsException ex) {
+            return hashedUrl;
         } catch (IOException ex) {
-            throw new FileStorageException("Could not delete file. Please try again!", ex);
+            throw new FileStorageException("Could not copy file " + fileUrl + " to " + hashedName, ex);
+        }
+        // Variants follow the file name, so they are generated again under the new one
+        eventPublisher.publishEvent(new ImageStoredEvent(hashedUrl));
+        return hashedUrl;
+    }
+
+    @Override
+    public InputStream loadFile(String fileUrl) {
+        try {
+            return Files.newInputStream(resolve(fileUrl));
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not read file " + fileUrl, ex);
         }
     }
 
+    @Override
+    public String storeVariant(String fileUrl, String variant, byte[] content) {
+        String variantUrl = ImageVariantProperties.variantUrl(fileUrl, variant);
+        try {
+            Files.write(resolve(variantUrl), content);
+            return variantUrl;
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not store " + variant + " variant of " + fileUrl, ex);
+        }
+    }
+
+    @Override
+    public Map<String, String> getVariantUrls(String fileUrl) {
+        return variantProperties.variantUrls(fileUrl);
+    }
+
     @Override
     public String getFileType() {
         return "local";
     }
+
+    private void deleteStoredFile(String fileUrl) {
+        try {
+            Files.deleteIfExists(resolve(fileUrl));
+            for (String variantUrl : variantProperties.variantUrls(fileUrl).values()) {
+                Files.deleteIfExists(resolve(variantUrl));
+            }
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not delete file. Please try again!", ex);
+        }
+    }
+
+    /**
+     * Streams the content into a temporary file while hashing it, then moves
+     * it to its content address unless an identical file is already there
+     */
+    private String storeContentAddressed(InputStream content, String fileName) throws IOException {
+        MessageDigest digest = ContentAddress.newDigest();
+        // In the upload directory so the final move is a rename on the same file system
+        Path temporary = Files.createTempFile(this.fileStorageLocation, ContentAddress.TEMPORARY_FILE_PREFIX, ".tmp");
+        try {
+            Files.copy(new DigestInputStream(content, digest), temporary, StandardCopyOption.REPLACE_EXISTING);
+            String hashedName = ContentAddress.fileName(digest.digest(), fileName);
+            String fileUrl = baseUrl + hashedName;
+            Path target = this.fileStorageLocation.resolve(hashedName);
+
+            // With the reference held no release can delete the file, so checking for it is safe
+            references.acquire(fileUrl, () -> deleteStoredFile(fileUrl));
+            try {
+                if (!Files.exists(target)) {
+                    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+                    eventPublisher.publishEvent(new ImageStoredEvent(fileUrl));
+                }
+            } catch (IOException | RuntimeException ex) {
+                references.release(fileUrl, () -> deleteStoredFile(fileUrl));
+                throw ex;
+            }
+            return fileUrl;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private Path resolve(String fileUrl) {
+        String fileName = fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
+        return this.fileStorageLocation.resolve(fileName);
+    }
 } 
\ No newline at end of file
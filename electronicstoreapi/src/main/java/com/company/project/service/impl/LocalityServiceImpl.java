@@ -0,0 +1,104 @@
+package com.company.project.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.company.project.config.CacheConfig;
+import com.company.project.dto.request.LocalityRequest;
+import com.company.project.dto.response.CityResponse;
+import com.company.project.dto.response.LocalityResponse;
+import com.company.project.dto.response.StateResponse;
+import com.company.project.entity.City;
+import com.company.project.entity.Locality;
+import com.company.project.exception.ResourceNotFoundException;
+import com.company.project.repository.CityRepository;
+import com.company.project.repository.LocalityRepository;
+import com.company.project.service.LocalityService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class LocalityServiceImpl implements LocalityService {
+
+    private final LocalityRepository localityRepository;
+    private final CityRepository cityRepository;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.LOCALITIES, key = "'all'")
+    public List<LocalityResponse> getAllLocalities() {
+        return localityRepository.findAll().stream()
+                .map(this::mapToLocalityResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.LOCALITIES, key = "#id")
+    public LocalityResponse getLocalityById(Long id) {
+        Locality locality = localityRepository.findWithCityById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Locality not found with id: " + id));
+        return mapToLocalityResponse(locality);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.LOCALITIES, key = "'city:' + #cityId")
+    public List<LocalityResponse> getLocalitiesByCity(Long cityId) {
+        City city = cityRepository.findById(cityId)
+                .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + cityId));
+
+        return localityRepository.findByCity(city).stream()
+                .map(this::mapToLocalityResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.LOCALITIES, allEntries = true)
+    public LocalityResponse createLocality(LocalityRequest localityRequest) {
+        City city = cityRepository.findById(localityRequest.getCityId())
+                .orElseThrow(
+                        () -> new ResourceNotFoundException("City not found with id: " + localityRequest.getCityId()));
+
+        // Check if locality already exists in this city
+        if (localityRepository.existsByNameAndCity(localityRequest.getName(), city)) {
+            throw new IllegalArgumentException("Locality with this name already exists in the city");
+        }
+
+        Locality locality = new Locality();
+        locality.setName(localityRequest.getName());
+        locality.setPincode(localityRequest.getPincode());
+        locality.setCity(city);
+
+        Locality savedLocality = localityRepository.save(locality);
+        return mapToLocalityResponse(savedLocality);
+    }
+
+    /**
+     * Maps a Locality entity to a LocalityResponse DTO
+     * 
+     * @param locality The locality entity
+     * @return The mapped LocalityResponse
+     */
+    private LocalityResponse mapToLocalityResponse(Locality locality) {
+        LocalityResponse response = new LocalityResponse();
+        response.setId(locality.getId());
+        response.setName(locality.getName());
+        response.setPincode(locality.getPincode());
+
+        CityResponse cityResponse = new CityResponse();
+        cityResponse.setId(locality.getCity().getId());
+        cityResponse.setName(locality.getCity().getName());
+
+        StateResponse stateResponse = new StateResponse();
+        stateResponse.setId(locality.getCity().getState().getId());
+        stateResponse.setName(locality.getCity().getState().getName());
+        cityResponse.setState(stateResponse);
+
+        response.setCity(cityResponse);
+
+        return response;
+    }
+}
@@ -3,14 +3,19 @@ package com.company.project.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.company.project.config.CacheConfig;
 import com.company.project.dto.request.OutletRequest;
 import com.company.project.dto.response.CityResponse;
+import com.company.project.dto.response.CursorPage;
 import com.company.project.dto.response.LocalityResponse;
 import com.company.project.dto.response.OutletResponse;
 import com.company.project.dto.response.StateResponse;
@@ -20,6 +25,8 @@ import com.company.project.exception.ResourceNotFoundException;
 import com.company.project.repository.LocalityRepository;
 import com.company.project.repository.OutletRepository;
 import com.company.project.service.OutletService;
+import com.company.project.util.AppConstants;
+import com.company.project.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,10 +34,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OutletServiceImpl implements OutletService {
 
+    private static final String ORDER_BY_NAME = "name";
+
     private final OutletRepository outletRepository;
     private final LocalityRepository localityRepository;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.OUTLETS, allEntries = true)
     public OutletResponse createOutlet(OutletRequest request) {
         Locality locality = localityRepository.findById(request.getLocalityId())
                 .orElseThrow(
@@ -56,6 +66,7 @@ public class OutletServiceImpl implements OutletService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.OUTLETS, allEntries = true)
     public OutletResponse updateOutlet(Long id, OutletRequest request) {
         Outlet outlet = outletRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Outlet not found with id: " + id));
@@ -83,13 +94,15 @@ public class OutletServiceImpl implements OutletService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.OUTLETS, key = "#id")
     public OutletResponse getOutletById(Long id) {
-        Outlet outlet = outletRepository.findById(id)
+        Outlet outlet = outletRepository.findWithLocationById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Outlet not found with id: " + id));
         return mapToOutletResponse(outlet);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.OUTLETS, allEntries = true)
     public void deleteOutlet(Long id) {
         Outlet outlet = outletRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Outlet not found with id: " + id));
@@ -99,6 +112,7 @@ public class OutletServiceImpl implements OutletService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.OUTLETS, key = "'active'")
     public List<OutletResponse> getAllActiveOutlets() {
         List<Outlet> outlets = outletRepository.findByActiveTrue();
         return outlets.stream()
@@ -107,6 +121,7 @@ public class OutletServiceImpl implements OutletService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.OUTLETS, key = "'page:' + #page + ':' + #size")
     public Page<OutletResponse> getAllOutlets(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("name").ascending());
         Page<Outlet> outletPage = outletRepository.findAll(pageable);
@@ -115,6 +130,35 @@ public class OutletServiceImpl implements OutletService {
     }
 
     @Override
+    public CursorPage<OutletResponse> scrollOutlets(String after, int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_SCROLL_PAGE_SIZE));
+
+        // Read one extra row to find out whether another slice follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<Outlet> outlets;
+        if (after == null || after.isBlank()) {
+            outlets = outletRepository.findOrderByName(limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after, ORDER_BY_NAME);
+            outlets = outletRepository.findOrderByNameAfter(cursor.value(), cursor.id(), limit);
+        }
+
+        boolean hasNext = outlets.size() > pageSize;
+        List<Outlet> slice = hasNext ? outlets.subList(0, pageSize) : outlets;
+        String nextCursor = null;
+        if (hasNext) {
+            Outlet last = slice.get(slice.size() - 1);
+            nextCursor = new KeysetCursor(ORDER_BY_NAME, last.getId(), last.getName()).encode();
+        }
+
+        List<OutletResponse> content = slice.stream()
+                .map(this::mapToOutletResponse)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, content.size(), nextCursor, hasNext);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.OUTLETS, key = "'locality:' + #localityId")
     public List<OutletResponse> getOutletsByLocalityId(Long localityId) {
         Locality locality = localityRepository.findById(localityId)
                 .orElseThrow(() -> new ResourceNotFoundException("Locality not found with id: " + localityId));
@@ -126,6 +170,7 @@ public class OutletServiceImpl implements OutletService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.OUTLETS, key = "'city:' + #cityId")
     public List<OutletResponse> getOutletsByCityId(Long cityId) {
         List<Outlet> outlets = outletRepository.findByLocality_City_IdAndActiveTrue(cityId);
         return outlets.stream()
@@ -134,6 +179,7 @@ public class OutletServiceImpl implements OutletService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.OUTLETS, key = "'state:' + #stateId")
     public List<OutletResponse> getOutletsByStateId(Long stateId) {
         List<Outlet> outlets = outletRepository.findByLocality_City_State_IdAndActiveTrue(stateId);
         return outlets.stream()
@@ -1,26 +1,57 @@
 package com.company.project.service.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.company.project.config.CacheConfig;
 import com.company.project.dto.request.ProductCreateRequest;
+import com.company.project.dto.request.ProductFilter;
 import com.company.project.dto.request.ProductRequest;
+import com.company.project.dto.response.CursorPage;
 import com.company.project.dto.response.ProductResponse;
 import com.company.project.entity.Category;
 import com.company.project.entity.Product;
+import com.company.project.exception.BadRequestException;
 import com.company.project.exception.ResourceNotFoundException;
 import com.company.project.repository.CategoryRepository;
 import com.company.project.repository.ProductRepository;
+import com.company.project.repository.projection.LowStockView;
+import com.company.project.repository.projection.ProductImageView;
+import com.company.project.repository.projection.ProductListingView;
+import com.company.project.repository.projection.ProductVersionView;
+import com.company.project.repository.specification.ProductSpecifications;
 import com.company.project.service.FileStorageService;
 import com.company.project.service.ProductService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
+import com.company.project.util.AppConstants;
+import com.company.project.util.CsvWriter;
+import com.company.project.util.KeysetCursor;
+import com.company.project.util.ResourceVersion;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,43 +59,89 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    // Orderings supported by keyset pagination
+    private static final String ORDER_BY_CREATED_AT = "createdAt";
+    private static final String ORDER_BY_NAME = "name";
+
+    // Rows read per query while streaming an export
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final FileStorageService fileStorageService;
+    private final ProductSearchIndex productSearchIndex;
+    private final CategoryTreeService categoryTreeService;
+    private final ImageUploader imageUploader;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * When enabled, listing endpoints are served from flat projections plus a
+     * single batched image query instead of mapping entities one by one.
+     */
+    @Value("${product.listing.projection-enabled:true}")
+    private boolean projectionListingEnabled;
 
     @Override
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findAllListings(pageable));
+        }
         Page<Product> products = productRepository.findAll(pageable);
-        return products.map(this::convertToResponse);
+        return toEntityPage(products);
     }
 
     @Override
     public Page<ProductResponse> getProductsByCategory(Long categoryId, Pageable pageable) {
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findListingsByCategoryId(categoryId, pageable));
+        }
         Page<Product> products = productRepository.findByCategoryId(categoryId, pageable);
-        return products.map(this::convertToResponse);
+        return toEntityPage(products);
     }
 
     @Override
     public Page<ProductResponse> searchProducts(String keyword, Pageable pageable) {
+        if (isIndexedSearch(keyword)) {
+            return searchIndex(keyword, null, null, pageable);
+        }
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findListingsByNameContaining(keyword, pageable));
+        }
         Page<Product> products = productRepository.findByNameContainingIgnoreCase(keyword, pageable);
-        return products.map(this::convertToResponse);
+        return toEntityPage(products);
     }
 
     @Override
     public Page<ProductResponse> getProductsByCategoryAndStatus(Long categoryId, Product.Status status,
             Pageable pageable) {
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findListingsByCategoryIdAndStatus(categoryId, status, pageable));
+        }
         Page<Product> products = productRepository.findByCategoryIdAndStatus(categoryId, status, pageable);
-        return products.map(this::convertToResponse);
+        return toEntityPage(products);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponse getProductById(Long id) {
-        Product product = findProductById(id);
+        Product product = productRepository.findWithCategoryAndImagesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         return convertToResponse(product);
     }
 
+    @Override
+    public ResourceVersion getProductVersion(Long id) {
+        ProductVersionView version = productRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        return ResourceVersion.builder("product-" + id)
+                .addTimestamp(version.getUpdatedAt())
+                .addTimestamp(version.getCategoryUpdatedAt())
+                .build();
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public ProductResponse createProduct(ProductRequest request) {
         Category category = getCategory(request.getCategoryId());
 
@@ -78,11 +155,17 @@ public class ProductServiceImpl implements ProductService {
         product.setStatus(Product.Status.ACTIVE);
 
         Product savedProduct = productRepository.save(product);
+        productSearchIndex.indexProduct(savedProduct);
+        categoryTreeService.invalidate();
         return convertToResponse(savedProduct);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public ProductResponse updateProduct(Long id, ProductRequest request) {
         Product product = findProductById(id);
         Category category = getCategory(request.getCategoryId());
@@ -95,11 +178,17 @@ public class ProductServiceImpl implements ProductService {
         product.setStock(request.getStock());
 
         Product updatedProduct = productRepository.save(product);
+        productSearchIndex.indexProduct(updatedProduct);
+        categoryTreeService.invalidate();
         return convertToResponse(updatedProduct);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public void deleteProduct(Long id) {
         Product product = findProductById(id);
 
@@ -111,72 +200,145 @@ public class ProductServiceImpl implements ProductService {
         }
 
         productRepository.delete(product);
+        productSearchIndex.removeProduct(id);
+        categoryTreeService.invalidate();
     }
 
     @Override
-    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponse uploadProductImages(Long id, List<MultipartFile> images) {
-        Product product = findProductById(id);
-        List<String> imageUrls = new ArrayList<>();
-
-        for (MultipartFile image : images) {
-            String imageUrl = fileStorageService.storeFile(image);
-            imageUrls.add(imageUrl);
-        }
-
-        product.setImages(imageUrls);
-        Product updatedProduct = productRepository.save(product);
-        return convertToResponse(updatedProduct);
+        return withStoredImages(images, imageUrls -> {
+            Product product = findProductById(id);
+            List<String> replacedImages = product.getImages() != null ? List.copyOf(product.getImages()) : List.of();
+            product.replaceImages(imageUrls);
+            if (!replacedImages.equals(imageUrls)) {
+                touch(product);
+            }
+            Product updatedProduct = productRepository.save(product);
+            // The images no longer referenced by the product are released
+            replacedImages.forEach(fileStorageService::deleteFile);
+            return convertToResponse(updatedProduct);
+        });
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponse updateProductStatus(Long id, Product.Status status) {
         Product product = findProductById(id);
         product.setStatus(status);
         Product updatedProduct = productRepository.save(product);
+        productSearchIndex.indexProduct(updatedProduct);
         return convertToResponse(updatedProduct);
     }
 
     @Override
     public Page<ProductResponse> searchProducts(String keyword, Long categoryId, Product.Status status,
             Pageable pageable) {
-        Page<Product> products;
-        if (keyword != null && !keyword.isEmpty()) {
-            products = productRepository.findByNameContainingIgnoreCase(keyword, pageable);
-        } else if (categoryId != null && status != null) {
-            products = productRepository.findByCategoryIdAndStatus(categoryId, status, pageable);
-        } else if (categoryId != null) {
-            products = productRepository.findByCategoryId(categoryId, pageable);
+        ProductFilter filter = ProductFilter.builder()
+                .keyword(keyword)
+                .categoryId(categoryId)
+                .status(status)
+                .build();
+        return filterProducts(filter, pageable);
+    }
+
+    @Override
+    public Page<ProductResponse> filterProducts(ProductFilter filter, Pageable pageable) {
+        // Keyword searches the index can answer on its own are ranked by
+        // relevance, so the requested sort does not apply to them
+        if (filter.hasKeyword() && productSearchIndex.isReady() && isIndexOnlyFilter(filter)) {
+            return searchIndex(filter.getKeyword(), filter.getCategoryId(), filter.getStatus(), pageable);
+        }
+
+        Specification<Product> specification = toSpecification(filter);
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findListings(specification, pageable));
+        }
+        Page<Product> products = productRepository.findAll(specification, pageable);
+        return toEntityPage(products);
+    }
+
+    @Override
+    public CursorPage<ProductResponse> scrollProducts(String after, int size, String orderBy) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_SCROLL_PAGE_SIZE));
+        String ordering = orderBy == null || orderBy.isBlank() ? ORDER_BY_CREATED_AT : orderBy;
+        if (!ORDER_BY_CREATED_AT.equals(ordering) && !ORDER_BY_NAME.equals(ordering)) {
+            throw new BadRequestException("Unsupported orderBy: " + orderBy);
+        }
+
+        // Read one extra row to find out whether another slice follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<ProductListingView> rows;
+        if (after == null || after.isBlank()) {
+            rows = ORDER_BY_NAME.equals(ordering)
+                    ? productRepository.findListingsOrderByName(limit)
+                    : productRepository.findNewestListings(limit);
         } else {
-            products = productRepository.findAll(pageable);
+            KeysetCursor cursor = ORDER_BY_NAME.equals(ordering)
+                    ? KeysetCursor.decode(after, ordering)
+                    : KeysetCursor.decode(after, ordering, LocalDateTime::parse);
+            rows = ORDER_BY_NAME.equals(ordering)
+                    ? productRepository.findListingsOrderByNameAfter(cursor.value(), cursor.id(), limit)
+                    : productRepository.findNewestListingsAfter(LocalDateTime.parse(cursor.value()), cursor.id(),
+                            limit);
         }
-        return products.map(this::convertToResponse);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductListingView> slice = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ProductListingView last = slice.get(slice.size() - 1);
+            String value = ORDER_BY_NAME.equals(ordering) ? last.getName() : last.getCreatedAt().toString();
+            nextCursor = new KeysetCursor(ordering, last.getId(), value).encode();
+        }
+
+        Map<Long, List<String>> imagesByProduct = loadImages(slice);
+        List<ProductResponse> content = slice.stream()
+                .map(view -> convertToResponse(view, imagesByProduct.getOrDefault(view.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, content.size(), nextCursor, hasNext);
     }
 
     @Override
     public List<ProductResponse> getLowStockProducts(Integer threshold) {
-        List<Product> products = productRepository.findByStockLessThan(threshold);
-        return products.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return toEntityResponses(productRepository.findByStockLessThan(threshold));
     }
 
     @Override
     public Page<ProductResponse> getLowStockProductsPaginated(Integer threshold, Pageable pageable) {
-        List<Product> products = productRepository.findByStockLessThan(threshold);
-        List<ProductResponse> responses = products.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-
-        // Create paginated response
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), responses.size());
-
-        List<ProductResponse> pageContent = start < responses.size() ? responses.subList(start, end)
-                : new ArrayList<>();
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findLowStockListings(threshold, pageable));
+        }
+        Page<Product> products = productRepository.findByStockLessThan(threshold, pageable);
+        return toEntityPage(products);
+    }
 
-        return new PageImpl<>(pageContent, pageable, responses.size());
+    /**
+     * Writes every product with stock below the threshold as CSV, reading the
+     * rows in keyset batches so memory use stays flat regardless of catalog size
+     */
+    @Override
+    public void exportLowStockProducts(Integer threshold, Writer writer) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow("id", "name", "category", "stock", "price", "status");
+
+        Integer lastStock = Integer.MIN_VALUE;
+        Long lastId = 0L;
+        List<LowStockView> batch;
+        do {
+            batch = productRepository.findLowStockAfter(threshold, lastStock, lastId, Limit.of(EXPORT_BATCH_SIZE));
+            for (LowStockView row : batch) {
+                csv.writeRow(row.getId(), row.getName(), row.getCategoryName(), row.getStock(), row.getPrice(),
+                        row.getStatus());
+            }
+            if (!batch.isEmpty()) {
+                LowStockView last = batch.get(batch.size() - 1);
+                lastStock = last.getStock();
+                lastId = last.getId();
+            }
+            csv.flush();
+        } while (batch.size() == EXPORT_BATCH_SIZE);
     }
 
     @Override
@@ -186,154 +348,111 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<String> uploadImages(List<MultipartFile> images) {
-        List<String> imageUrls = new ArrayList<>();
-
-        for (MultipartFile image : images) {
-            if (!image.isEmpty()) {
-                String imageUrl = fileStorageService.storeFile(image);
-                imageUrls.add(imageUrl);
-            }
-        }
-
-        return imageUrls;
+        return imageUploader.storeAll(images);
     }
 
     @Override
-    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public ProductResponse createProductWithImages(ProductCreateRequest request) {
-        Category category = getCategory(request.getCategoryId());
-
-        Product product = new Product();
-        product.setName(request.getName());
-        product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
-        product.setCategory(category);
-        product.setSpecifications(request.getSpecifications());
-        product.setStock(request.getStock());
-        product.setStatus(Product.Status.ACTIVE);
-
-        Product savedProduct = productRepository.save(product);
-
-        List<String> imageUrls = new ArrayList<>();
-        if (request.getImages() != null && !request.getImages().isEmpty()) {
-            for (MultipartFile image : request.getImages()) {
-                if (!image.isEmpty()) {
-                    String imageUrl = fileStorageService.storeFile(image);
-                    imageUrls.add(imageUrl);
-                }
-            }
-            savedProduct.setImages(imageUrls);
-            savedProduct = productRepository.save(savedProduct);
-        }
-
-        return convertToResponse(savedProduct);
+        return createProductWithImages(request, request.getImages());
     }
 
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public ProductResponse updateProductWithImages(Long id, ProductCreateRequest request) {
-        Product product = findProductById(id);
-        Category category = getCategory(request.getCategoryId());
-
-        product.setName(request.getName());
-        product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
-        product.setCategory(category);
-        product.setSpecifications(request.getSpecifications());
-        product.setStock(request.getStock());
-
-        if (request.getImages() != null && !request.getImages().isEmpty()) {
-            List<String> imageUrls = product.getImages() != null ? new ArrayList<>(product.getImages())
-                    : new ArrayList<>();
-            for (MultipartFile image : request.getImages()) {
-                if (!image.isEmpty()) {
-                    String imageUrl = fileStorageService.storeFile(image);
-                    imageUrls.add(imageUrl);
-                }
-            }
-            product.setImages(imageUrls);
-        }
-
-        Product updatedProduct = productRepository.save(product);
-        return convertToResponse(updatedProduct);
+        return withStoredImages(request.getImages(), imageUrls -> {
+            Product product = findProductById(id);
+            Category category = getCategory(request.getCategoryId());
+
+            product.setName(request.getName());
+            product.setDescription(request.getDescription());
+            product.setPrice(request.getPrice());
+            product.setCategory(category);
+            product.setSpecifications(request.getSpecifications());
+            product.setStock(request.getStock());
+            appendImages(product, imageUrls);
+
+            Product updatedProduct = productRepository.save(product);
+            productSearchIndex.indexProduct(updatedProduct);
+            categoryTreeService.invalidate();
+            return convertToResponse(updatedProduct);
+        });
     }
 
     @Override
-    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public ProductResponse createProductWithImages(ProductCreateRequest request, List<MultipartFile> images) {
-        Category category = getCategory(request.getCategoryId());
-
-        Product product = new Product();
-        product.setName(request.getName());
-        product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
-        product.setCategory(category);
-        product.setSpecifications(request.getSpecifications());
-        product.setStock(request.getStock());
-        product.setStatus(Product.Status.ACTIVE);
-
-        Product savedProduct = productRepository.save(product);
-
-        if (images != null && !images.isEmpty()) {
-            List<String> imageUrls = new ArrayList<>();
-            for (MultipartFile image : images) {
-                if (!image.isEmpty()) {
-                    String imageUrl = fileStorageService.storeFile(image);
-                    imageUrls.add(imageUrl);
-                }
-            }
-            savedProduct.setImages(imageUrls);
-            savedProduct = productRepository.save(savedProduct);
-        }
-
-        return convertToResponse(savedProduct);
+        return withStoredImages(images, imageUrls -> {
+            Category category = getCategory(request.getCategoryId());
+
+            Product product = new Product();
+            product.setName(request.getName());
+            product.setDescription(request.getDescription());
+            product.setPrice(request.getPrice());
+            product.setCategory(category);
+            product.setSpecifications(request.getSpecifications());
+            product.setStock(request.getStock());
+            product.setStatus(Product.Status.ACTIVE);
+            product.setImages(new ArrayList<>(imageUrls));
+
+            Product savedProduct = productRepository.save(product);
+            productSearchIndex.indexProduct(savedProduct);
+            categoryTreeService.invalidate();
+            return convertToResponse(savedProduct);
+        });
     }
 
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public ProductResponse updateProductWithImages(Long id, ProductRequest request, List<MultipartFile> images) {
-        Product product = findProductById(id);
-        Category category = getCategory(request.getCategoryId());
-
-        product.setName(request.getName());
-        product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
-        product.setCategory(category);
-        product.setSpecifications(request.getSpecifications());
-        product.setStock(request.getStock());
-
-        if (images != null && !images.isEmpty()) {
-            List<String> imageUrls = product.getImages() != null ? new ArrayList<>(product.getImages())
-                    : new ArrayList<>();
-            for (MultipartFile image : images) {
-                if (!image.isEmpty()) {
-                    String imageUrl = fileStorageService.storeFile(image);
-                    imageUrls.add(imageUrl);
-                }
-            }
-            product.setImages(imageUrls);
-        }
-
-        Product updatedProduct = productRepository.save(product);
-        return convertToResponse(updatedProduct);
+        return withStoredImages(images, imageUrls -> {
+            Product product = findProductById(id);
+            Category category = getCategory(request.getCategoryId());
+
+            product.setName(request.getName());
+            product.setDescription(request.getDescription());
+            product.setPrice(request.getPrice());
+            product.setCategory(category);
+            product.setSpecifications(request.getSpecifications());
+            product.setStock(request.getStock());
+            appendImages(product, imageUrls);
+
+            Product updatedProduct = productRepository.save(product);
+            productSearchIndex.indexProduct(updatedProduct);
+            categoryTreeService.invalidate();
+            return convertToResponse(updatedProduct);
+        });
     }
 
     @Override
     public Page<ProductResponse> getFeaturedProducts(Pageable pageable) {
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findFeaturedListings(Product.Status.ACTIVE, pageable));
+        }
         Page<Product> featuredProducts = productRepository.findByFeaturedTrueAndStatusOrderByCreatedAtDesc(
                 Product.Status.ACTIVE, pageable);
-        return featuredProducts.map(this::convertToResponse);
+        return toEntityPage(featuredProducts);
     }
 
     @Override
     public Page<ProductResponse> getLatestProducts(Pageable pageable) {
+        if (projectionListingEnabled) {
+            return toListingPage(productRepository.findLatestListings(Product.Status.ACTIVE, pageable));
+        }
         Page<Product> latestProducts = productRepository.findByStatusOrderByCreatedAtDesc(
                 Product.Status.ACTIVE, pageable);
-        return latestProducts.map(this::convertToResponse);
+        return toEntityPage(latestProducts);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponse toggleProductFeatured(Long id, boolean featured) {
         Product product = findProductById(id);
         product.setFeatured(featured);
@@ -351,7 +470,48 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
     }
 
+    /**
+     * Stores the images in parallel before any transaction is opened, then
+     * runs the database write in one short transaction. Images stored for a
+     * write that fails are deleted again.
+     */
+    private <T> T withStoredImages(List<MultipartFile> images, Function<List<String>, T> write) {
+        List<String> imageUrls = imageUploader.storeAll(images);
+        try {
+            return transactionTemplate.execute(status -> write.apply(imageUrls));
+        } catch (RuntimeException ex) {
+            imageUploader.deleteAll(imageUrls);
+            throw ex;
+        }
+    }
+
+    /**
+     * Marks the product modified. Changing only its images leaves the row
+     * clean, so updatedAt, and with it the ETag and Last-Modified of
+     * GET /products/{id}, would otherwise stay the same.
+     */
+    private void touch(Product product) {
+        product.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private void appendImages(Product product, List<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return;
+        }
+        touch(product);
+        if (product.getImages() == null) {
+            product.setImages(new ArrayList<>(imageUrls));
+        } else {
+            // Appended in place, so only the new positions are inserted
+            product.getImages().addAll(imageUrls);
+        }
+    }
+
     private ProductResponse convertToResponse(Product product) {
+        return convertToResponse(product, product.getImages());
+    }
+
+    private ProductResponse convertToResponse(Product product, List<String> images) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
@@ -365,7 +525,8 @@ public class ProductServiceImpl implements ProductService {
                 .specifications(product.getSpecifications())
                 .stock(product.getStock())
                 .status(product.getStatus())
-                .images(product.getImages())
+                .images(images)
+                .imageVariants(imageVariants(images))
                 .featured(product.getFeatured())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
@@ -373,4 +534,168 @@ public class ProductServiceImpl implements ProductService {
                 .lastModifiedBy(product.getLastModifiedBy())
                 .build();
     }
-}
\ No newline at end of file
+
+    private boolean isIndexOnlyFilter(ProductFilter filter) {
+        return !filter.isIncludeSubcategories()
+                && filter.getMinPrice() == null
+                && filter.getMaxPrice() == null
+                && filter.getInStock() == null
+                && filter.getFeatured() == null
+                && (filter.getSpecifications() == null || filter.getSpecifications().isEmpty());
+    }
+
+    /**
+     * Combines every criterion of the filter into one specification so the
+     * page is read with a single statement. The keyword is matched against
+     * the product name in SQL, which keeps the total exact and the requested
+     * sort in effect however many products the keyword matches.
+     */
+    private Specification<Product> toSpecification(ProductFilter filter) {
+        List<Specification<Product>> specifications = new ArrayList<>();
+
+        specifications.add(ProductSpecifications.nameContains(filter.getKeyword()));
+        specifications.add(ProductSpecifications.inCategories(resolveCategoryIds(filter)));
+        specifications.add(ProductSpecifications.hasStatus(filter.getStatus()));
+        specifications.add(ProductSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()));
+        specifications.add(ProductSpecifications.inStock(filter.getInStock()));
+        specifications.add(ProductSpecifications.isFeatured(filter.getFeatured()));
+
+        if (filter.getSpecifications() != null) {
+            filter.getSpecifications().forEach((key, value) -> specifications.add(
+                    ProductSpecifications.hasSpecification(key, value)));
+        }
+
+        return Specification.allOf(specifications);
+    }
+
+    private Collection<Long> resolveCategoryIds(ProductFilter filter) {
+        if (filter.getCategoryId() == null) {
+            return null;
+        }
+        if (!filter.isIncludeSubcategories()) {
+            return List.of(filter.getCategoryId());
+        }
+        return categoryTreeService.getTree().subtreeIds(filter.getCategoryId());
+    }
+
+    private boolean isIndexedSearch(String keyword) {
+        return keyword != null && !keyword.isBlank() && productSearchIndex.isReady();
+    }
+
+    /**
+     * Ranks matches with the in-process search index and hydrates only the
+     * requested page of products from the database
+     */
+    private Page<ProductResponse> searchIndex(String keyword, Long categoryId, Product.Status status,
+            Pageable pageable) {
+        ProductSearchIndex.SearchHits hits = productSearchIndex.search(keyword, categoryId, status,
+                pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(hydrate(hits.productIds()), pageable, hits.totalHits());
+    }
+
+    /**
+     * Loads the given products in a constant number of queries, keeping the
+     * order of the supplied ids
+     */
+    private List<ProductResponse> hydrate(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ProductResponse> responses = new HashMap<>();
+        if (projectionListingEnabled) {
+            List<ProductListingView> listings = productRepository.findListingsByIds(productIds);
+            Map<Long, List<String>> imagesByProduct = loadImages(listings);
+            for (ProductListingView view : listings) {
+                responses.put(view.getId(), convertToResponse(view,
+                        imagesByProduct.getOrDefault(view.getId(), new ArrayList<>())));
+            }
+        } else {
+            for (ProductResponse response : toEntityResponses(productRepository.findByIdIn(productIds))) {
+                responses.put(response.getId(), response);
+            }
+        }
+
+        return productIds.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds a page of responses from listing projections, loading the images
+     * of every product on the page with one extra query.
+     */
+    private Page<ProductResponse> toListingPage(Page<ProductListingView> listings) {
+        Map<Long, List<String>> imagesByProduct = loadImages(listings.getContent());
+        return listings.map(view -> convertToResponse(view,
+                imagesByProduct.getOrDefault(view.getId(), new ArrayList<>())));
+    }
+
+    /**
+     * Maps a page of entities read with their category, loading the images of
+     * every product on the page with one extra query rather than lazily, after
+     * the session has closed
+     */
+    private Page<ProductResponse> toEntityPage(Page<Product> products) {
+        return new PageImpl<>(toEntityResponses(products.getContent()), products.getPageable(),
+                products.getTotalElements());
+    }
+
+    private List<ProductResponse> toEntityResponses(List<Product> products) {
+        Map<Long, List<String>> imagesByProduct = loadImagesByIds(products.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList()));
+        return products.stream()
+                .map(product -> convertToResponse(product,
+                        imagesByProduct.getOrDefault(product.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, List<String>> loadImages(List<ProductListingView> listings) {
+        return loadImagesByIds(listings.stream()
+                .map(ProductListingView::getId)
+                .collect(Collectors.toList()));
+    }
+
+    private Map<Long, List<String>> loadImagesByIds(Collection<Long> productIds) {
+        Map<Long, List<String>> imagesByProduct = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return imagesByProduct;
+        }
+
+        for (ProductImageView image : productRepository.findImagesByProductIds(productIds)) {
+            imagesByProduct.computeIfAbsent(image.getProductId(), id -> new ArrayList<>())
+                    .add(image.getImageUrl());
+        }
+        return imagesByProduct;
+    }
+
+    private List<Map<String, String>> imageVariants(List<String> images) {
+        return images == null ? null : images.stream().map(fileStorageService::getVariantUrls).toList();
+    }
+
+    private ProductResponse convertToResponse(ProductListingView view, List<String> images) {
+        return ProductResponse.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .price(view.getPrice())
+                .category(view.getCategoryId() != null ? new ProductResponse.CategorySummary(
+                        view.getCategoryId(),
+                        view.getCategoryName(),
+                        view.getCategoryDescription())
+                        : null)
+                .specifications(view.getSpecifications())
+                .stock(view.getStock())
+                .status(view.getStatus())
+                .images(images)
+                .imageVariants(imageVariants(images))
+                .featured(view.getFeatured())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .createdBy(view.getCreatedBy())
+                .lastModifiedBy(view.getLastModifiedBy())
+                .build();
+    }
+}
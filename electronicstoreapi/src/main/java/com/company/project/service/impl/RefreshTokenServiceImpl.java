@@ -5,14 +5,12 @@ import com.company.project.entity.User;
 import com.company.project.exception.TokenRefreshException;
 import com.company.project.repository.RefreshTokenRepository;
 import com.company.project.repository.UserRepository;
+import com.company.project.security.JwtTokenCodec;
 import com.company.project.service.RefreshTokenService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,9 +18,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,14 +38,12 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Value("${jwt.refresh-token.expiration}")
     private Long refreshTokenDuration;
     
-    @Value("${jwt.secret}")
-    private String secretKey;
-    
     @Value("${jwt.refresh-token.storage:database}")
     private String refreshTokenStorage;
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final JwtTokenCodec tokenCodec;
 
     /**
      * Creates a new refresh token for a user
@@ -91,20 +87,8 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
      * Only used when refreshTokenStorage is set to 'jwt'
      */
     private String generateJwtRefreshToken(User user) {
-        return Jwts.builder()
-                .subject(user.getUsername())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + refreshTokenDuration))
-                .signWith(getSigningKey())
-                .compact();
-    }
-    
-    /**
-     * Gets the signing key for JWT tokens
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        long now = System.currentTimeMillis();
+        return tokenCodec.sign(user.getUsername(), Map.of(), new Date(now), new Date(now + refreshTokenDuration));
     }
 
     /**
@@ -138,16 +122,16 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             return refreshTokenRepository.findByToken(token);
         } else {
             try {
-                // For JWT tokens, validate and create a transient token object
-                String username = validateRefreshToken(token);
-                User user = userRepository.findByUsername(username)
+                // For JWT tokens, validate once and create a transient token object
+                Claims claims = tokenCodec.verify(token);
+                User user = userRepository.findByUsername(claims.getSubject())
                         .orElseThrow(() -> new TokenRefreshException(token, "User not found for refresh token"));
                 
                 RefreshToken refreshToken = RefreshToken.builder()
                         .user(user)
                         .token(token)
                         // Set expiry date from JWT claims
-                        .expiryDate(extractExpiryFromJwt(token))
+                        .expiryDate(claims.getExpiration().toInstant())
                         .build();
                 
                 return Optional.of(refreshToken);
@@ -158,19 +142,6 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         }
     }
     
-    /**
-     * Extracts expiry date from JWT token
-     */
-    private Instant extractExpiryFromJwt(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getExpiration().toInstant();
-    }
-
     /**
      * Validates a JWT refresh token
      * @param token The token to validate
@@ -189,13 +160,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
                 return storedToken.get().getUser().getUsername();
             } else {
                 // For JWT tokens, parse and validate
-                Claims claims = Jwts.parser()
-                        .verifyWith(getSigningKey())
-                        .build()
-                        .parseSignedClaims(token)
-                        .getPayload();
-                
-                return claims.getSubject();
+                return tokenCodec.verify(token).getSubject();
             }
         } catch (ExpiredJwtException e) {
             throw new TokenRefreshException(token, "Refresh token expired");
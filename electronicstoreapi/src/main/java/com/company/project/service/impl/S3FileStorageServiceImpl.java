@@ -1,25 +1,63 @@
 package com.company.project.service.impl;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.company.project.config.ImageVariantProperties;
 import com.company.project.exception.FileStorageException;
 import com.company.project.service.FileStorageService;
+import com.company.project.service.storage.ContentAddress;
+import com.company.project.service.storage.ImageReferenceCounter;
+import com.company.project.service.storage.ImageStoredEvent;
+import com.company.project.service.storage.StoredFile;
+import com.company.project.util.AfterCommit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.BlockingInputStreamAsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectCannedACL;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Stores files in an S3 bucket through the asynchronous client.
+ *
+ * FileStorageService is synchronous, so each call waits for its transfer,
+ * but the transfer itself runs on the client's event loop: an upload is fed
+ * from the caller's stream while parts above the multipart threshold are
+ * sent in parallel, and no extra thread sits blocked on a socket.
+ */
 @Service
 @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
 public class S3FileStorageServiceImpl implements FileStorageService {
 
-    private final AmazonS3 s3Client;
+    private static final String KEY_PREFIX = "images/";
+    // Most keys S3 returns per ListObjectsV2 call
+    private static final int MAX_LIST_PAGE = 1000;
+
+    private final S3AsyncClient s3Client;
+    private final ImageVariantProperties variantProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageReferenceCounter references;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -27,8 +65,16 @@ public class S3FileStorageServiceImpl implements FileStorageService {
     @Value("${aws.s3.endpoint-url}")
     private String endpointUrl;
 
-    public S3FileStorageServiceImpl(AmazonS3 s3Client) {
+    // Name objects by the SHA-256 of their content so identical uploads share one object
+    @Value("${file.upload.content-addressed:true}")
+    private boolean contentAddressed;
+
+    public S3FileStorageServiceImpl(S3AsyncClient s3Client, ImageVariantProperties variantProperties,
+            ApplicationEventPublisher eventPublisher, ImageReferenceCounter references) {
         this.s3Client = s3Client;
+        this.variantProperties = variantProperties;
+        this.eventPublisher = eventPublisher;
+        this.references = references;
     }
 
     @Override
@@ -36,34 +82,26 @@ public class S3FileStorageServiceImpl implements FileStorageService {
         // Normalize file name
         String originalFilename = file.getOriginalFilename();
         String fileName = originalFilename != null ? StringUtils.cleanPath(originalFilename) : "unknown_filename";
-        
+
         try {
             // Check if the file's name contains invalid characters
             if (fileName.contains("..")) {
                 throw new FileStorageException("Sorry! Filename contains invalid path sequence " + fileName);
             }
-            
+
+            if (contentAddressed) {
+                return storeContentAddressed(file, fileName);
+            }
+
             // Generate unique file name
-            String uniqueFileName = "images/" + UUID.randomUUID().toString() + "_" + fileName;
-            
-            // Set metadata
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType(file.getContentType());
-            metadata.setContentLength(file.getSize());
-            
-            // Upload to S3
-            PutObjectRequest putRequest = new PutObjectRequest(
-                    bucketName, 
-                    uniqueFileName, 
-                    file.getInputStream(), 
-                    metadata)
-                    .withCannedAcl(CannedAccessControlList.PublicRead);
-            
-            s3Client.putObject(putRequest);
-            
+            String uniqueFileName = KEY_PREFIX + UUID.randomUUID().toString() + "_" + fileName;
+            upload(file, uniqueFileName, fileName);
+
             // Construct the file URL
-            return endpointUrl + "/" + bucketName + "/" + uniqueFileName;
-            
+            String fileUrl = urlOf(uniqueFileName);
+            eventPublisher.publishEvent(new ImageStoredEvent(fileUrl));
+            return fileUrl;
+
         } catch (IOException ex) {
             throw new FileStorageException("Could not store file " + fileName + ". Please try again!", ex);
         }
@@ -71,17 +109,198 @@ public class S3FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public void deleteFile(String fileUrl) {
-        try {
-            // Extract key from the URL: https://s3.amazonaws.com/bucket/images/file.jpg
-            String key = fileUrl.substring(fileUrl.indexOf(bucketName) + bucketName.length() + 1);
-            s3Client.deleteObject(bucketName, key);
-        } catch (Exception ex) {
-            throw new FileStorageException("Could not delete file from S3. Please try again!", ex);
+        if (ContentAddress.isContentAddressed(fileUrl)) {
+            // Possibly shared: only the last reference deletes it
+            references.release(fileUrl, () -> deleteStoredFile(fileUrl));
+        } else {
+            AfterCommit.run("delete image " + fileUrl, () -> deleteStoredFile(fileUrl));
+        }
+    }
+
+    @Override
+    public void purgeFile(String fileUrl) {
+        deleteStoredFile(fileUrl);
+    }
+
+    @Override
+    public List<StoredFile> listFiles(String startAfter, int limit) {
+        List<StoredFile> files = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            String token = continuationToken;
+            int pageSize = Math.min(MAX_LIST_PAGE, limit - files.size());
+            ListObjectsV2Response page = await(s3Client.listObjectsV2(request -> request
+                    .bucket(bucketName)
+                    .prefix(KEY_PREFIX)
+                    .startAfter(startAfter != null ? KEY_PREFIX + startAfter : null)
+                    .continuationToken(token)
+                    .maxKeys(pageSize)),
+                    "Could not list files in S3");
+            for (S3Object object : page.contents()) {
+                files.add(new StoredFile(object.key().substring(KEY_PREFIX.length()), urlOf(object.key()),
+                        object.size(), object.lastModified()));
+            }
+            continuationToken = page.isTruncated() ? page.nextContinuationToken() : null;
+        } while (continuationToken != null && files.size() < limit);
+        return files;
+    }
+
+    @Override
+    public void retainFile(String fileUrl) {
+        if (ContentAddress.isContentAddressed(fileUrl)) {
+            references.retain(fileUrl);
+        }
+    }
+
+    @Override
+    public String copyToContentAddress(String fileUrl) {
+        if (ContentAddress.isContentAddressed(fileUrl)) {
+            return fileUrl;
         }
+        MessageDigest digest = ContentAddress.newDigest();
+        try (InputStream input = new DigestInputStream(loadFile(fileUrl), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not read file " + fileUrl + " from S3", ex);
+        }
+
+        String sourceKey = keyOf(fileUrl);
+        String key = KEY_PREFIX + ContentAddress.fileName(digest.digest(), sourceKey);
+        String hashedUrl = urlOf(key);
+        if (exists(key)) {
+            return hashedUrl;
+        }
+        // Copied inside S3; the content type is kept, the ACL is not
+        await(s3Client.copyObject(request -> request
+                .sourceBucket(bucketName)
+                .sourceKey(sourceKey)
+                .destinationBucket(bucketName)
+                .destinationKey(key)
+                .acl(ObjectCannedACL.PUBLIC_READ)),
+                "Could not copy " + fileUrl + " to " + key + " in S3");
+        // Variants follow the object name, so they are generated again under the new one
+        eventPublisher.publishEvent(new ImageStoredEvent(hashedUrl));
+        return hashedUrl;
+    }
+
+    private void deleteStoredFile(String fileUrl) {
+        // The original and its variants go in one request
+        List<ObjectIdentifier> objects = new ArrayList<>();
+        objects.add(ObjectIdentifier.builder().key(keyOf(fileUrl)).build());
+        variantProperties.variantUrls(fileUrl).values()
+                .forEach(variantUrl -> objects.add(ObjectIdentifier.builder().key(keyOf(variantUrl)).build()));
+        await(s3Client.deleteObjects(request -> request
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(objects).quiet(true).build())),
+                "Could not delete file from S3. Please try again!");
+    }
+
+    @Override
+    public InputStream loadFile(String fileUrl) {
+        return await(s3Client.getObject(request -> request.bucket(bucketName).key(keyOf(fileUrl)),
+                AsyncResponseTransformer.toBlockingInputStream()),
+                "Could not read file " + fileUrl + " from S3");
+    }
+
+    @Override
+    public String storeVariant(String fileUrl, String variant, byte[] content) {
+        String variantUrl = ImageVariantProperties.variantUrl(fileUrl, variant);
+        await(s3Client.putObject(request -> request
+                .bucket(bucketName)
+                .key(keyOf(variantUrl))
+                .contentType("image/webp")
+                .contentLength((long) content.length)
+                .acl(ObjectCannedACL.PUBLIC_READ),
+                AsyncRequestBody.fromBytes(content)),
+                "Could not store " + variant + " variant of " + fileUrl + " in S3");
+        return variantUrl;
+    }
+
+    @Override
+    public Map<String, String> getVariantUrls(String fileUrl) {
+        return variantProperties.variantUrls(fileUrl);
     }
 
     @Override
     public String getFileType() {
         return "s3";
     }
-} 
\ No newline at end of file
+
+    /**
+     * Uploads a file under its content address unless an identical object is
+     * already stored there. The multipart part is spooled to disk, so it is
+     * hashed in a local pass first and a duplicate is never sent to S3.
+     */
+    private String storeContentAddressed(MultipartFile file, String fileName) throws IOException {
+        MessageDigest digest = ContentAddress.newDigest();
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        String key = KEY_PREFIX + ContentAddress.fileName(digest.digest(), fileName);
+        String fileUrl = urlOf(key);
+
+        // With the reference held no release can delete the object, so checking for it is safe
+        references.acquire(fileUrl, () -> deleteStoredFile(fileUrl));
+        try {
+            if (!exists(key)) {
+                upload(file, key, fileName);
+                eventPublisher.publishEvent(new ImageStoredEvent(fileUrl));
+            }
+        } catch (IOException | RuntimeException ex) {
+            references.release(fileUrl, () -> deleteStoredFile(fileUrl));
+            throw ex;
+        }
+        return fileUrl;
+    }
+
+    private void upload(MultipartFile file, String key, String fileName) throws IOException {
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(file.getContentType())
+                .contentLength(file.getSize())
+                .acl(ObjectCannedACL.PUBLIC_READ)
+                .build();
+
+        // Upload to S3, streaming the part on this thread into the client
+        BlockingInputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingInputStream(file.getSize());
+        CompletableFuture<?> upload = s3Client.putObject(putRequest, body);
+        try (InputStream input = file.getInputStream()) {
+            body.writeInputStream(input);
+        } catch (IOException | RuntimeException ex) {
+            upload.cancel(true);
+            throw ex;
+        }
+        await(upload, "Could not store file " + fileName + ". Please try again!");
+    }
+
+    private boolean exists(String key) {
+        try {
+            s3Client.headObject(request -> request.bucket(bucketName).key(key)).join();
+            return true;
+        } catch (CompletionException ex) {
+            // HEAD responses carry no error body, so a missing key is only told apart by its status
+            if (ex.getCause() instanceof S3Exception s3Exception && s3Exception.statusCode() == 404) {
+                return false;
+            }
+            throw new FileStorageException("Could not check for " + key + " in S3", ex.getCause());
+        }
+    }
+
+    private String urlOf(String key) {
+        return endpointUrl + "/" + bucketName + "/" + key;
+    }
+
+    // Extract key from the URL: https://s3.amazonaws.com/bucket/images/file.jpg
+    private String keyOf(String fileUrl) {
+        return fileUrl.substring(fileUrl.indexOf(bucketName) + bucketName.length() + 1);
+    }
+
+    private static <T> T await(CompletableFuture<T> future, String message) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw new FileStorageException(message, ex.getCause());
+        }
+    }
+}
\ No newline at end of file
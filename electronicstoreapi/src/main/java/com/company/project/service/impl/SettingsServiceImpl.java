@@ -4,9 +4,12 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.company.project.config.CacheConfig;
 import com.company.project.dto.request.HomepageSettingsRequest;
 import com.company.project.dto.request.SettingsRequest;
 import com.company.project.dto.response.HomepageSettingsResponse;
@@ -35,6 +38,7 @@ public class SettingsServiceImpl implements SettingsService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SETTINGS, allEntries = true)
     public SettingsResponse saveSetting(SettingsRequest request) {
         Settings settings = settingsRepository.findBySettingKey(request.getKey())
                 .orElse(new Settings());
@@ -49,6 +53,7 @@ public class SettingsServiceImpl implements SettingsService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SETTINGS, key = "'key:' + #key")
     public SettingsResponse getSettingByKey(String key) {
         return settingsRepository.findBySettingKey(key)
                 .map(SettingsResponse::fromEntity)
@@ -56,6 +61,7 @@ public class SettingsServiceImpl implements SettingsService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SETTINGS, key = "'group:' + #group")
     public List<SettingsResponse> getSettingsByGroup(String group) {
         return settingsRepository.findBySettingGroup(group).stream()
                 .map(SettingsResponse::fromEntity)
@@ -64,6 +70,7 @@ public class SettingsServiceImpl implements SettingsService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SETTINGS, allEntries = true)
     public void deleteSetting(String key) {
         Settings settings = settingsRepository.findBySettingKey(key)
                 .orElseThrow(() -> new ResourceNotFoundException("Setting not found with key: " + key));
@@ -73,6 +80,7 @@ public class SettingsServiceImpl implements SettingsService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SETTINGS, allEntries = true)
     public HomepageSettingsResponse saveHomepageSettings(HomepageSettingsRequest request) {
         // Save featured products count
         SettingsRequest featuredRequest = new SettingsRequest();
@@ -96,6 +104,7 @@ public class SettingsServiceImpl implements SettingsService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SETTINGS, key = "'homepage'")
     public HomepageSettingsResponse getHomepageSettings() {
         // Get featured products count
         SettingsResponse featuredSetting = getSettingByKey(FEATURED_PRODUCTS_KEY);
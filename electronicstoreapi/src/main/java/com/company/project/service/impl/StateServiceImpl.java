@@ -4,8 +4,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.company.project.config.CacheConfig;
 import com.company.project.dto.request.StateRequest;
 import com.company.project.dto.response.StateResponse;
 import com.company.project.entity.State;
@@ -24,6 +27,7 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.STATES, key = "'all'")
     public List<StateResponse> getAllStates() {
         List<State> states = stateRepository.findAll();
         return states.stream()
@@ -32,6 +36,7 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.STATES, key = "#id")
     public StateResponse getStateById(Long id) {
         State state = stateRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("State not found with id: " + id));
@@ -39,6 +44,7 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.STATES, allEntries = true)
     public StateResponse createState(StateRequest stateRequest) {
         // Check if state already exists
         if (stateRepository.existsByName(stateRequest.getName())) {
@@ -5,6 +5,7 @@ import com.company.project.entity.User;
 import com.company.project.exception.ResourceNotFoundException;
 import com.company.project.exception.UserAlreadyExistsException;
 import com.company.project.repository.UserRepository;
+import com.company.project.security.UserStatusCache;
 import com.company.project.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,6 +20,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserStatusCache userStatusCache;
 
     @Override
     @Transactional
@@ -42,7 +44,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Role or status may have changed; re-check outstanding tokens
+        userStatusCache.evict(savedUser.getUsername());
+        return savedUser;
     }
 
     @Override
@@ -59,10 +64,10 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found");
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        userRepository.delete(user);
+        userStatusCache.evict(user.getUsername());
     }
 
     @Override
@@ -0,0 +1,367 @@
+package com.company.project.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.project.entity.Product;
+import com.company.project.repository.ProductRepository;
+import com.company.project.repository.projection.ProductSearchView;
+import com.company.project.util.AfterCommit;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process inverted index over product name, description and
+ * specification values.
+ *
+ * The index is built once at startup from the products table and kept in sync
+ * incrementally by the product service. Queries support prefix matching (for
+ * search-as-you-type), typo tolerance within a bounded edit distance and are
+ * ranked with BM25. Only matching product ids are returned; callers hydrate
+ * the requested page from the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Field boosts applied to term frequencies
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float SPECIFICATIONS_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Relative weight of non-exact term matches
+    private static final float PREFIX_MATCH_WEIGHT = 0.7f;
+    private static final float FUZZY_MATCH_WEIGHT = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_TOKEN_LENGTH = 4;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "by", "for", "in", "is", "of", "on", "or", "the", "to", "with");
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Term -> (product id -> weighted term frequency), sorted for prefix expansion
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private double totalDocumentLength;
+    private volatile boolean ready;
+
+    /**
+     * Result of a search: the requested window of ranked product ids and the
+     * total number of matches.
+     */
+    public record SearchHits(List<Long> productIds, long totalHits) {
+    }
+
+    private record IndexedDocument(Long categoryId, Product.Status status, Map<String, Float> terms, float length) {
+    }
+
+    /**
+     * Builds the index from the products table once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalDocumentLength = 0;
+            try (Stream<ProductSearchView> rows = productRepository.streamSearchDocuments()) {
+                rows.forEach(row -> addDocument(row.getId(), row.getCategoryId(), row.getStatus(),
+                        row.getName(), row.getDescription(), row.getSpecifications()));
+            }
+            ready = true;
+            log.info("Product search index built with {} products and {} terms in {} ms",
+                    documents.size(), postings.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true once the initial build has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces a product in the index. When called inside a
+     * transaction the change is applied only after a successful commit.
+     *
+     * @param product Product to index
+     */
+    public void indexProduct(Product product) {
+        Long id = product.getId();
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        Product.Status status = product.getStatus();
+        String name = product.getName();
+        String description = product.getDescription();
+        String specifications = product.getSpecifications();
+
+        AfterCommit.run("index product " + id, () -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(id);
+                addDocument(id, categoryId, status, name, description, specifications);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a product from the index. When called inside a transaction the
+     * change is applied only after a successful commit.
+     *
+     * @param productId Product ID to remove
+     */
+    public void removeProduct(Long productId) {
+        AfterCommit.run("remove product " + productId + " from the search index", () -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Searches the index
+     *
+     * @param query      Free-text query
+     * @param categoryId Optional category filter
+     * @param status     Optional status filter
+     * @param offset     Index of the first hit to return
+     * @param limit      Maximum number of hits to return
+     * @return Ranked product ids for the requested window and the total hit count
+     */
+    public SearchHits search(String query, Long categoryId, Product.Status status, long offset, int limit) {
+        List<String> queryTokens = tokenize(query, true);
+        if (queryTokens.isEmpty()) {
+            queryTokens = tokenize(query, false);
+        }
+        if (queryTokens.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Float> tokenScores = scoreToken(token, categoryId, status);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every query token has to match (AND semantics)
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + tokenScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return new SearchHits(List.of(), 0);
+                }
+            }
+
+            List<Long> ranked = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            return new SearchHits(ranked, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> scoreToken(String token, Long categoryId, Product.Status status) {
+        Map<Long, Float> tokenScores = new HashMap<>();
+        double averageLength = documents.isEmpty() ? 1 : totalDocumentLength / documents.size();
+
+        for (Map.Entry<String, Float> expansion : expand(token).entrySet()) {
+            Map<Long, Float> termPostings = postings.get(expansion.getKey());
+            double idf = Math.log(1 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+
+            for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                IndexedDocument document = documents.get(posting.getKey());
+                if ((categoryId != null && !categoryId.equals(document.categoryId()))
+                        || (status != null && status != document.status())) {
+                    continue;
+                }
+                float tf = posting.getValue();
+                double norm = tf + K1 * (1 - B + B * document.length() / averageLength);
+                float score = (float) (expansion.getValue() * idf * tf * (K1 + 1) / norm);
+                tokenScores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return tokenScores;
+    }
+
+    /**
+     * Expands a query token to the indexed terms it matches, with a weight per
+     * term: exact match, prefix matches, then terms within a small edit distance.
+     */
+    private Map<String, Float> expand(String token) {
+        Map<String, Float> expansions = new LinkedHashMap<>();
+        if (postings.containsKey(token)) {
+            expansions.put(token, 1.0f);
+        }
+
+        Iterator<String> prefixed = postings.subMap(token, false, token + Character.MAX_VALUE, false)
+                .keySet().iterator();
+        for (int i = 0; i < MAX_PREFIX_EXPANSIONS && prefixed.hasNext(); i++) {
+            expansions.putIfAbsent(prefixed.next(), PREFIX_MATCH_WEIGHT);
+        }
+
+        if (token.length() >= MIN_FUZZY_TOKEN_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            // Only terms sharing the first character are considered, which keeps the scan small
+            String first = token.substring(0, 1);
+            for (String term : postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (!expansions.containsKey(term)
+                        && Math.abs(term.length() - token.length()) <= maxEdits
+                        && editDistance(token, term, maxEdits) <= maxEdits) {
+                    expansions.put(term, FUZZY_MATCH_WEIGHT);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private void addDocument(Long id, Long categoryId, Product.Status status, String name, String description,
+            String specifications) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, name, NAME_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+        for (String value : specificationValues(specifications)) {
+            addTerms(terms, value, SPECIFICATIONS_WEIGHT);
+        }
+
+        float length = 0;
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(id, term.getValue());
+            length += term.getValue();
+        }
+        documents.put(id, new IndexedDocument(categoryId, status, terms, length));
+        totalDocumentLength += length;
+    }
+
+    private void removeDocument(Long id) {
+        IndexedDocument document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms().keySet()) {
+            Map<Long, Float> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalDocumentLength -= document.length();
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text, true)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Collects the textual values of the specifications JSON. Falls back to the
+     * raw string when it is not valid JSON.
+     */
+    private List<String> specificationValues(String specifications) {
+        List<String> values = new ArrayList<>();
+        if (specifications == null || specifications.isBlank()) {
+            return values;
+        }
+        try {
+            collectValues(objectMapper.readTree(specifications), values);
+        } catch (Exception e) {
+            values.add(specifications);
+        }
+        return values;
+    }
+
+    private void collectValues(JsonNode node, List<String> values) {
+        if (node.isContainerNode()) {
+            node.forEach(child -> collectValues(child, values));
+        } else if (!node.isNull()) {
+            values.add(node.asText());
+        }
+    }
+
+    static List<String> tokenize(String text, boolean dropStopWords) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !(dropStopWords && STOP_WORDS.contains(token))) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Levenshtein distance with an early exit once every cell in a row exceeds
+     * the allowed maximum
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
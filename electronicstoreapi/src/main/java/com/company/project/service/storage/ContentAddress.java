@@ -0,0 +1,56 @@
+package com.company.project.service.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Names of content-addressed files: the hex SHA-256 of the bytes followed by
+ * the lower-cased extension of the uploaded name, e.g. "9f86d0...08.jpg".
+ * Identical uploads map to the same name, and a name never changes content.
+ */
+public final class ContentAddress {
+
+    public static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    // Prefix of the files an upload is streamed into before it is moved to its content address
+    public static final String TEMPORARY_FILE_PREFIX = ".upload-";
+
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+    private ContentAddress() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * @param digest           SHA-256 of the content
+     * @param originalFileName Name the extension is taken from; may be null
+     */
+    public static String fileName(byte[] digest, String originalFileName) {
+        String name = HexFormat.of().formatHex(digest);
+        if (originalFileName != null) {
+            int dot = originalFileName.lastIndexOf('.');
+            String extension = dot < 0 ? "" : originalFileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+            if (EXTENSION.matcher(extension).matches()) {
+                name += "." + extension;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Whether a URL points at a content-addressed original (not a variant)
+     */
+    public static boolean isContentAddressed(String fileUrl) {
+        return fileUrl != null && FILE_NAME.matcher(fileUrl.substring(fileUrl.lastIndexOf('/') + 1)).matches();
+    }
+}
@@ -0,0 +1,134 @@
+package com.company.project.service.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.project.entity.Product;
+import com.company.project.exception.FileStorageException;
+import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.ProductRepository;
+import com.company.project.service.CacheService;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTreeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves images stored under random names to their content addresses.
+ *
+ * Enabled for one start with file.upload.deduplicate-existing=true, ideally
+ * while no uploads are taking place. Each referenced file is copied to the
+ * name of its SHA-256, so identical files collapse into one; the
+ * product_images and categories rows are pointed at the new URL before the
+ * old file is deleted, so an interrupted run leaves no broken reference and
+ * can simply be repeated. A product listing the same content more than once
+ * keeps one copy. Finally every reference count is rebuilt from the tables.
+ * URLs that cannot be read from the storage backend, such as external
+ * links, are left as they are.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.upload.deduplicate-existing", havingValue = "true")
+public class ImageDeduplicationMigration {
+
+    private final FileStorageService fileStorageService;
+    private final ImageReferenceCounter references;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ImageDeduplicationMigration(FileStorageService fileStorageService, ImageReferenceCounter references,
+            ProductRepository productRepository, CategoryRepository categoryRepository,
+            CategoryTreeService categoryTreeService, CacheService cacheService,
+            PlatformTransactionManager transactionManager) {
+        this.fileStorageService = fileStorageService;
+        this.references = references;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryTreeService = categoryTreeService;
+        this.cacheService = cacheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        deduplicate();
+    }
+
+    /**
+     * Runs the migration
+     *
+     * @return Number of image URLs moved to a content address
+     */
+    public int deduplicate() {
+        long start = System.currentTimeMillis();
+        int moved = 0;
+        int skipped = 0;
+        for (String imageUrl : referenceCounts().keySet()) {
+            if (ContentAddress.isContentAddressed(imageUrl)) {
+                continue;
+            }
+            String hashedUrl;
+            try {
+                hashedUrl = fileStorageService.copyToContentAddress(imageUrl);
+            } catch (FileStorageException ex) {
+                log.warn("Leaving image {} as it is: {}", imageUrl, ex.getMessage());
+                skipped++;
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                productRepository.replaceImageUrl(imageUrl, hashedUrl);
+                categoryRepository.replaceImageUrl(imageUrl, hashedUrl);
+            });
+            // Nothing references the old name any more
+            fileStorageService.deleteFile(imageUrl);
+            moved++;
+        }
+
+        int collapsed = 0;
+        for (Long productId : productRepository.findIdsWithRepeatedImages()) {
+            collapsed += transactionTemplate.execute(status -> {
+                Product product = productRepository.findById(productId).orElseThrow();
+                List<String> images = new ArrayList<>(new LinkedHashSet<>(product.getImages()));
+                int removed = product.getImages().size() - images.size();
+                product.replaceImages(images);
+                productRepository.save(product);
+                return removed;
+            });
+        }
+
+        Map<String, Long> counts = referenceCounts();
+        counts.keySet().removeIf(imageUrl -> !ContentAddress.isContentAddressed(imageUrl));
+        references.recount(counts);
+
+        categoryTreeService.invalidate();
+        cacheService.clearAllCaches();
+        log.info("Image deduplication moved {} images ({} skipped), dropped {} repeated product images and "
+                + "counted {} stored files in {} ms", moved, skipped, collapsed, counts.size(),
+                System.currentTimeMillis() - start);
+        return moved;
+    }
+
+    private Map<String, Long> referenceCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : productRepository.countImageReferences()) {
+            counts.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+        for (Object[] row : categoryRepository.countImageReferences()) {
+            counts.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,224 @@
+package com.company.project.service.storage;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a stored image file to the response.
+ *
+ * Large bodies are handed to the connector's sendfile support, so the kernel
+ * copies the file straight to the socket; elsewhere the file channel is
+ * transferred to the response. Uploaded files are named with a random UUID
+ * or the hash of their content and never rewritten, so they are sent as
+ * immutable for a year. A single byte range is honoured, and a precompressed
+ * sibling (".br", ".gz") is sent instead of the file when the client accepts
+ * that encoding.
+ */
+@Component
+public class ImageFileSender {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    // Random UUID names and content-addressed (SHA-256) names, with their variants
+    private static final Pattern IMMUTABLE_FILE_NAME = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+|[0-9a-f]{64}(\\..+)?");
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    // Precompressed siblings in order of preference: encoding name, file suffix
+    private static final List<String[]> ENCODINGS = List.of(new String[] { "br", ".br" },
+            new String[] { "gzip", ".gz" });
+
+    // Request attributes through which Tomcat takes over writing the body with sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Below this a buffered copy is cheaper than handing the file to the poller (Tomcat's own default)
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    /**
+     * Sends a file, answering conditional and range requests
+     *
+     * @param file     Regular file to send
+     * @param request  Current request
+     * @param response Response to write to
+     * @throws NoSuchFileException if the file does not exist
+     */
+    public void send(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String fileName = file.getFileName().toString();
+        BasicFileAttributes original = Files.readAttributes(file, BasicFileAttributes.class);
+        if (!original.isRegularFile()) {
+            throw new NoSuchFileException(file.toString());
+        }
+
+        // Pick the representation: the file itself or a precompressed sibling
+        Path body = file;
+        BasicFileAttributes attributes = original;
+        String contentEncoding = null;
+        boolean negotiable = false;
+        for (String[] encoding : ENCODINGS) {
+            Path sibling = file.resolveSibling(fileName + encoding[1]);
+            if (!Files.isRegularFile(sibling)) {
+                continue;
+            }
+            negotiable = true;
+            if (contentEncoding == null && accepts(request.getHeader(HttpHeaders.ACCEPT_ENCODING), encoding[0])) {
+                body = sibling;
+                attributes = Files.readAttributes(sibling, BasicFileAttributes.class);
+                contentEncoding = encoding[0];
+            }
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length)
+                + (contentEncoding != null ? "-" + contentEncoding : "") + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_FILE_NAME.matcher(fileName).matches()
+                ? IMMUTABLE.getHeaderValue()
+                : CacheControl.noCache().getHeaderValue());
+        if (negotiable) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (new ServletWebRequest(request).checkNotModified(etag, lastModified)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        if (contentEncoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        if (count >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, body.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(body, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, target);
+            }
+        }
+    }
+
+    /**
+     * Parses a Range header against the file length
+     *
+     * @return {start, end} for one satisfiable range; an empty array when
+     *         the header is malformed or asks for several ranges, in which
+     *         case the whole file is sent; null when it cannot be satisfied
+     */
+    static long[] parseRange(String header, long length) {
+        Matcher matcher = BYTE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || matcher.group(1).isEmpty() && matcher.group(2).isEmpty()) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (matcher.group(1).isEmpty()) {
+                // Suffix range: the last n bytes
+                long suffix = Long.parseLong(matcher.group(2));
+                if (suffix == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(matcher.group(1));
+                end = length - 1;
+                if (!matcher.group(2).isEmpty()) {
+                    long last = Long.parseLong(matcher.group(2));
+                    if (last < start) {
+                        // Syntactically invalid, so ignored rather than refused
+                        return new long[0];
+                    }
+                    end = Math.min(last, end);
+                }
+            }
+            return start < length ? new long[] { start, end } : null;
+        } catch (NumberFormatException ex) {
+            return new long[0];
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(encoding)) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
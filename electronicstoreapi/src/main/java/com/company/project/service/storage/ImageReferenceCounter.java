@@ -0,0 +1,190 @@
+package com.company.project.service.storage;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.project.entity.ImageBlob;
+import com.company.project.repository.ImageBlobRepository;
+import com.company.project.util.AfterCommit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the references to content-addressed image files, so that a file
+ * shared by several products or categories is deleted with its last
+ * reference rather than its first.
+ *
+ * A store takes its reference in a transaction of its own before it checks
+ * whether the file is present, and the last release deletes the file while
+ * holding the row lock. A store and a release of the same content therefore
+ * cannot interleave so that the file ends up missing. Releases made inside a
+ * transaction wait for its commit, and a reference taken inside one is given
+ * back if it rolls back, so the counts follow what was actually written.
+ */
+@Slf4j
+@Component
+public class ImageReferenceCounter {
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    public ImageReferenceCounter(ImageBlobRepository imageBlobRepository,
+            PlatformTransactionManager transactionManager) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes a reference for a file about to be stored, creating its row on
+     * first use. Committed straight away; if the current transaction rolls
+     * back, the reference is released again.
+     *
+     * @param fileUrl    URL of the file
+     * @param deleteFile Deletes the file should this turn out to be the last reference
+     */
+    public void acquire(String fileUrl, Runnable deleteFile) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (imageBlobRepository.addReferences(fileUrl, 1, now) == 0) {
+                    imageBlobRepository.saveAndFlush(ImageBlob.builder()
+                            .url(fileUrl)
+                            .refCount(1)
+                            .createdAt(now)
+                            .lastAcquiredAt(now)
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another store of the same content created the row first
+            newTransactionTemplate.executeWithoutResult(
+                    status -> imageBlobRepository.addReferences(fileUrl, 1, LocalDateTime.now()));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        try {
+                            releaseNow(fileUrl, deleteFile);
+                        } catch (RuntimeException ex) {
+                            log.warn("Could not release image {} after rollback", fileUrl, ex);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Takes another reference to a file that is already stored, e.g. when a
+     * URL returned earlier is saved on a second row. Joins the current
+     * transaction. Does nothing for files without a count.
+     */
+    public void retain(String fileUrl) {
+        transactionTemplate.executeWithoutResult(
+                status -> imageBlobRepository.addReferences(fileUrl, 1, LocalDateTime.now()));
+    }
+
+    /**
+     * Gives up a reference, deleting the file when it was the last one.
+     * Inside a transaction this happens after it commits. Files without a
+     * count are left alone, as they are not known to be unreferenced.
+     *
+     * @param fileUrl    URL of the file
+     * @param deleteFile Deletes the file and its variants from the storage backend
+     */
+    public void release(String fileUrl, Runnable deleteFile) {
+        // A release that fails after commit is logged; the file is then an
+        // orphan for the OrphanImageCollector to remove
+        AfterCommit.run("release image " + fileUrl, () -> releaseNow(fileUrl, deleteFile));
+    }
+
+    /**
+     * Deletes a file that no row references, for the orphan collector. The
+     * row lock is held throughout, creating the row if there is none, so a
+     * store of the same content waits and then writes the file again.
+     *
+     * @param fileUrl        URL of the file
+     * @param acquiredBefore Files referenced by a store since then are kept, as
+     *                       the row that will reference them may not be written yet
+     * @param unreferenced   Checked again under the lock before deleting
+     * @param deleteFile     Deletes the file and its variants from the storage backend
+     * @return whether the file was deleted
+     */
+    public boolean deleteIfUnused(String fileUrl, LocalDateTime acquiredBefore, BooleanSupplier unreferenced,
+            Runnable deleteFile) {
+        try {
+            return Boolean.TRUE.equals(newTransactionTemplate.execute(status -> {
+                ImageBlob blob = imageBlobRepository.findForUpdate(fileUrl).orElse(null);
+                if (blob == null) {
+                    blob = imageBlobRepository.saveAndFlush(ImageBlob.builder()
+                            .url(fileUrl)
+                            .createdAt(LocalDateTime.now())
+                            .build());
+                } else if (blob.getLastAcquiredAt() != null && blob.getLastAcquiredAt().isAfter(acquiredBefore)) {
+                    return false;
+                }
+                if (!unreferenced.getAsBoolean()) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                deleteFile.run();
+                imageBlobRepository.delete(blob);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException ex) {
+            // A store of the same content created the row first
+            return false;
+        }
+    }
+
+    /**
+     * Replaces every count, e.g. after existing files were moved to their
+     * content addresses. Rows for URLs not in the map are removed.
+     *
+     * @param referenceCounts Number of references per file URL
+     */
+    public void recount(Map<String, Long> referenceCounts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            imageBlobRepository.deleteAllInBatch();
+            LocalDateTime now = LocalDateTime.now();
+            imageBlobRepository.saveAll(referenceCounts.entrySet().stream()
+                    .map(entry -> ImageBlob.builder()
+                            .url(entry.getKey())
+                            .refCount(Math.toIntExact(entry.getValue()))
+                            .createdAt(now)
+                            .lastAcquiredAt(now)
+                            .build())
+                    .toList());
+        });
+    }
+
+    private void releaseNow(String fileUrl, Runnable deleteFile) {
+        newTransactionTemplate.executeWithoutResult(status -> imageBlobRepository.findForUpdate(fileUrl)
+                .ifPresent(blob -> {
+                    if (blob.getRefCount() > 1) {
+                        blob.setRefCount(blob.getRefCount() - 1);
+                        return;
+                    }
+                    imageBlobRepository.delete(blob);
+                    imageBlobRepository.flush();
+                    // Still holding the row lock: a concurrent store of this content waits and then rewrites the file
+                    deleteFile.run();
+                }));
+    }
+
+}
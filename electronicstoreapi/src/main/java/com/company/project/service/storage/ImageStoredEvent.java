@@ -0,0 +1,9 @@
+package com.company.project.service.storage;
+
+/**
+ * Published by the storage backends once an uploaded image has been stored
+ *
+ * @param fileUrl URL of the stored original
+ */
+public record ImageStoredEvent(String fileUrl) {
+}
@@ -0,0 +1,156 @@
+package com.company.project.service.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.company.project.exception.FileStorageException;
+import com.company.project.service.FileStorageService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores a request's images concurrently.
+ *
+ * Each file is streamed from its multipart part straight to the storage
+ * backend on a bounded pool, so an upload of n images takes roughly as long
+ * as the slowest one rather than the sum. Callers run this before opening a
+ * transaction and write the returned URLs in one go. If any file fails, the
+ * uploads still queued are dropped, the running ones are waited for, and
+ * every file stored is deleted again before the failure is rethrown.
+ */
+@Slf4j
+@Component
+public class ImageUploader {
+
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final FileStorageService fileStorageService;
+    private final ThreadPoolExecutor uploadExecutor;
+
+    public ImageUploader(FileStorageService fileStorageService,
+            @Value("${file.upload.parallelism:4}") int parallelism) {
+        this.fileStorageService = fileStorageService;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Kept private rather than a bean so it cannot displace the application task executor.
+        // When the queue is full the request thread uploads the file itself.
+        this.uploadExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stores every non-empty file and returns the URLs in request order
+     *
+     * @param images Files from the request; may be null
+     * @return URLs of the stored files
+     * @throws FileStorageException if any file could not be stored; none of
+     *         the files remain stored in that case
+     */
+    public List<String> storeAll(List<MultipartFile> images) {
+        List<MultipartFile> files = images == null ? List.of()
+                : images.stream().filter(image -> !image.isEmpty()).toList();
+        if (files.size() <= 1) {
+            return files.stream().map(fileStorageService::storeFile).toList();
+        }
+
+        List<Future<String>> uploads = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            uploads.add(uploadExecutor.submit(() -> fileStorageService.storeFile(file)));
+        }
+
+        List<String> stored = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (Future<String> upload : uploads) {
+            // Every started upload is waited for, even after a failure, so its file can be deleted
+            while (true) {
+                try {
+                    stored.add(upload.get());
+                    break;
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = asStorageException(ex.getCause());
+                        dropQueued(uploads);
+                    }
+                    break;
+                } catch (CancellationException ex) {
+                    // Dropped from the queue before it started, so nothing was stored
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                    if (failure == null) {
+                        failure = new FileStorageException("Interrupted while storing images", ex);
+                        dropQueued(uploads);
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure != null) {
+            deleteAll(stored);
+            throw failure;
+        }
+        return stored;
+    }
+
+    /**
+     * Deletes stored files on a best-effort basis, e.g. after the database
+     * write that was to reference them failed
+     *
+     * @param fileUrls URLs returned by {@link #storeAll}
+     */
+    public void deleteAll(Collection<String> fileUrls) {
+        for (String fileUrl : fileUrls) {
+            try {
+                fileStorageService.deleteFile(fileUrl);
+            } catch (RuntimeException ex) {
+                log.warn("Could not delete orphaned image {}", fileUrl, ex);
+            }
+        }
+    }
+
+    /**
+     * Removes uploads that have not started yet from the queue. Uploads
+     * already running are left to finish, as cancelling them would not stop
+     * the file from being written.
+     */
+    private void dropQueued(List<Future<String>> uploads) {
+        for (Future<String> upload : uploads) {
+            if (upload instanceof Runnable task && uploadExecutor.remove(task)) {
+                upload.cancel(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    private static RuntimeException asStorageException(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new FileStorageException("Could not store image", cause);
+    }
+}
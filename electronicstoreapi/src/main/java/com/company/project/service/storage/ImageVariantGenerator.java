@@ -0,0 +1,195 @@
+package com.company.project.service.storage;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.company.project.config.ImageVariantProperties;
+import com.company.project.service.FileStorageService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the resized WebP variants of every stored image.
+ *
+ * Runs after the upload has been stored, on a small bounded pool, so the
+ * request that uploaded the image never waits for decoding or encoding. The
+ * original is read back from storage, scaled to fit each configured size
+ * (never enlarged) and written next to it. Sizes are produced largest first,
+ * each one scaled from the previous, so a full-size decode happens only once.
+ * A variant that cannot be produced is logged and skipped; clients fall back
+ * to the original.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private static final String WEBP_MIME_TYPE = "image/webp";
+    private static final String LOSSY_COMPRESSION = "Lossy";
+
+    private final FileStorageService fileStorageService;
+    private final ImageVariantProperties properties;
+    private final ThreadPoolExecutor variantExecutor;
+
+    public ImageVariantGenerator(FileStorageService fileStorageService, ImageVariantProperties properties) {
+        this.fileStorageService = fileStorageService;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Kept private rather than a bean so it cannot displace the application task executor.
+        // When the queue is full the storing thread generates the variants itself.
+        this.variantExecutor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 60,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.variantExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @EventListener
+    public void onImageStored(ImageStoredEvent event) {
+        if (properties.isEnabled() && !properties.getSizes().isEmpty()) {
+            variantExecutor.execute(() -> generate(event.fileUrl()));
+        }
+    }
+
+    /**
+     * Generates and stores every configured variant of an image
+     *
+     * @param fileUrl URL of the stored original
+     * @return URLs of the variants that were stored, keyed by variant name
+     */
+    Map<String, String> generate(String fileUrl) {
+        BufferedImage image;
+        try (InputStream input = fileStorageService.loadFile(fileUrl)) {
+            image = decode(input);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not read image {} to generate variants: {}", fileUrl, ex.getMessage());
+            return Map.of();
+        }
+        if (image == null) {
+            log.debug("No decoder for image {}, skipping variants", fileUrl);
+            return Map.of();
+        }
+
+        List<Map.Entry<String, Integer>> sizes = new ArrayList<>(properties.getSizes().entrySet());
+        sizes.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+        Map<String, String> stored = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> size : sizes) {
+            try {
+                image = fit(image, size.getValue());
+                stored.put(size.getKey(), fileStorageService.storeVariant(fileUrl, size.getKey(), encode(image)));
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Could not generate {} variant of {}: {}", size.getKey(), fileUrl, ex.getMessage());
+            }
+        }
+        log.debug("Stored {} variants of {}", stored.size(), fileUrl);
+        return stored;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        variantExecutor.shutdown();
+    }
+
+    private BufferedImage decode(InputStream input) throws IOException {
+        try (ImageInputStream imageInput = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = imageInput != null ? ImageIO.getImageReaders(imageInput) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                // Dimensions come from the header, before any pixel is decoded
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > properties.getMaxPixels()) {
+                    throw new IOException("Image has " + pixels + " pixels, limit is " + properties.getMaxPixels());
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales an image so its longest edge is at most maxEdge
+     *
+     * Large reductions are done in halving steps; a single bilinear step
+     * skips most source pixels and aliases badly.
+     */
+    private static BufferedImage fit(BufferedImage image, int maxEdge) {
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        // Always redrawn once, which also converts palette and grey images to a type the encoder accepts
+        return resize(current, width, height);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(WEBP_MIME_TYPE);
+        if (!writers.hasNext()) {
+            throw new IOException("No WebP encoder available");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionType(LOSSY_COMPRESSION);
+            param.setCompressionQuality(properties.getQuality());
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,193 @@
+package com.company.project.service.storage;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.project.config.ImageVariantProperties;
+import com.company.project.config.OrphanImageCollectorProperties;
+import com.company.project.dto.response.OrphanImageReport;
+import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.ProductRepository;
+import com.company.project.service.FileStorageService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes stored images that no product or category references.
+ *
+ * Files are left behind by uploads that were never attached to a row, by
+ * crashed uploads and by deletions that failed after commit. Each run takes
+ * the next page of stored files in name order, continuing where the last
+ * run stopped, and checks them against product_images and
+ * categories.image_url a batch at a time, so neither side is ever loaded in
+ * full. Files younger than the grace period are skipped, as an upload is
+ * stored before the row referencing it is saved. Each orphan is checked
+ * again right before it is deleted, content-addressed ones under their
+ * reference count lock, and deletions are paced. Variants go with their
+ * original. In dry-run mode runs only report what they would delete.
+ */
+@Slf4j
+@Component
+public class OrphanImageCollector {
+
+    private final FileStorageService fileStorageService;
+    private final ImageReferenceCounter references;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ImageVariantProperties variantProperties;
+    private final OrphanImageCollectorProperties properties;
+    private final Counter deletedCounter;
+
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    // Name the next scheduled run continues after; null to start from the beginning
+    private volatile String cursor;
+    private long nextDeleteAt;
+
+    public OrphanImageCollector(FileStorageService fileStorageService, ImageReferenceCounter references,
+            ProductRepository productRepository, CategoryRepository categoryRepository,
+            ImageVariantProperties variantProperties, OrphanImageCollectorProperties properties,
+            MeterRegistry meterRegistry) {
+        this.fileStorageService = fileStorageService;
+        this.references = references;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.variantProperties = variantProperties;
+        this.properties = properties;
+        this.deletedCounter = Counter.builder("app.storage.orphans.deleted").register(meterRegistry);
+    }
+
+    /**
+     * Collects the next page of stored files. A run still in progress on
+     * this instance is not joined by a second one.
+     */
+    @Scheduled(initialDelayString = "${file.orphan-collector.initial-delay:10m}",
+            fixedDelayString = "${file.orphan-collector.interval:1h}")
+    public void collect() {
+        if (!properties.isEnabled() || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            OrphanImageReport report = sweep(cursor, properties.getFilesPerRun(), properties.isDryRun());
+            cursor = report.getNextStartAfter();
+            log.info("Orphaned image collection{}: scanned {}, referenced {}, recent {}, orphaned {} ({} bytes), "
+                    + "deleted {}{}", report.isDryRun() ? " (dry run)" : "", report.getScanned(),
+                    report.getReferenced(), report.getRecent(), report.getOrphaned(), report.getOrphanedBytes(),
+                    report.getDeleted(), cursor == null ? "; reached the end of the storage" : "");
+        } catch (RuntimeException ex) {
+            log.warn("Orphaned image collection failed", ex);
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /**
+     * Reports the orphans among a page of stored files without deleting
+     * anything
+     *
+     * @param startAfter Name to continue after, or null to start at the beginning
+     * @param limit      Number of stored files to check
+     */
+    public OrphanImageReport report(String startAfter, int limit) {
+        return sweep(startAfter, limit, true);
+    }
+
+    OrphanImageReport sweep(String startAfter, int limit, boolean dryRun) {
+        List<StoredFile> files = fileStorageService.listFiles(startAfter, limit);
+        Instant cutoff = Instant.now().minus(properties.getGracePeriod());
+        OrphanImageReport report = OrphanImageReport.builder()
+                .dryRun(dryRun)
+                .startAfter(startAfter)
+                .scanned(files.size())
+                .orphanSample(new ArrayList<>())
+                .build();
+
+        for (int from = 0; from < files.size(); from += properties.getBatchSize()) {
+            List<StoredFile> candidates = new ArrayList<>();
+            for (StoredFile file : files.subList(from, Math.min(files.size(), from + properties.getBatchSize()))) {
+                if (variantProperties.isVariantName(file.name())) {
+                    report.setVariants(report.getVariants() + 1);
+                } else if (file.lastModified().isAfter(cutoff)) {
+                    report.setRecent(report.getRecent() + 1);
+                } else {
+                    candidates.add(file);
+                }
+            }
+
+            Set<String> referenced = referencedUrls(candidates.stream().map(StoredFile::url).toList());
+            for (StoredFile file : candidates) {
+                if (referenced.contains(file.url())) {
+                    report.setReferenced(report.getReferenced() + 1);
+                    continue;
+                }
+                report.setOrphaned(report.getOrphaned() + 1);
+                report.setOrphanedBytes(report.getOrphanedBytes() + file.size());
+                if (report.getOrphanSample().size() < properties.getReportSampleSize()) {
+                    report.getOrphanSample().add(file.name());
+                }
+                if (!dryRun && delete(file, cutoff)) {
+                    report.setDeleted(report.getDeleted() + 1);
+                    deletedCounter.increment();
+                }
+            }
+        }
+
+        report.setNextStartAfter(files.size() < limit ? null : files.get(files.size() - 1).name());
+        return report;
+    }
+
+    private boolean delete(StoredFile file, Instant cutoff) {
+        pace();
+        String fileUrl = file.url();
+        try {
+            if (ContentAddress.isContentAddressed(fileUrl)) {
+                return references.deleteIfUnused(fileUrl, LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()),
+                        () -> !isReferenced(fileUrl), () -> fileStorageService.purgeFile(fileUrl));
+            }
+            // Checked again, as a row may have been saved since the batch was looked up
+            if (isReferenced(fileUrl)) {
+                return false;
+            }
+            fileStorageService.purgeFile(fileUrl);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Could not delete orphaned image {}", fileUrl, ex);
+            return false;
+        }
+    }
+
+    // Spaces deletions out to at most max-deletes-per-second
+    private void pace() {
+        long interval = (long) (1_000_000_000L / properties.getMaxDeletesPerSecond());
+        long wait = nextDeleteAt - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        nextDeleteAt = System.nanoTime() + interval;
+    }
+
+    private boolean isReferenced(String fileUrl) {
+        return !referencedUrls(List.of(fileUrl)).isEmpty();
+    }
+
+    private Set<String> referencedUrls(Collection<String> fileUrls) {
+        Set<String> referenced = new HashSet<>();
+        if (!fileUrls.isEmpty()) {
+            referenced.addAll(productRepository.findReferencedImageUrls(fileUrls));
+            referenced.addAll(categoryRepository.findReferencedImageUrls(fileUrls));
+        }
+        return referenced;
+    }
+}
@@ -0,0 +1,14 @@
+package com.company.project.service.storage;
+
+import java.time.Instant;
+
+/**
+ * A file found in the storage backend
+ *
+ * @param name         File name, the last segment of the URL
+ * @param url          URL the file is served at
+ * @param size         Size in bytes
+ * @param lastModified When the file was written
+ */
+public record StoredFile(String name, String url, long size, Instant lastModified) {
+}
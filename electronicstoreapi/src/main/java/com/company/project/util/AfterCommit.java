@@ -0,0 +1,42 @@
+package com.company.project.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Defers side effects until the current transaction has committed, so a
+ * rollback never leaves them applied, e.g. deleting stored files. The
+ * transaction is already committed when the action runs, so a failing
+ * action is logged rather than rethrown.
+ */
+@Slf4j
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or straight
+     * away when there is none
+     *
+     * @param description What the action does, for the log
+     */
+    public static void run(String description, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (RuntimeException ex) {
+                    log.warn("Could not {} after commit", description, ex);
+                }
+            }
+        });
+    }
+}
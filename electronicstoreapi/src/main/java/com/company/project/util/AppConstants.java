@@ -22,6 +22,7 @@ public final class AppConstants {
     public static final int MAX_PAGE_SIZE = 50;
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_PAGE_NUMBER = "0";
+    public static final int MAX_SCROLL_PAGE_SIZE = 200; // Cursor (keyset) pages, used for full catalog walks
 
     // Locale settings
     public static final String DEFAULT_CURRENCY = "INR";
@@ -40,6 +41,7 @@ public final class AppConstants {
     public static final long MAX_REQUEST_SIZE = 10 * 1024 * 1024; // 10MB
     public static final String[] SUPPORTED_IMAGE_FORMATS = { "image/jpeg", "image/png", "image/webp" };
     public static final String FILE_UPLOAD_DIR = "./uploads/images/";
+    public static final String IMAGES_PATH = "/images"; // Public path of locally stored images
     public static final String[] ALLOWED_FILE_EXTENSIONS = { "jpg", "jpeg", "png" };
 
     // Storage options
@@ -0,0 +1,113 @@
+package com.company.project.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV reader for streaming imports, the counterpart of
+ * {@link CsvWriter}
+ *
+ * Quoted values may contain separators, doubled quotes and line breaks. The
+ * quote CsvWriter puts in front of formula-like values is removed again.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine;
+    private int pending = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record
+     *
+     * @return The record's values, or null at the end of the input
+     * @throws IllegalArgumentException if a quoted value is never closed
+     */
+    public List<String> readRow() throws IOException {
+        int c = next();
+        if (c == 0xFEFF && line == 1) {
+            c = next();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted value starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                values.add(unescape(value));
+                value.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                values.add(unescape(value));
+                return values;
+            } else {
+                value.append((char) c);
+            }
+            c = next();
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #readRow()} starts
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    private int next() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static String unescape(StringBuilder value) {
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.project.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+import com.company.project.exception.BadRequestException;
+
+/**
+ * Opaque cursor for keyset pagination
+ * 
+ * Captures the sort key and id of the last row of a slice so the next slice
+ * can seek past it. The ordering name is embedded so a cursor issued for one
+ * ordering is rejected by another.
+ */
+public record KeysetCursor(String ordering, Long id, String value) {
+
+    public String encode() {
+        String raw = ordering + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}
+     * 
+     * @throws BadRequestException if the cursor is malformed or was issued
+     *                             for a different ordering
+     */
+    public static KeysetCursor decode(String cursor, String expectedOrdering) {
+        return decode(cursor, expectedOrdering, value -> value);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}, also checking
+     * that its value parses as the sort key of the ordering
+     * 
+     * @param valueParser Parses the value, e.g. {@code LocalDateTime::parse}
+     * @throws BadRequestException if the cursor is malformed, was issued for a
+     *                             different ordering or holds a value the
+     *                             parser rejects
+     */
+    public static KeysetCursor decode(String cursor, String expectedOrdering, Function<String, ?> valueParser) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        // The value goes last since it may itself contain ':'
+        String[] parts = raw.split(":", 3);
+        if (parts.length != 3 || !parts[0].equals(expectedOrdering)) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            valueParser.apply(parts[2]);
+            return new KeysetCursor(parts[0], Long.valueOf(parts[1]), parts[2]);
+        } catch (RuntimeException e) {
+            // NumberFormatException for the id, e.g. DateTimeParseException for the value
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
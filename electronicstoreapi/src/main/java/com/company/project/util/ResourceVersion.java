@@ -0,0 +1,73 @@
+package com.company.project.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Validators for one version of a resource, used to answer conditional GETs
+ * 
+ * The entity tag is a digest of everything the representation depends on
+ * (ids, audit timestamps, counts), so it changes whenever any of them does.
+ * Audit timestamps carry microsecond precision, which is why they are hashed
+ * in full rather than relying on the second-granular Last-Modified header.
+ * 
+ * @param etag         Strong entity tag, already quoted
+ * @param lastModified Latest modification time among the contributing rows
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    public static Builder builder(String resource) {
+        return new Builder(resource);
+    }
+
+    public static final class Builder {
+        private final String resource;
+        private final StringBuilder components = new StringBuilder();
+        private LocalDateTime lastModified;
+
+        private Builder(String resource) {
+            this.resource = resource;
+        }
+
+        /**
+         * Adds a value the representation depends on
+         */
+        public Builder add(Object component) {
+            components.append(component == null ? "-" : component.toString()).append('|');
+            return this;
+        }
+
+        /**
+         * Adds a modification time; the latest one becomes Last-Modified
+         */
+        public Builder addTimestamp(LocalDateTime timestamp) {
+            add(timestamp);
+            if (timestamp != null && (lastModified == null || timestamp.isAfter(lastModified))) {
+                lastModified = timestamp;
+            }
+            return this;
+        }
+
+        public ResourceVersion build() {
+            byte[] digest = sha256(components.toString());
+            String tag = resource + "-" + HexFormat.of().formatHex(digest, 0, 8);
+            Instant modified = lastModified != null
+                    ? lastModified.atZone(ZoneId.systemDefault()).toInstant()
+                    : Instant.EPOCH;
+            return new ResourceVersion("\"" + tag + "\"", modified);
+        }
+
+        private static byte[] sha256(String value) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
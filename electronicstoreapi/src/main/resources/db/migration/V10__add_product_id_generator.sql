@@ -0,0 +1,35 @@
+-- Product ids are allocated in blocks from this table, so product inserts can be batched.
+-- The stored value is the first id of the next block.
+CREATE TABLE IF NOT EXISTS id_generators (
+    name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'products', next_val FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM products) existing
+WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE name = 'products');
+
+-- Product images keep their position, so a change rewrites only the positions it touches
+ALTER TABLE product_images ADD COLUMN image_order INT NULL;
+
+-- Numbers existing images per product. Their order was never stored, so they are numbered
+-- by URL, which gives the same result on every run
+CREATE TEMPORARY TABLE product_images_numbered AS
+SELECT product_id, image_url,
+       ROW_NUMBER() OVER (PARTITION BY product_id ORDER BY image_url) - 1 AS image_order
+FROM product_images
+WHERE image_order IS NULL;
+
+INSERT INTO product_images (product_id, image_url, image_order)
+SELECT product_id, image_url, image_order FROM product_images_numbered;
+
+-- Only once their numbered copies are in, so a failed insert leaves the images as they were
+-- (the DISTINCT derived table is materialized, which lets MySQL read the table it deletes from)
+DELETE FROM product_images
+WHERE image_order IS NULL
+  AND product_id IN (SELECT product_id FROM (
+      SELECT DISTINCT product_id FROM product_images WHERE image_order IS NOT NULL) numbered);
+
+DROP TEMPORARY TABLE product_images_numbered;
+
+ALTER TABLE product_images ADD PRIMARY KEY (product_id, image_order);
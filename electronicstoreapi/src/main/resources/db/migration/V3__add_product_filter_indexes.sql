@@ -0,0 +1,5 @@
+-- Composite indexes for the product filter query; equality columns first, then the range/sort column
+CREATE INDEX idx_products_status_category_created ON products (status, category_id, created_at);
+CREATE INDEX idx_products_category_created ON products (category_id, created_at);
+CREATE INDEX idx_products_status_price ON products (status, price);
+CREATE INDEX idx_products_status_featured_created ON products (status, featured, created_at);
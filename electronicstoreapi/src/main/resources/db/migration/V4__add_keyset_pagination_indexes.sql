@@ -0,0 +1,4 @@
+-- Indexes backing keyset pagination; InnoDB appends the primary key, covering the (value, id) tiebreak
+CREATE INDEX idx_products_created_at ON products (created_at);
+CREATE INDEX idx_products_name ON products (name);
+CREATE INDEX idx_outlets_name ON outlets (name);
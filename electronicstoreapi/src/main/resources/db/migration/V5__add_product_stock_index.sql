@@ -0,0 +1,2 @@
+-- Index for low-stock queries; InnoDB appends the primary key, matching the (stock, id) ordering
+CREATE INDEX idx_products_stock ON products (stock);
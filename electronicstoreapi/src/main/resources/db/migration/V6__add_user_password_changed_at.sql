@@ -0,0 +1,2 @@
+-- Access tokens issued before the last password change are rejected
+ALTER TABLE users ADD COLUMN password_changed_at DATETIME(6) NULL;
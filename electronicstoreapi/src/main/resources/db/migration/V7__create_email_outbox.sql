@@ -0,0 +1,16 @@
+-- Transactional outbox: emails are queued with the change that triggers them and sent after commit
+CREATE TABLE email_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claim_token VARCHAR(36) NULL,
+    last_error VARCHAR(1000) NULL,
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6) NULL
+);
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
+CREATE INDEX idx_email_outbox_claim ON email_outbox (claim_token);
@@ -0,0 +1,7 @@
+-- Reference counts of content-addressed image files, so a file shared by several products or
+-- categories is only deleted when the last reference goes
+CREATE TABLE image_blobs (
+    url VARCHAR(512) NOT NULL PRIMARY KEY,
+    ref_count INT NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
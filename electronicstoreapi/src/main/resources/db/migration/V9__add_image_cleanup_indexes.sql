@@ -0,0 +1,6 @@
+-- Lets the orphaned image collector skip files a store has just taken a reference to
+ALTER TABLE image_blobs ADD COLUMN last_acquired_at DATETIME(6) NULL;
+
+-- Reference lookups by URL for batches of listed files
+CREATE INDEX idx_product_images_image_url ON product_images (image_url);
+CREATE INDEX idx_categories_image_url ON categories (image_url);
@@ -0,0 +1,102 @@
+package com.company.project.health;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.util.unit.DataSize;
+
+import com.company.project.config.HealthProbeProperties;
+import com.company.project.service.storage.S3StandIn;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+class HealthIndicatorsTest {
+
+    private HealthProbeProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new HealthProbeProperties();
+        properties.setCacheTtl(Duration.ofMinutes(1));
+        properties.setTimeout(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void health_shouldReuseResultUntilTtlExpires() {
+        AtomicInteger checks = new AtomicInteger();
+        CachedHealthIndicator indicator = new CachedHealthIndicator(properties) {
+            @Override
+            protected void doHealthCheck(Health.Builder builder) {
+                checks.incrementAndGet();
+                builder.up();
+            }
+        };
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Status.UP, indicator.health().getStatus());
+        }
+
+        assertEquals(1, checks.get());
+    }
+
+    @Test
+    void health_shouldReportDownWhenCheckHangsAndNotStartAnother() throws Exception {
+        properties.setCacheTtl(Duration.ZERO);
+        properties.setTimeout(Duration.ofMillis(200));
+        AtomicInteger checks = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CachedHealthIndicator indicator = new CachedHealthIndicator(properties) {
+            @Override
+            protected void doHealthCheck(Health.Builder builder) throws Exception {
+                checks.incrementAndGet();
+                release.await(10, TimeUnit.SECONDS);
+                builder.up();
+            }
+        };
+
+        long start = System.nanoTime();
+        Health first = indicator.health();
+        Health second = indicator.health();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertEquals(Status.DOWN, first.getStatus());
+        assertEquals(Status.DOWN, second.getStatus());
+        assertTrue(elapsedMillis < 2000, "probe waited " + elapsedMillis + "ms");
+        assertEquals(1, checks.get());
+    }
+
+    @Test
+    void s3Health_shouldFollowBucketReachability() throws Exception {
+        // Answers HEAD /{bucket} like S3: 200 for the existing bucket, 404 otherwise
+        try (S3StandIn s3StandIn = new S3StandIn();
+                S3AsyncClient s3Client = s3StandIn.client(Long.MAX_VALUE, 8 * 1024 * 1024)) {
+            assertEquals(Status.UP,
+                    new S3HealthIndicator(s3Client, S3StandIn.BUCKET, properties).health().getStatus());
+            assertEquals(Status.DOWN, new S3HealthIndicator(s3Client, "missing", properties).health().getStatus());
+        }
+    }
+
+    @Test
+    void uploadStorageHealth_shouldCheckDirectoryAndFreeSpace(@TempDir Path uploadDir) {
+        assertEquals(Status.UP,
+                new UploadStorageHealthIndicator(uploadDir.toString(), properties).health().getStatus());
+        assertEquals(Status.DOWN, new UploadStorageHealthIndicator(uploadDir.resolve("missing").toString(),
+                properties).health().getStatus());
+
+        properties.setMinFreeDisk(DataSize.ofTerabytes(1024));
+        assertEquals(Status.DOWN,
+                new UploadStorageHealthIndicator(uploadDir.toString(), properties).health().getStatus());
+    }
+}
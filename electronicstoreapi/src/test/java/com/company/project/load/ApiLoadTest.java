@@ -0,0 +1,480 @@
+package com.company.project.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.company.project.entity.User;
+import com.company.project.repository.UserRepository;
+import com.company.project.service.search.ProductSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Load test for the public catalog, outlet, admin write and login endpoints
+ * 
+ * Boots the full application on a random port against an in-memory H2
+ * database in MySQL mode, seeds a production-sized catalog and drives a
+ * weighted mix of requests from a pool of client threads. Latency
+ * percentiles and throughput per operation are printed and written to
+ * target/loadtest-report.json; the test fails when any of them misses the
+ * configured SLO.
+ * 
+ * Tagged "load" and excluded from the default build; run with
+ * mvn -Ploadtest test. Every loadtest.* value below can be overridden with
+ * a system property, e.g. -Dloadtest.threads=32 -Dloadtest.duration-seconds=120.
+ * To compare request execution modes, run it once with and once without
+ * -Dspring.threads.virtual.enabled=true on a Java 21+ runtime at the same
+ * thread count; the report records which mode was active.
+ * 
+ * The report also gives the mean time a request held a JDBC connection
+ * (hikaricp.connections.usage) during the measured run. Run once with
+ * -Dspring.jpa.open-in-view=true to compare against a session held for the
+ * whole request.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.sql.init.mode=never",
+        "spring.mail.username=loadtest",
+        "spring.mail.password=loadtest",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.com.company.project=INFO"
+})
+class ApiLoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final String ADMIN = "loadtest-admin";
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    /**
+     * Request mix; weights are relative
+     */
+    enum Operation {
+        LIST_PRODUCTS(40, Kind.READ),
+        GET_PRODUCT(25, Kind.READ),
+        LIST_CATEGORIES(10, Kind.READ),
+        LIST_OUTLETS(10, Kind.READ),
+        CREATE_PRODUCT(10, Kind.WRITE),
+        LOGIN(5, Kind.LOGIN);
+
+        private final int weight;
+        private final Kind kind;
+
+        Operation(int weight, Kind kind) {
+            this.weight = weight;
+            this.kind = kind;
+        }
+    }
+
+    enum Kind {
+        READ, WRITE, LOGIN
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${loadtest.threads:16}")
+    private int threads;
+
+    @Value("${loadtest.warmup-seconds:10}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.duration-seconds:30}")
+    private int durationSeconds;
+
+    @Value("${loadtest.products:100000}")
+    private int productCount;
+
+    @Value("${loadtest.categories:1000}")
+    private int categoryCount;
+
+    @Value("${loadtest.localities:10000}")
+    private int localityCount;
+
+    @Value("${loadtest.slo.read-p99-ms:250}")
+    private double readP99;
+
+    @Value("${loadtest.slo.read-p999-ms:1000}")
+    private double readP999;
+
+    @Value("${loadtest.slo.write-p99-ms:500}")
+    private double writeP99;
+
+    @Value("${loadtest.slo.login-p99-ms:1500}")
+    private double loginP99;
+
+    @Value("${loadtest.slo.min-throughput:100}")
+    private double minThroughput;
+
+    @Value("${loadtest.slo.max-error-rate:0.001}")
+    private double maxErrorRate;
+
+    @Value("${loadtest.report:target/loadtest-report.json}")
+    private String reportPath;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private List<Long> categoryIds;
+    private String adminToken;
+
+    @Test
+    void mixedTraffic_shouldMeetLatencySlos() throws Exception {
+        seedCatalog();
+        seedUsers();
+        adminToken = login(ADMIN);
+
+        run(Duration.ofSeconds(warmupSeconds));
+        Duration measured = Duration.ofSeconds(durationSeconds);
+        Timer connectionUsage = meterRegistry.get("hikaricp.connections.usage").timer();
+        long borrowsBefore = connectionUsage.count();
+        double heldMsBefore = connectionUsage.totalTime(TimeUnit.MILLISECONDS);
+        Map<Operation, List<LatencyRecorder>> recorders = run(measured);
+        long borrows = connectionUsage.count() - borrowsBefore;
+        ConnectionHold connectionHold = new ConnectionHold(borrows,
+                borrows == 0 ? 0 : (connectionUsage.totalTime(TimeUnit.MILLISECONDS) - heldMsBefore) / borrows);
+
+        Map<String, LatencyRecorder.Summary> summaries = new LinkedHashMap<>();
+        List<LatencyRecorder> all = new ArrayList<>();
+        recorders.forEach((operation, perThread) -> {
+            summaries.put(operation.name(), LatencyRecorder.summarize(perThread, measured.toSeconds()));
+            all.addAll(perThread);
+        });
+        LatencyRecorder.Summary total = LatencyRecorder.summarize(all, measured.toSeconds());
+        summaries.put("TOTAL", total);
+        report(summaries, connectionHold);
+
+        List<String> violations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.Summary summary = summaries.get(operation.name());
+            switch (operation.kind) {
+                case READ -> {
+                    check(violations, operation + " p99", summary.p99Ms(), readP99);
+                    check(violations, operation + " p99.9", summary.p999Ms(), readP999);
+                }
+                case WRITE -> check(violations, operation + " p99", summary.p99Ms(), writeP99);
+                case LOGIN -> check(violations, operation + " p99", summary.p99Ms(), loginP99);
+            }
+            if (summary.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error rate %.4f exceeds %.4f",
+                        operation, summary.errorRate(), maxErrorRate));
+            }
+        }
+        if (total.throughput() < minThroughput) {
+            violations.add(String.format("throughput %.1f req/s is below %.1f req/s", total.throughput(), minThroughput));
+        }
+        assertTrue(violations.isEmpty(), "Load test SLOs missed:\n" + String.join("\n", violations));
+    }
+
+    /**
+     * Runs the request mix on every worker thread until the duration elapses
+     */
+    private Map<Operation, List<LatencyRecorder>> run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Map<Operation, LatencyRecorder>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String user = "loadtest-user-" + i;
+                futures.add(workers.submit(() -> drive(user, deadline)));
+            }
+            Map<Operation, List<LatencyRecorder>> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, LatencyRecorder>> future : futures) {
+                future.get().forEach((operation, recorder) ->
+                        merged.computeIfAbsent(operation, key -> new ArrayList<>()).add(recorder));
+            }
+            return merged;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Map<Operation, LatencyRecorder> drive(String user, long deadline) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        int totalWeight = 0;
+        for (Operation operation : Operation.values()) {
+            totalWeight += operation.weight;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            HttpRequest request = buildRequest(operation, user, random);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                long elapsed = System.nanoTime() - start;
+                if (response.statusCode() < 400) {
+                    recorders.get(operation).record(elapsed);
+                } else {
+                    recorders.get(operation).recordError();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                recorders.get(operation).recordError();
+            }
+        }
+        return recorders;
+    }
+
+    private Operation pick(int roll) {
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    private HttpRequest buildRequest(Operation operation, String user, ThreadLocalRandom random) {
+        return switch (operation) {
+            case LIST_PRODUCTS -> random.nextBoolean()
+                    ? get("/products?page=" + random.nextInt(100) + "&size=20")
+                    : get("/products?categoryId=" + randomCategory(random) + "&size=20");
+            case GET_PRODUCT -> get("/products/" + (1 + random.nextInt(productCount)));
+            case LIST_CATEGORIES -> get("/categories?page=" + random.nextInt(10) + "&size=20");
+            case LIST_OUTLETS -> get("/outlets?page=" + random.nextInt(50) + "&size=20");
+            case CREATE_PRODUCT -> post("/products", String.format(
+                    "{\"name\":\"Load test product %d\",\"description\":\"Created under load\","
+                            + "\"price\":199.00,\"categoryId\":%d,\"stock\":5}",
+                    random.nextLong(1_000_000_000L), randomCategory(random)), adminToken);
+            case LOGIN -> post("/auth/login",
+                    "{\"username\":\"" + user + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        };
+    }
+
+    private long randomCategory(ThreadLocalRandom random) {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1" + path);
+    }
+
+    private String login(String username) throws Exception {
+        HttpResponse<String> response = httpClient.send(post("/auth/login",
+                "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}", null),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("data").path("token").asText();
+    }
+
+    private void check(List<String> violations, String metric, double actual, double limit) {
+        if (actual > limit) {
+            violations.add(String.format("%s %.1f ms exceeds %.1f ms", metric, actual, limit));
+        }
+    }
+
+    private void report(Map<String, LatencyRecorder.Summary> summaries, ConnectionHold connectionHold)
+            throws Exception {
+        System.out.printf("%n%d client connections, %s threads on Java %s%n", threads,
+                Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform", Runtime.version().feature());
+        System.out.printf("%n%-16s %10s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        summaries.forEach((name, summary) -> System.out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                name, summary.requests(), summary.errors(), summary.throughput(),
+                summary.p50Ms(), summary.p99Ms(), summary.p999Ms()));
+        System.out.printf("%nJDBC connections borrowed %d times, held %.2f ms on average (open-in-view %s)%n",
+                connectionHold.borrows(), connectionHold.meanMs(), openInView());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("threads", threads);
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("virtualThreads", Threading.VIRTUAL.isActive(environment));
+        report.put("durationSeconds", durationSeconds);
+        report.put("operations", summaries);
+        report.put("openInView", openInView());
+        report.put("connectionHold", connectionHold);
+        File file = new File(reportPath);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+
+    private boolean openInView() {
+        return environment.getProperty("spring.jpa.open-in-view", Boolean.class, true);
+    }
+
+    /**
+     * Time between borrowing a JDBC connection from the pool and returning it
+     */
+    record ConnectionHold(long borrows, double meanMs) {
+    }
+
+    private void seedCatalog() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // Categories: a tenth are roots, the rest spread across them
+        int rootCount = Math.max(1, categoryCount / 10);
+        List<Object[]> roots = new ArrayList<>();
+        for (int i = 0; i < rootCount; i++) {
+            roots.add(new Object[] { "Category " + i, null, now, now });
+        }
+        insertCategories(roots);
+        List<Long> rootIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+        List<Object[]> children = new ArrayList<>();
+        for (int i = rootCount; i < categoryCount; i++) {
+            children.add(new Object[] { "Category " + i, rootIds.get(i % rootCount), now, now });
+        }
+        insertCategories(children);
+        categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+
+        List<Object[]> products = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < productCount; i++) {
+            products.add(new Object[] { i + 1, "Product " + i, "Seeded product " + i, 100 + (i % 5000),
+                    categoryIds.get(i % categoryIds.size()), i % 50, i % 97 == 0, now, now });
+            if (products.size() == SEED_BATCH_SIZE) {
+                insertProducts(products);
+                products.clear();
+            }
+        }
+        insertProducts(products);
+        // Ids were given explicitly, so products created later continue after them
+        jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE name = 'products'", productCount + 1);
+
+        // Locations: 30 states, 10 localities per city, one outlet per 5 localities
+        for (int i = 0; i < 30; i++) {
+            jdbcTemplate.update("INSERT INTO states (name, code) VALUES (?, ?)",
+                    "State " + i, "" + (char) ('A' + i / 26) + (char) ('A' + i % 26));
+        }
+        List<Long> stateIds = jdbcTemplate.queryForList("SELECT id FROM states ORDER BY id", Long.class);
+        int cityCount = Math.max(1, localityCount / 10);
+        List<Object[]> cities = new ArrayList<>();
+        for (int i = 0; i < cityCount; i++) {
+            cities.add(new Object[] { "City " + i, stateIds.get(i % stateIds.size()) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cities (name, state_id) VALUES (?, ?)", cities);
+        List<Long> cityIds = jdbcTemplate.queryForList("SELECT id FROM cities ORDER BY id", Long.class);
+        List<Object[]> localities = new ArrayList<>();
+        for (int i = 0; i < localityCount; i++) {
+            localities.add(new Object[] { "Locality " + i, String.valueOf(600000 + i), cityIds.get(i % cityIds.size()) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO localities (name, pincode, city_id) VALUES (?, ?, ?)", localities);
+        List<Long> localityIds = jdbcTemplate.queryForList("SELECT id FROM localities ORDER BY id", Long.class);
+        List<Object[]> outlets = new ArrayList<>();
+        for (int i = 0; i < localityIds.size(); i += 5) {
+            outlets.add(new Object[] { "Outlet " + i, "Street " + i, "9999999999", true, localityIds.get(i) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO outlets (name, address, contact_number, is_active, locality_id) "
+                + "VALUES (?, ?, ?, ?, ?)", outlets);
+
+        // The search index was built when the (empty) application started
+        productSearchIndex.rebuild();
+    }
+
+    private void insertCategories(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, parent_id, status, created_at, updated_at, "
+                + "created_by, last_modified_by) VALUES (?, ?, 'ACTIVE', ?, ?, 'loadtest', 'loadtest')", rows);
+    }
+
+    private void insertProducts(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, category_id, stock, featured, "
+                + "status, created_at, updated_at, created_by, last_modified_by) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?, 'loadtest', 'loadtest')", rows);
+    }
+
+    private void seedUsers() {
+        // One account per worker so concurrent logins never contend on refresh tokens
+        String encoded = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        users.add(user(ADMIN, encoded));
+        for (int i = 0; i < threads; i++) {
+            users.add(user("loadtest-user-" + i, encoded));
+        }
+        userRepository.saveAll(users);
+    }
+
+    private User user(String username, String encodedPassword) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@loadtest.local");
+        user.setPassword(encodedPassword);
+        user.setRole(User.Role.ADMIN);
+        user.setStatus(User.Status.ACTIVE);
+        return user;
+    }
+}
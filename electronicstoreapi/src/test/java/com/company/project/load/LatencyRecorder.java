@@ -0,0 +1,61 @@
+package com.company.project.load;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Collects request latencies for one operation on one worker thread
+ * 
+ * Not thread-safe: every worker records into its own instance and the
+ * instances are merged once the run is over, so recording never contends.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    static Summary summarize(Collection<LatencyRecorder> recorders, double seconds) {
+        int total = recorders.stream().mapToInt(recorder -> recorder.size).sum();
+        long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(merged);
+        return new Summary(total, errors, total / seconds,
+                percentileMillis(merged, 50), percentileMillis(merged, 99), percentileMillis(merged, 99.9));
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Latency percentiles in milliseconds and throughput in requests per second
+     */
+    record Summary(long requests, long errors, double throughput, double p50Ms, double p99Ms, double p999Ms) {
+
+        double errorRate() {
+            long attempts = requests + errors;
+            return attempts == 0 ? 0 : (double) errors / attempts;
+        }
+    }
+}
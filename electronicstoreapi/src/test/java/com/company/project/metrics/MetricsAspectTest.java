@@ -0,0 +1,114 @@
+package com.company.project.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.company.project.exception.FileStorageException;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.storage.StoredFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FileStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new StubStorage());
+        factory.addAspect(new MetricsAspect(meterRegistry));
+        storage = factory.getProxy();
+    }
+
+    @Test
+    void storeFile_shouldRecordLatencyAndBytesPerBackend() {
+        storage.storeFile(new MockMultipartFile("file", "fan.jpg", "image/jpeg", new byte[2048]));
+        storage.storeFile(new MockMultipartFile("file", "lamp.jpg", "image/jpeg", new byte[1024]));
+
+        assertEquals(2, meterRegistry.get("app.storage.operations")
+                .tags("backend", "stub", "operation", "store", "outcome", "success").timer().count());
+        assertEquals(3072, meterRegistry.get("app.storage.bytes").tag("backend", "stub").summary().totalAmount());
+    }
+
+    @Test
+    void deleteFile_shouldTagFailuresWithExceptionName() {
+        assertThrows(FileStorageException.class, () -> storage.deleteFile("missing.jpg"));
+
+        assertEquals(1, meterRegistry.get("app.storage.operations")
+                .tags("operation", "delete", "outcome", "FileStorageException").timer().count());
+    }
+
+    @Test
+    void statementCounter_shouldCountPerThread() {
+        StatementCounter counter = new StatementCounter();
+        long before = StatementCounter.current();
+
+        counter.inspect("select 1");
+        counter.inspect("select 2");
+
+        assertEquals(2, StatementCounter.current() - before);
+    }
+
+    static class StubStorage implements FileStorageService {
+
+        @Override
+        public String storeFile(MultipartFile file) {
+            return "stub://" + file.getOriginalFilename();
+        }
+
+        @Override
+        public void deleteFile(String fileUrl) {
+            throw new FileStorageException("Could not delete file. Please try again!");
+        }
+
+        @Override
+        public String getFileType() {
+            return "stub";
+        }
+
+        @Override
+        public InputStream loadFile(String fileUrl) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String storeVariant(String fileUrl, String variant, byte[] content) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, String> getVariantUrls(String fileUrl) {
+            return Map.of();
+        }
+
+        @Override
+        public void retainFile(String fileUrl) {
+        }
+
+        @Override
+        public String copyToContentAddress(String fileUrl) {
+            return fileUrl;
+        }
+
+        @Override
+        public void purgeFile(String fileUrl) {
+        }
+
+        @Override
+        public List<StoredFile> listFiles(String startAfter, int limit) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.company.project.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.dto.response.CursorPage;
+import com.company.project.dto.response.OutletResponse;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.City;
+import com.company.project.entity.Locality;
+import com.company.project.entity.Outlet;
+import com.company.project.entity.Product;
+import com.company.project.entity.State;
+import com.company.project.exception.BadRequestException;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.impl.OutletServiceImpl;
+import com.company.project.service.impl.ProductServiceImpl;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
+import com.company.project.util.KeysetCursor;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Walks product and outlet listings slice by slice and checks that every row
+ * is returned exactly once, including rows that tie on the sort key.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+class KeysetPaginationTest {
+
+    private static final int PRODUCT_COUNT = 25;
+    private static final int SLICE_SIZE = 7;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OutletRepository outletRepository;
+
+    @Autowired
+    private LocalityRepository localityRepository;
+
+    private ProductServiceImpl productService;
+    private OutletServiceImpl outletService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductServiceImpl(productRepository, categoryRepository,
+                mock(FileStorageService.class), mock(ProductSearchIndex.class), mock(CategoryTreeService.class),
+                mock(ImageUploader.class), null);
+        outletService = new OutletServiceImpl(outletRepository, localityRepository);
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setName("Product " + (i % 5));
+            product.setPrice(new BigDecimal("10.00"));
+            product.setStock(1);
+            entityManager.persist(product);
+        }
+
+        State state = new State();
+        state.setName("Kerala");
+        state.setCode("KL");
+        entityManager.persist(state);
+        City city = new City();
+        city.setName("Kochi");
+        city.setState(state);
+        entityManager.persist(city);
+        Locality locality = new Locality();
+        locality.setName("Edappally");
+        locality.setPincode("682024");
+        locality.setCity(city);
+        entityManager.persist(locality);
+        for (int i = 0; i < 9; i++) {
+            Outlet outlet = new Outlet();
+            outlet.setName("Outlet " + (i % 3));
+            outlet.setAddress("Street " + i);
+            outlet.setContactNumber("9999999999");
+            outlet.setLocality(locality);
+            entityManager.persist(outlet);
+        }
+        entityManager.flush();
+
+        // Force ties on the sort key so the id tiebreak is exercised
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Product p SET p.createdAt = :createdAt")
+                .setParameter("createdAt", LocalDateTime.of(2024, 1, 1, 12, 0))
+                .executeUpdate();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void scrollProducts_byCreatedAt_shouldVisitEveryProductOnce() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+        do {
+            CursorPage<ProductResponse> slice = productService.scrollProducts(cursor, SLICE_SIZE, "createdAt");
+            slice.getContent().forEach(product -> ids.add(product.getId()));
+            cursor = slice.getNextCursor();
+            slices++;
+        } while (cursor != null);
+
+        assertEquals(PRODUCT_COUNT, ids.size());
+        assertEquals(PRODUCT_COUNT, ids.stream().distinct().count());
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList()), ids);
+        // One listing and one image query per slice, never a count
+        assertEquals(2L * slices, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void scrollProducts_byName_shouldVisitEveryProductOnce() {
+        List<String> names = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ProductResponse> slice = productService.scrollProducts(cursor, SLICE_SIZE, "name");
+            slice.getContent().forEach(product -> {
+                names.add(product.getName());
+                ids.add(product.getId());
+            });
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(PRODUCT_COUNT, ids.stream().distinct().count());
+        assertEquals(names.stream().sorted().collect(Collectors.toList()), names);
+    }
+
+    @Test
+    void scrollProducts_shouldRejectCursorFromAnotherOrdering() {
+        CursorPage<ProductResponse> slice = productService.scrollProducts(null, SLICE_SIZE, "name");
+
+        assertTrue(slice.isHasNext());
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.scrollProducts(slice.getNextCursor(), SLICE_SIZE, "createdAt"));
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.scrollProducts("not-a-cursor", SLICE_SIZE, "createdAt"));
+    }
+
+    @Test
+    void scrollProducts_shouldRejectCursorWithMalformedTimestamp() {
+        String tampered = new KeysetCursor("createdAt", 1L, "2026-13-45Tnoon").encode();
+
+        assertThrows(BadRequestException.class,
+                () -> productService.scrollProducts(tampered, SLICE_SIZE, "createdAt"));
+    }
+
+    @Test
+    void scrollOutlets_shouldVisitEveryOutletOnceInOneStatementPerSlice() {
+        List<Long> ids = new ArrayList<>();
+        CursorPage<OutletResponse> slice = outletService.scrollOutlets(null, 4);
+        ids.addAll(slice.getContent().stream().map(OutletResponse::getId).toList());
+        while (slice.isHasNext()) {
+            slice = outletService.scrollOutlets(slice.getNextCursor(), 4);
+            ids.addAll(slice.getContent().stream().map(OutletResponse::getId).toList());
+        }
+
+        assertEquals(9, ids.size());
+        assertEquals(9, ids.stream().distinct().count());
+        assertFalse(slice.isHasNext());
+        assertNull(slice.getNextCursor());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,122 @@
+package com.company.project.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.impl.ProductServiceImpl;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that low-stock paging and export are answered by the database
+ * rather than by loading and slicing the whole catalog in memory.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+class LowStockQueryTest {
+
+    private static final int LOW_STOCK_COUNT = 620;
+    private static final int THRESHOLD = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private ProductServiceImpl productService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductServiceImpl(productRepository, categoryRepository,
+                mock(FileStorageService.class), mock(ProductSearchIndex.class), mock(CategoryTreeService.class),
+                mock(ImageUploader.class), null);
+        ReflectionTestUtils.setField(productService, "projectionListingEnabled", true);
+
+        Category category = new Category();
+        category.setName("Fans, Ceiling");
+        entityManager.persist(category);
+        for (int i = 0; i < LOW_STOCK_COUNT; i++) {
+            persistProduct("Low " + i, i % THRESHOLD, category);
+        }
+        for (int i = 0; i < 50; i++) {
+            persistProduct("Plenty " + i, 100 + i, category);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getLowStockProductsPaginated_shouldPageInDatabaseOrderedByStock() {
+        Page<ProductResponse> page = productService.getLowStockProductsPaginated(THRESHOLD, PageRequest.of(2, 20));
+
+        assertEquals(20, page.getContent().size());
+        assertEquals(LOW_STOCK_COUNT, page.getTotalElements());
+        List<Integer> stock = page.getContent().stream().map(ProductResponse::getStock).toList();
+        assertEquals(stock.stream().sorted().toList(), stock);
+        assertTrue(statistics.getPrepareStatementCount() <= 3);
+    }
+
+    @Test
+    void exportLowStockProducts_shouldStreamEveryRowInBatches() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        productService.exportLowStockProducts(THRESHOLD, writer);
+
+        String[] lines = writer.toString().split("\r\n");
+        assertEquals("id,name,category,stock,price,status", lines[0]);
+        assertEquals(LOW_STOCK_COUNT + 1, lines.length);
+        assertTrue(lines[1].contains(",\"Fans, Ceiling\",0,"));
+        // Two keyset batches; the total is never counted and the table is never loaded at once
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private void persistProduct(String name, int stock, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(stock);
+        product.setCategory(category);
+        entityManager.persist(product);
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.project.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.entity.Product;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the statements product writes issue: inserts go out in JDBC
+ * batches and image changes only touch the positions that changed.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+class ProductBatchWriteTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_shouldInsertProductsAndImagesInBatches() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            products.add(product("Product " + i, "front.jpg", "side.jpg", "box.jpg"));
+        }
+        productRepository.saveAll(products);
+        entityManager.flush();
+
+        // 200 product rows and 600 image rows, 50 to a batch, plus the id block allocations
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 30, "Expected at most 30 statements but was " + statements);
+        for (int i = 1; i < products.size(); i++) {
+            assertEquals(products.get(i - 1).getId() + 1, products.get(i).getId());
+        }
+    }
+
+    @Test
+    void addingAnImage_shouldOnlyInsertTheNewRow() {
+        Long id = persisted("front.jpg", "side.jpg", "box.jpg");
+
+        productRepository.findById(id).orElseThrow().getImages().add("back.jpg");
+        statistics.clear();
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        assertEquals(List.of("front.jpg", "side.jpg", "box.jpg", "back.jpg"),
+                productRepository.findById(id).orElseThrow().getImages());
+    }
+
+    @Test
+    void replaceImages_shouldOnlyWriteThePositionsThatChanged() {
+        Long id = persisted("front.jpg", "side.jpg", "box.jpg");
+
+        productRepository.findById(id).orElseThrow().replaceImages(List.of("front.jpg", "top.jpg"));
+        statistics.clear();
+        entityManager.flush();
+
+        // One delete for the dropped position and one update for the changed one
+        assertEquals(2, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        assertEquals(List.of("front.jpg", "top.jpg"), productRepository.findById(id).orElseThrow().getImages());
+    }
+
+    private Long persisted(String... images) {
+        Long id = entityManager.persistAndFlush(product("Lamp", images)).getId();
+        entityManager.clear();
+        return id;
+    }
+
+    private static Product product(String name, String... images) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(5);
+        product.setImages(new ArrayList<>(List.of(images)));
+        return product;
+    }
+}
@@ -0,0 +1,213 @@
+package com.company.project.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.dto.request.ProductFilter;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.exception.BadRequestException;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.impl.ProductServiceImpl;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that every criterion of {@link ProductFilter} is applied together
+ * in one page query rather than one branch winning over the others.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+class ProductFilterQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private ProductServiceImpl productService;
+    private Statistics statistics;
+    private Category fans;
+    private Category ceilingFans;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductServiceImpl(productRepository, categoryRepository,
+                mock(FileStorageService.class), mock(ProductSearchIndex.class),
+                new CategoryTreeService(categoryRepository), mock(ImageUploader.class), null);
+        ReflectionTestUtils.setField(productService, "projectionListingEnabled", true);
+
+        fans = persistCategory("Fans", null);
+        ceilingFans = persistCategory("Ceiling Fans", fans);
+        Category lighting = persistCategory("Lighting", null);
+
+        persistProduct("Breeze Fan", fans, "1500.00", 4, Product.Status.ACTIVE, true);
+        persistProduct("Breeze Fan Pro", fans, "3200.00", 0, Product.Status.ACTIVE, false);
+        persistProduct("Breeze Fan Mini", fans, "900.00", 7, Product.Status.INACTIVE, false);
+        persistProduct("Breeze Ceiling Fan", ceilingFans, "2100.00", 3, Product.Status.ACTIVE, false);
+        persistProduct("Breeze Lamp", lighting, "1200.00", 9, Product.Status.ACTIVE, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void keywordSearch_shouldStillApplyCategoryAndStatus() {
+        Page<ProductResponse> page = productService.searchProducts("breeze", fans.getId(), Product.Status.ACTIVE,
+                PageRequest.of(0, 10, Sort.by("name")));
+
+        assertEquals(List.of("Breeze Fan", "Breeze Fan Pro"), names(page));
+    }
+
+    @Test
+    void filterProducts_shouldCombineAllCriteria() {
+        ProductFilter filter = ProductFilter.builder()
+                .keyword("fan")
+                .categoryId(fans.getId())
+                .includeSubcategories(true)
+                .status(Product.Status.ACTIVE)
+                .minPrice(new BigDecimal("1000"))
+                .maxPrice(new BigDecimal("3000"))
+                .inStock(true)
+                .build();
+
+        Page<ProductResponse> page = productService.filterProducts(filter, PageRequest.of(0, 10, Sort.by("name")));
+
+        assertEquals(List.of("Breeze Ceiling Fan", "Breeze Fan"), names(page));
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void filterProducts_shouldRestrictToExactCategoryByDefault() {
+        ProductFilter filter = ProductFilter.builder()
+                .categoryId(fans.getId())
+                .build();
+
+        Page<ProductResponse> page = productService.filterProducts(filter, PageRequest.of(0, 10));
+
+        assertEquals(3, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(p -> p.getCategory().getId().equals(fans.getId())));
+    }
+
+    @Test
+    void filterProducts_shouldFilterFeaturedAndOutOfStock() {
+        Page<ProductResponse> featured = productService.filterProducts(
+                ProductFilter.builder().featured(true).build(), PageRequest.of(0, 10, Sort.by("name")));
+        Page<ProductResponse> outOfStock = productService.filterProducts(
+                ProductFilter.builder().inStock(false).build(), PageRequest.of(0, 10));
+
+        assertEquals(List.of("Breeze Fan", "Breeze Lamp"), names(featured));
+        assertEquals(List.of("Breeze Fan Pro"), names(outOfStock));
+    }
+
+    @Test
+    void keywordWithFilters_shouldStayOneQueryWithRequestedSort() {
+        ProductSearchIndex searchIndex = new ProductSearchIndex(productRepository);
+        searchIndex.rebuild();
+        productService = new ProductServiceImpl(productRepository, categoryRepository,
+                mock(FileStorageService.class), searchIndex, new CategoryTreeService(categoryRepository),
+                mock(ImageUploader.class), null);
+        ReflectionTestUtils.setField(productService, "projectionListingEnabled", true);
+        statistics.clear();
+
+        ProductFilter filter = ProductFilter.builder()
+                .keyword("breeze")
+                .featured(true)
+                .build();
+        Page<ProductResponse> page = productService.filterProducts(filter,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")));
+
+        assertEquals(List.of("Breeze Lamp", "Breeze Fan"), names(page));
+        assertEquals(2, page.getTotalElements());
+        // Page query plus batched image query, however many products the keyword matches
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void filterProducts_shouldRejectSpecificationKeyOutsideJsonPath() {
+        ProductFilter filter = ProductFilter.builder()
+                .specifications(Map.of("color\") OR 1=1 --", "black"))
+                .build();
+
+        assertThrows(BadRequestException.class,
+                () -> productService.filterProducts(filter, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void filterProducts_shouldReadPageInSingleStatement() {
+        ProductFilter filter = ProductFilter.builder()
+                .categoryId(ceilingFans.getId())
+                .status(Product.Status.ACTIVE)
+                .minPrice(new BigDecimal("100"))
+                .build();
+
+        productService.filterProducts(filter, PageRequest.of(0, 10));
+
+        // Page query plus batched image query; the count is skipped for a partial first page
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private List<String> names(Page<ProductResponse> page) {
+        return page.getContent().stream()
+                .map(ProductResponse::getName)
+                .collect(Collectors.toList());
+    }
+
+    private Category persistCategory(String name, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        category.setParentCategory(parent);
+        return entityManager.persist(category);
+    }
+
+    private void persistProduct(String name, Category category, String price, int stock, Product.Status status,
+            boolean featured) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setStock(stock);
+        product.setStatus(status);
+        product.setFeatured(featured);
+        product.setCategory(category);
+        entityManager.persist(product);
+    }
+}
@@ -0,0 +1,146 @@
+package com.company.project.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.impl.ProductServiceImpl;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Regression test guarding the number of SQL statements issued per listing
+ * page: one page query, one count query and one batched image query.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+class ProductListingQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private ProductServiceImpl productService;
+    private Statistics statistics;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductServiceImpl(productRepository, categoryRepository,
+                mock(FileStorageService.class), mock(ProductSearchIndex.class), mock(CategoryTreeService.class),
+                mock(ImageUploader.class), null);
+        ReflectionTestUtils.setField(productService, "projectionListingEnabled", true);
+
+        Category other = persistCategory("Lighting");
+        category = persistCategory("Fans");
+        for (int i = 0; i < 50; i++) {
+            persistProduct("Product " + i, i % 2 == 0 ? category : other);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllProducts_shouldRunConstantNumberOfStatements() {
+        Page<ProductResponse> page = productService.getAllProducts(
+                PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(50, page.getTotalElements());
+        assertPageFullyMapped(page);
+        assertStatementCount();
+    }
+
+    @Test
+    void getProductsByCategory_shouldRunConstantNumberOfStatements() {
+        Page<ProductResponse> page = productService.getProductsByCategory(category.getId(),
+                PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(25, page.getTotalElements());
+        assertPageFullyMapped(page);
+        assertStatementCount();
+    }
+
+    @Test
+    void searchProducts_shouldRunConstantNumberOfStatements() {
+        Page<ProductResponse> page = productService.searchProducts("product", null, null,
+                PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertPageFullyMapped(page);
+        assertStatementCount();
+    }
+
+    private void assertPageFullyMapped(Page<ProductResponse> page) {
+        for (ProductResponse response : page.getContent()) {
+            assertEquals(3, response.getImages().size());
+            assertTrue(response.getCategory() != null && response.getCategory().getName() != null);
+        }
+    }
+
+    private void assertStatementCount() {
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= MAX_STATEMENTS_PER_PAGE,
+                "Expected at most " + MAX_STATEMENTS_PER_PAGE + " statements per page but was " + statements);
+    }
+
+    private Category persistCategory(String name) {
+        Category newCategory = new Category();
+        newCategory.setName(name);
+        return entityManager.persist(newCategory);
+    }
+
+    private void persistProduct(String name, Category productCategory) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(5);
+        product.setCategory(productCategory);
+        product.setImages(List.of(name + "-1.jpg", name + "-2.jpg", name + "-3.jpg"));
+        entityManager.persist(product);
+    }
+}
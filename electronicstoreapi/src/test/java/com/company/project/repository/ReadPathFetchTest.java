@@ -0,0 +1,335 @@
+package com.company.project.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.dto.response.AddressResponse;
+import com.company.project.dto.response.CategoryResponse;
+import com.company.project.dto.response.OutletResponse;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.Address;
+import com.company.project.entity.Category;
+import com.company.project.entity.City;
+import com.company.project.entity.Locality;
+import com.company.project.entity.Outlet;
+import com.company.project.entity.Product;
+import com.company.project.entity.State;
+import com.company.project.entity.User;
+import com.company.project.security.UserStatusCache;
+import com.company.project.service.AddressService;
+import com.company.project.service.CategoryService;
+import com.company.project.service.CityService;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.LocalityService;
+import com.company.project.service.OutletService;
+import com.company.project.service.ProductService;
+import com.company.project.service.UserService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.impl.AddressServiceImpl;
+import com.company.project.service.impl.CategoryServiceImpl;
+import com.company.project.service.impl.CityServiceImpl;
+import com.company.project.service.impl.LocalityServiceImpl;
+import com.company.project.service.impl.OutletServiceImpl;
+import com.company.project.service.impl.ProductServiceImpl;
+import com.company.project.service.impl.UserServiceImpl;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Calls every entity-backed read path the way a request does with
+ * open-in-view off: no session around the call, and the result serialized
+ * afterwards. A lazy association a read path forgot to fetch throws a
+ * LazyInitializationException and fails the test. Lists that used to load
+ * their many-to-one chains row by row are also held to a fixed number of
+ * statements.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never",
+        "product.listing.projection-enabled=false"
+})
+@Import({ AuditConfig.class, CategoryServiceImpl.class, ProductServiceImpl.class, OutletServiceImpl.class,
+        AddressServiceImpl.class, CityServiceImpl.class, LocalityServiceImpl.class, UserServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadPathFetchTest {
+
+    private static final int OUTLETS = 6;
+
+    @MockitoBean
+    private FileStorageService fileStorageService;
+
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private CategoryTreeService categoryTreeService;
+
+    @MockitoBean
+    private ImageUploader imageUploader;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OutletService outletService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private CityService cityService;
+
+    @Autowired
+    private LocalityService localityService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private LocalityRepository localityRepository;
+
+    @Autowired
+    private OutletRepository outletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private Statistics statistics;
+    private State state;
+    private City city;
+    private Locality locality;
+    private Outlet outlet;
+    private User user;
+    private Address address;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        state = stateRepository.save(State.builder().name("Kerala").code("KL").build());
+        city = new City();
+        city.setName("Kochi");
+        city.setState(state);
+        city = cityRepository.save(city);
+        for (int i = 0; i < OUTLETS; i++) {
+            Locality newLocality = localityRepository.save(Locality.builder()
+                    .name("Locality " + i)
+                    .pincode("68200" + i)
+                    .city(city)
+                    .build());
+            Outlet newOutlet = new Outlet();
+            newOutlet.setName("Outlet " + i);
+            newOutlet.setAddress("Main Road");
+            newOutlet.setContactNumber("0484000000" + i);
+            newOutlet.setOpeningTime(LocalTime.of(9, 0));
+            newOutlet.setClosingTime(LocalTime.of(21, 0));
+            newOutlet.setLocality(newLocality);
+            outlet = outletRepository.save(newOutlet);
+            locality = newLocality;
+        }
+
+        user = new User();
+        user.setUsername("reader");
+        user.setEmail("reader@example.com");
+        user.setPassword("secret");
+        user.setRole(User.Role.ADMIN);
+        user = userRepository.save(user);
+        for (int i = 0; i < 3; i++) {
+            address = addressRepository.save(Address.builder()
+                    .addressLine1("House " + i)
+                    .locality(locality)
+                    .user(user)
+                    .isDefault(i == 0)
+                    .contactName("Reader")
+                    .contactPhone("9999999999")
+                    .addressType(Address.AddressType.HOME)
+                    .build());
+        }
+
+        Category parent = new Category();
+        parent.setName("Appliances");
+        parent = categoryRepository.save(parent);
+        category = new Category();
+        category.setName("Fans");
+        category.setParentCategory(parent);
+        category = categoryRepository.save(category);
+        Category child = new Category();
+        child.setName("Ceiling Fans");
+        child.setParentCategory(category);
+        categoryRepository.save(child);
+        for (int i = 0; i < 3; i++) {
+            Product newProduct = new Product();
+            newProduct.setName("Fan " + i);
+            newProduct.setPrice(new BigDecimal("1999.00"));
+            newProduct.setStock(i + 1);
+            newProduct.setCategory(category);
+            newProduct.setImages(List.of("fan-" + i + "-front.jpg", "fan-" + i + "-side.jpg"));
+            product = productRepository.save(newProduct);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM categories WHERE parent_id IS NOT NULL AND id NOT IN "
+                + "(SELECT DISTINCT parent_id FROM categories WHERE parent_id IS NOT NULL)");
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "product_images", "products", "addresses", "users",
+                "outlets", "localities", "cities", "states");
+        jdbcTemplate.update("DELETE FROM categories WHERE parent_id IS NOT NULL");
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "categories");
+    }
+
+    @Test
+    void categoryById_shouldIncludeParentChildrenAndProducts() throws JsonProcessingException {
+        CategoryResponse response = render(categoryService.getCategoryById(category.getId()));
+
+        assertEquals("Appliances", response.getParentCategory().getName());
+        assertEquals("Ceiling Fans", response.getSubCategories().get(0).getName());
+        assertEquals(3, response.getProducts().size());
+        assertStatements(2);
+    }
+
+    @Test
+    void productById_shouldIncludeCategoryAndImages() throws JsonProcessingException {
+        ProductResponse response = render(productService.getProductById(product.getId()));
+
+        assertEquals("Fans", response.getCategory().getName());
+        assertEquals(List.of("fan-2-front.jpg", "fan-2-side.jpg"), response.getImages());
+        assertStatements(1);
+    }
+
+    @Test
+    void productEntityListings_shouldIncludeCategoryAndImages() throws JsonProcessingException {
+        List<ProductResponse> page = render(productService.getProductsByCategory(category.getId(),
+                PageRequest.of(0, 10)).getContent());
+        List<ProductResponse> lowStock = render(productService.getLowStockProducts(3));
+
+        assertEquals(3, page.size());
+        assertEquals(2, lowStock.size());
+        for (ProductResponse response : page) {
+            assertEquals("Fans", response.getCategory().getName());
+            assertEquals(2, response.getImages().size());
+        }
+        assertEquals(2, lowStock.get(0).getImages().size());
+    }
+
+    @Test
+    void outletReads_shouldIncludeLocationChainInOneStatement() throws JsonProcessingException {
+        List<OutletResponse> outlets = render(outletService.getAllActiveOutlets());
+        assertEquals(OUTLETS, outlets.size());
+        assertEquals("Kerala", outlets.get(0).getState().getName());
+        assertStatements(1);
+
+        render(outletService.getOutletsByCityId(city.getId()));
+        render(outletService.getOutletsByStateId(state.getId()));
+        render(outletService.getOutletsByLocalityId(locality.getId()));
+        render(outletService.getAllOutlets(0, 10).getContent());
+        assertEquals("Kochi", render(outletService.getOutletById(outlet.getId())).getCity().getName());
+    }
+
+    @Test
+    void addressReads_shouldIncludeLocationChain() throws JsonProcessingException {
+        List<AddressResponse> addresses = render(addressService.getUserAddresses(user.getId()));
+        assertEquals(3, addresses.size());
+        assertEquals("Kerala", addresses.get(0).getStateName());
+        // The user, then the addresses with their location chain
+        assertStatements(2);
+
+        assertTrue(render(addressService.getDefaultAddress(user.getId())).isDefault());
+        assertEquals("Kochi", render(addressService.getAddressById(address.getId())).getCityName());
+    }
+
+    @Test
+    void cityAndLocalityReads_shouldIncludeParentsInOneStatement() throws JsonProcessingException {
+        assertEquals("Kerala", render(cityService.getAllCities()).get(0).getState().getName());
+        assertStatements(1);
+        statistics.clear();
+        assertEquals(OUTLETS, render(localityService.getAllLocalities()).size());
+        assertStatements(1);
+
+        render(cityService.getCityById(city.getId()));
+        render(cityService.getCitiesByState(state.getId()));
+        render(localityService.getLocalityById(locality.getId()));
+        render(localityService.getLocalitiesByCity(city.getId()));
+    }
+
+    @Test
+    void users_shouldSerializeWithoutTouchingAddresses() throws JsonProcessingException {
+        List<User> users = userService.getAllUsers();
+
+        String json = objectMapper.writeValueAsString(users);
+        assertTrue(json.contains("\"username\":\"reader\""));
+        assertNotNull(userService.getUserById(user.getId()));
+    }
+
+    private <T> T render(T response) throws JsonProcessingException {
+        // Serializing walks the whole response, as the message converter does
+        objectMapper.writeValueAsString(response);
+        return response;
+    }
+
+    private void assertStatements(long expected) {
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+}
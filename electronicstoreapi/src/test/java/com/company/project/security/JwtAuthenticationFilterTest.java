@@ -1,15 +1,30 @@
 package com.company.project.security;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.project.entity.User;
+
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -20,6 +35,8 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
     @Mock
+    private UserStatusCache userStatusCache;
+    @Mock
     private HttpServletRequest request;
     @Mock
     private HttpServletResponse response;
@@ -33,7 +50,13 @@ class JwtAuthenticationFilterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userStatusCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -43,7 +66,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(any());
+        verify(jwtService, never()).parseAccessToken(any());
     }
 
     @Test
@@ -52,13 +75,94 @@ class JwtAuthenticationFilterTest {
         String username = "user@example.com";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(jwtService.parseAccessToken(token)).thenReturn(legacyToken(username));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(token, userDetails)).thenReturn(true);
+        when(userDetails.isEnabled()).thenReturn(true);
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        verify(filterChain).doFilter(request, response);
+        verify(jwtService, times(1)).parseAccessToken(token);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void shouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessValidation", true);
+        when(request.getHeader("Authorization")).thenReturn("Bearer claims.jwt.token");
+        when(jwtService.parseAccessToken("claims.jwt.token")).thenReturn(claimsToken("admin", Instant.now()));
+        when(userStatusCache.get("admin"))
+                .thenReturn(new UserStatusCache.UserStatus(1L, User.Role.ADMIN, User.Status.ACTIVE, null));
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldRejectTokenOfDisabledUser() throws Exception {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessValidation", true);
+        when(request.getHeader("Authorization")).thenReturn("Bearer claims.jwt.token");
+        when(jwtService.parseAccessToken("claims.jwt.token")).thenReturn(claimsToken("admin", Instant.now()));
+        when(userStatusCache.get("admin"))
+                .thenReturn(new UserStatusCache.UserStatus(1L, User.Role.ADMIN, User.Status.INACTIVE, null));
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldRejectTokenIssuedBeforePasswordChange() throws Exception {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessValidation", true);
+        LocalDateTime changedAt = LocalDateTime.now();
+        Instant issuedAt = changedAt.minusMinutes(5).atZone(ZoneId.systemDefault()).toInstant();
+        when(request.getHeader("Authorization")).thenReturn("Bearer claims.jwt.token");
+        when(jwtService.parseAccessToken("claims.jwt.token")).thenReturn(claimsToken("admin", issuedAt));
+        when(userStatusCache.get("admin"))
+                .thenReturn(new UserStatusCache.UserStatus(1L, User.Role.ADMIN, User.Status.ACTIVE, changedAt));
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldContinueUnauthenticatedOnInvalidToken() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer garbage");
+        when(jwtService.parseAccessToken("garbage")).thenThrow(new MalformedJwtException("bad token"));
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService, userStatusCache);
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).isTokenValid(token, userDetails);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldNotFilterImageRequests() throws Exception {
+        when(request.getContextPath()).thenReturn("/api/v1");
+        when(request.getRequestURI()).thenReturn("/api/v1/images/photo.jpg");
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid.jwt.token");
+
+        jwtAuthenticationFilter.doFilter(request, response, filterChain);
+
+        verifyNoInteractions(jwtService, userDetailsService, userStatusCache);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    private AccessToken legacyToken(String username) {
+        Instant now = Instant.now();
+        return new AccessToken(username, null, null, null, now, now.plusSeconds(3600));
+    }
+
+    private AccessToken claimsToken(String username, Instant issuedAt) {
+        return new AccessToken(username, 1L, "ADMIN", "ACTIVE", issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.project.security;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.company.project.config.JwtKeyProperties;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenCodecTest {
+
+    private static final String LEGACY_SECRET = "V1R5cUI0TUE3RDdTbkhGcXFkSktHV3d0WWVKY3ZXM2U1UEQyNGxLRjN3cQ==";
+    private static final String KEY_A = "YWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWE=";
+    private static final String KEY_B = "YmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmJiYmI=";
+
+    @Test
+    void shouldRoundTripClaims() {
+        JwtTokenCodec codec = codec(null, Map.of());
+
+        Claims claims = codec.verify(sign(codec, "admin", 60_000));
+
+        assertEquals("admin", claims.getSubject());
+        assertEquals("ADMIN", claims.get("role", String.class));
+    }
+
+    @Test
+    void shouldAcceptTokensFromPreviousKeyAfterRotation() {
+        String legacyToken = sign(codec(null, Map.of()), "legacy", 60_000);
+        String tokenA = sign(codec("a", Map.of("a", KEY_A)), "alice", 60_000);
+
+        JwtTokenCodec rotated = codec("b", Map.of("a", KEY_A, "b", KEY_B));
+
+        assertEquals("legacy", rotated.verify(legacyToken).getSubject());
+        assertEquals("alice", rotated.verify(tokenA).getSubject());
+        assertEquals("bob", rotated.verify(sign(rotated, "bob", 60_000)).getSubject());
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithRetiredKey() {
+        String tokenA = sign(codec("a", Map.of("a", KEY_A)), "alice", 60_000);
+
+        JwtTokenCodec retired = codec("b", Map.of("b", KEY_B));
+
+        assertThrows(JwtException.class, () -> retired.verify(tokenA));
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        JwtTokenCodec codec = codec(null, Map.of());
+
+        assertThrows(ExpiredJwtException.class, () -> codec.verify(sign(codec, "admin", -60_000)));
+    }
+
+    @Test
+    void shouldFailFastOnUnknownActiveKey() {
+        assertThrows(IllegalStateException.class, () -> codec("missing", Map.of("a", KEY_A)));
+    }
+
+    private JwtTokenCodec codec(String activeKeyId, Map<String, String> keys) {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setSecret(LEGACY_SECRET);
+        properties.setActiveKeyId(activeKeyId);
+        properties.getKeys().putAll(keys);
+        return new JwtTokenCodec(properties);
+    }
+
+    private String sign(JwtTokenCodec codec, String subject, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return codec.sign(subject, Map.of("role", "ADMIN"), new Date(now), new Date(now + ttlMillis));
+    }
+}
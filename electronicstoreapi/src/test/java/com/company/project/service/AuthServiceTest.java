@@ -1,26 +1,36 @@
 package com.company.project.service;
 
 import com.company.project.dto.request.LoginRequest;
+import com.company.project.dto.request.PasswordChangeRequest;
 import com.company.project.dto.response.AuthResponse;
+import com.company.project.entity.PasswordResetToken;
 import com.company.project.entity.RefreshToken;
 import com.company.project.entity.User;
 import com.company.project.repository.PasswordResetTokenRepository;
 import com.company.project.repository.UserRepository;
 import com.company.project.security.JwtService;
+import com.company.project.security.UserStatusCache;
 import com.company.project.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AuthServiceTest {
@@ -46,6 +56,9 @@ class AuthServiceTest {
     @Mock
     private PasswordResetTokenRepository passwordResetTokenRepository;
     
+    @Mock
+    private UserStatusCache userStatusCache;
+    
     @Mock
     private Authentication authentication;
     
@@ -62,10 +75,17 @@ class AuthServiceTest {
             userRepository,
             passwordEncoder,
             emailService,
-            passwordResetTokenRepository
+            passwordResetTokenRepository,
+            userStatusCache
         );
     }
     
+    @AfterEach
+    void tearDown() {
+        // login() stores the authentication; don't leak it into other test classes
+        SecurityContextHolder.clearContext();
+    }
+    
     @Test
     void loginShouldReturnAuthResponse() {
         // Arrange
@@ -99,4 +119,48 @@ class AuthServiceTest {
         assertEquals("ADMIN", response.getRole());
         verify(userRepository).save(user);
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void changePasswordShouldRevokeOutstandingTokens() {
+        // Arrange
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("admin");
+        user.setPassword("encoded-old");
+        PasswordChangeRequest request = new PasswordChangeRequest();
+        request.setCurrentPassword("old-password");
+        request.setNewPassword("new-password");
+        request.setConfirmPassword("new-password");
+        
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("old-password", "encoded-old")).thenReturn(true);
+        when(passwordEncoder.encode("new-password")).thenReturn("encoded-new");
+        
+        // Act
+        authService.changePassword("admin", request);
+        
+        // Assert
+        assertEquals("encoded-new", user.getPassword());
+        assertNotNull(user.getPasswordChangedAt());
+        verify(userStatusCache).evict("admin");
+        verify(refreshTokenService).deleteByUserId(1L);
+    }
+    
+    @Test
+    void sendPasswordResetEmailShouldQueueEmailWithToken() {
+        // Arrange
+        User user = new User();
+        user.setUsername("admin");
+        user.setEmail("admin@example.com");
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(user));
+        
+        // Act
+        authService.sendPasswordResetEmail("admin@example.com");
+        
+        // Assert
+        ArgumentCaptor<PasswordResetToken> token = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(passwordResetTokenRepository).save(token.capture());
+        verify(emailService).sendEmail(eq("admin@example.com"), eq("Password Reset Request"),
+            contains("token=" + token.getValue().getToken()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.company.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.company.project.config.CacheConfig;
+import com.company.project.config.LocalCacheProperties;
+import com.company.project.dto.request.StateRequest;
+import com.company.project.dto.response.CacheStatsResponse;
+import com.company.project.entity.State;
+import com.company.project.repository.StateRepository;
+import com.company.project.service.impl.CacheServiceImpl;
+import com.company.project.service.impl.StateServiceImpl;
+
+/**
+ * Runs a service behind the real cache configuration to check that reads are
+ * served from the cache, mutations evict it and the counters add up.
+ */
+@SpringJUnitConfig({ CacheConfig.class, LocalCacheProperties.class, StateServiceImpl.class,
+        CacheServiceImpl.class })
+class CacheEvictionTest {
+
+    @MockitoBean
+    private StateRepository stateRepository;
+
+    @Autowired
+    private StateService stateService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.clearAllCaches();
+
+        State state = new State();
+        state.setId(1L);
+        state.setName("Kerala");
+        when(stateRepository.findById(1L)).thenReturn(Optional.of(state));
+        when(stateRepository.save(any(State.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void repeatedReads_shouldHitRepositoryOnce() {
+        CacheStatsResponse before = cacheService.getCacheStats(CacheConfig.STATES);
+
+        stateService.getStateById(1L);
+        stateService.getStateById(1L);
+        stateService.getStateById(1L);
+
+        verify(stateRepository, times(1)).findById(1L);
+        CacheStatsResponse after = cacheService.getCacheStats(CacheConfig.STATES);
+        assertEquals(2, after.getHitCount() - before.getHitCount());
+        assertEquals(1, after.getMissCount() - before.getMissCount());
+        assertEquals(1, after.getSize());
+    }
+
+    @Test
+    void mutation_shouldEvictCachedReads() {
+        stateService.getStateById(1L);
+
+        StateRequest request = new StateRequest();
+        request.setName("Tamil Nadu");
+        request.setCode("TN");
+        stateService.createState(request);
+        stateService.getStateById(1L);
+
+        verify(stateRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void clearCache_shouldDropEntries() {
+        stateService.getStateById(1L);
+
+        cacheService.clearCache(CacheConfig.STATES);
+        stateService.getStateById(1L);
+
+        verify(stateRepository, times(2)).findById(1L);
+    }
+}
@@ -1,6 +1,7 @@
 package com.company.project.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -15,22 +16,28 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import com.company.project.dto.request.CategoryRequest;
 import com.company.project.dto.response.CategoryResponse;
 import com.company.project.entity.Category;
 import com.company.project.exception.ResourceNotFoundException;
 import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.projection.CategoryProductCount;
+import com.company.project.repository.projection.CategoryTreeRow;
+import com.company.project.service.category.CategoryTreeService;
 import com.company.project.service.impl.CategoryServiceImpl;
+import com.company.project.util.ResourceVersion;
 
 @ExtendWith(MockitoExtension.class)
 public class CategoryServiceTest {
@@ -41,7 +48,6 @@ public class CategoryServiceTest {
     @Mock
     private FileStorageService fileStorageService;
 
-    @InjectMocks
     private CategoryServiceImpl categoryService;
 
     private Category category;
@@ -52,6 +58,9 @@ public class CategoryServiceTest {
 
     @BeforeEach
     void setUp() {
+        categoryService = new CategoryServiceImpl(categoryRepository, fileStorageService,
+                new CategoryTreeService(categoryRepository));
+
         // Setup parent category
         parentCategory = new Category();
         parentCategory.setId(1L);
@@ -98,8 +107,7 @@ public class CategoryServiceTest {
     @Test
     void getAllCategories_shouldReturnAllCategories() {
         // Arrange
-        List<Category> categoryEntities = Arrays.asList(category);
-        when(categoryRepository.findAll()).thenReturn(categoryEntities);
+        when(categoryRepository.findAllTreeRows()).thenReturn(Arrays.asList(treeRow(category)));
 
         // Act
         List<CategoryResponse> result = categoryService.getAllCategories();
@@ -110,13 +118,13 @@ public class CategoryServiceTest {
         assertEquals("Smartphones", result.get(0).getName());
         assertEquals("Mobile phones", result.get(0).getDescription());
         assertEquals(Category.Status.ACTIVE, result.get(0).getStatus());
-        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, times(1)).findAllTreeRows();
     }
 
     @Test
     void getAllCategories_withEmptyList_shouldReturnEmptyList() {
         // Arrange
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryRepository.findAllTreeRows()).thenReturn(Collections.emptyList());
 
         // Act
         List<CategoryResponse> result = categoryService.getAllCategories();
@@ -124,14 +132,14 @@ public class CategoryServiceTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, times(1)).findAllTreeRows();
     }
 
     @Test
     void getAllCategories_withNestedCategories_shouldReturnCategoriesWithHierarchy() {
         // Arrange
-        List<Category> categoryEntities = Arrays.asList(parentCategory, category, subCategory);
-        when(categoryRepository.findAll()).thenReturn(categoryEntities);
+        when(categoryRepository.findAllTreeRows()).thenReturn(
+                Arrays.asList(treeRow(parentCategory), treeRow(category), treeRow(subCategory)));
 
         // Act
         List<CategoryResponse> result = categoryService.getAllCategories();
@@ -179,13 +187,78 @@ public class CategoryServiceTest {
         assertEquals(2L, subResult.getParentCategory().getId());
         assertTrue(subResult.getSubCategories() == null || subResult.getSubCategories().isEmpty());
 
-        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, times(1)).findAllTreeRows();
+    }
+
+    @Test
+    void getAllCategories_shouldIncludeDirectAndSubtreeProductCounts() {
+        // Arrange
+        when(categoryRepository.findAllTreeRows()).thenReturn(
+                Arrays.asList(treeRow(parentCategory), treeRow(category), treeRow(subCategory)));
+        when(categoryRepository.countProductsByCategory()).thenReturn(
+                Arrays.asList(productCount(2L, 4L), productCount(3L, 6L)));
+
+        // Act
+        List<CategoryResponse> result = categoryService.getAllCategories();
+
+        // Assert
+        CategoryResponse parentResult = result.get(0);
+        assertEquals(0L, parentResult.getProductCount());
+        assertEquals(10L, parentResult.getTotalProductCount());
+        CategoryResponse mainResult = result.get(1);
+        assertEquals(4L, mainResult.getProductCount());
+        assertEquals(10L, mainResult.getTotalProductCount());
+        assertNull(mainResult.getProducts());
+    }
+
+    @Test
+    void getAllCategories_shouldServeFromTreeUntilCategoryChanges() {
+        // Arrange
+        when(categoryRepository.findAllTreeRows()).thenReturn(Arrays.asList(treeRow(category)));
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+
+        // Act
+        categoryService.getAllCategories();
+        categoryService.getAllCategories();
+        categoryService.createCategory(categoryRequest);
+        categoryService.getAllCategories();
+
+        // Assert
+        verify(categoryRepository, times(2)).findAllTreeRows();
+        verify(categoryRepository, times(2)).countProductsByCategory();
+    }
+
+    @Test
+    void getCategoryVersion_shouldChangeOnlyForCategoryWhoseProductsChanged() {
+        // Arrange
+        when(categoryRepository.findAllTreeRows()).thenReturn(
+                Arrays.asList(treeRow(parentCategory), treeRow(category)));
+        when(categoryRepository.countProductsByCategory()).thenReturn(
+                Arrays.asList(productCount(2L, 4L)),
+                Arrays.asList(productCount(2L, 5L)));
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+
+        // Act
+        ResourceVersion parentBefore = categoryService.getCategoryVersion(1L);
+        ResourceVersion categoryBefore = categoryService.getCategoryVersion(2L);
+        ResourceVersion listBefore = categoryService.getCategoriesVersion();
+        categoryService.createCategory(categoryRequest);
+        ResourceVersion parentAfter = categoryService.getCategoryVersion(1L);
+        ResourceVersion categoryAfter = categoryService.getCategoryVersion(2L);
+        ResourceVersion listAfter = categoryService.getCategoriesVersion();
+
+        // Assert
+        assertEquals(parentBefore.etag(), parentAfter.etag());
+        assertNotEquals(categoryBefore.etag(), categoryAfter.etag());
+        assertNotEquals(listBefore.etag(), listAfter.etag());
+        assertNotEquals(parentBefore.etag(), categoryBefore.etag());
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.getCategoryVersion(99L));
     }
 
     @Test
     void getCategoryById_withValidId_shouldReturnCategory() {
         // Arrange
-        when(categoryRepository.findById(2L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findWithChildrenById(2L)).thenReturn(Optional.of(category));
 
         // Act
         CategoryResponse result = categoryService.getCategoryById(2L);
@@ -194,17 +267,17 @@ public class CategoryServiceTest {
         assertNotNull(result);
         assertEquals(2L, result.getId());
         assertEquals("Smartphones", result.getName());
-        verify(categoryRepository, times(1)).findById(2L);
+        verify(categoryRepository, times(1)).findWithChildrenById(2L);
     }
 
     @Test
     void getCategoryById_withInvalidId_shouldThrowException() {
         // Arrange
-        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+        when(categoryRepository.findWithChildrenById(99L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> categoryService.getCategoryById(99L));
-        verify(categoryRepository, times(1)).findById(99L);
+        verify(categoryRepository, times(1)).findWithChildrenById(99L);
     }
 
     @Test
@@ -298,4 +371,19 @@ public class CategoryServiceTest {
         assertThrows(IllegalStateException.class, () -> categoryService.deleteCategory(2L));
         verify(categoryRepository, never()).delete(any());
     }
+
+    private CategoryTreeRow treeRow(Category entity) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", entity.getId());
+        values.put("name", entity.getName());
+        values.put("description", entity.getDescription());
+        values.put("parentId", entity.getParentCategory() != null ? entity.getParentCategory().getId() : null);
+        values.put("status", entity.getStatus());
+        return new SpelAwareProxyProjectionFactory().createProjection(CategoryTreeRow.class, values);
+    }
+
+    private CategoryProductCount productCount(Long categoryId, Long count) {
+        return new SpelAwareProxyProjectionFactory().createProjection(CategoryProductCount.class,
+                Map.of("categoryId", categoryId, "productCount", count));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.company.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.repository.ProductRepository;
+import com.company.project.service.search.ProductSearchIndex;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSearchIndex searchIndex;
+
+    private Category fans;
+    private Category lighting;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.streamSearchDocuments()).thenReturn(Stream.empty());
+        searchIndex.rebuild();
+
+        fans = new Category();
+        fans.setId(1L);
+        lighting = new Category();
+        lighting.setId(2L);
+
+        searchIndex.indexProduct(product(1L, "Havells Ceiling Fan", "Energy efficient fan", fans,
+                "{\"sweep\": \"1200mm\", \"colour\": \"Brown\"}"));
+        searchIndex.indexProduct(product(2L, "Orient Table Fan", "Compact table fan for the desk", fans, null));
+        searchIndex.indexProduct(product(3L, "Philips LED Bulb", "Bright bulb with brown finish", lighting,
+                "{\"wattage\": \"9W\"}"));
+    }
+
+    @Test
+    void search_shouldRankNameMatchesFirst() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("brown", null, null, 0, 10);
+
+        assertEquals(List.of(1L, 3L), hits.productIds());
+        assertEquals(2, hits.totalHits());
+    }
+
+    @Test
+    void search_shouldMatchPrefixes() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("ceil fa", null, null, 0, 10);
+
+        assertEquals(List.of(1L), hits.productIds());
+    }
+
+    @Test
+    void search_shouldTolerateTypos() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("philps", null, null, 0, 10);
+
+        assertEquals(List.of(3L), hits.productIds());
+    }
+
+    @Test
+    void search_shouldApplyCategoryAndStatusFilters() {
+        searchIndex.indexProduct(product(4L, "Inactive Fan", null, fans, null, Product.Status.INACTIVE));
+
+        assertEquals(3, searchIndex.search("fan", fans.getId(), null, 0, 10).totalHits());
+        assertEquals(2, searchIndex.search("fan", fans.getId(), Product.Status.ACTIVE, 0, 10).totalHits());
+        assertEquals(0, searchIndex.search("fan", lighting.getId(), null, 0, 10).totalHits());
+    }
+
+    @Test
+    void removeProduct_shouldDropItFromResults() {
+        searchIndex.removeProduct(2L);
+
+        ProductSearchIndex.SearchHits hits = searchIndex.search("table", null, null, 0, 10);
+        assertTrue(hits.productIds().isEmpty());
+    }
+
+    @Test
+    void search_shouldPageThroughHits() {
+        ProductSearchIndex.SearchHits firstPage = searchIndex.search("fan", null, null, 0, 1);
+        ProductSearchIndex.SearchHits secondPage = searchIndex.search("fan", null, null, 1, 1);
+
+        assertEquals(2, firstPage.totalHits());
+        assertEquals(1, firstPage.productIds().size());
+        assertEquals(1, secondPage.productIds().size());
+        assertTrue(!firstPage.productIds().equals(secondPage.productIds()));
+    }
+
+    private Product product(Long id, String name, String description, Category category, String specifications) {
+        return product(id, name, description, category, specifications, Product.Status.ACTIVE);
+    }
+
+    private Product product(Long id, String name, String description, Category category, String specifications,
+            Product.Status status) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        product.setCategory(category);
+        product.setSpecifications(specifications);
+        product.setStatus(status);
+        return product;
+    }
+}
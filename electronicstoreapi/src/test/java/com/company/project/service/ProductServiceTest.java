@@ -4,11 +4,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -22,7 +24,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.company.project.dto.request.ProductCreateRequest;
 import com.company.project.dto.request.ProductRequest;
 import com.company.project.dto.response.ProductResponse;
 import com.company.project.entity.Category;
@@ -30,7 +37,10 @@ import com.company.project.entity.Product;
 import com.company.project.exception.ResourceNotFoundException;
 import com.company.project.repository.CategoryRepository;
 import com.company.project.repository.ProductRepository;
+import com.company.project.service.category.CategoryTreeService;
 import com.company.project.service.impl.ProductServiceImpl;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductServiceTest {
@@ -44,6 +54,18 @@ public class ProductServiceTest {
     @Mock
     private FileStorageService fileStorageService;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CategoryTreeService categoryTreeService;
+
+    @Mock
+    private ImageUploader imageUploader;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -95,7 +117,7 @@ public class ProductServiceTest {
     @Test
     void getProductById_withValidId_shouldReturnProduct() {
         // Arrange
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findWithCategoryAndImagesById(1L)).thenReturn(Optional.of(product));
 
         // Act
         ProductResponse result = productService.getProductById(1L);
@@ -104,17 +126,17 @@ public class ProductServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("Smartphone", result.getName());
-        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(1)).findWithCategoryAndImagesById(1L);
     }
 
     @Test
     void getProductById_withInvalidId_shouldThrowException() {
         // Arrange
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findWithCategoryAndImagesById(99L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(99L));
-        verify(productRepository, times(1)).findById(99L);
+        verify(productRepository, times(1)).findWithCategoryAndImagesById(99L);
     }
 
     @Test
@@ -160,4 +182,46 @@ public class ProductServiceTest {
         assertEquals("Smartphone", result.get(0).getName());
         verify(productRepository, times(1)).findByStockLessThan(10);
     }
+
+    @Test
+    void updateProductWithImages_shouldUploadBeforeTransactionAndSaveOnce() {
+        // Arrange
+        List<MultipartFile> images = List.of(
+                new MockMultipartFile("images", "front.jpg", "image/jpeg", new byte[] { 1 }),
+                new MockMultipartFile("images", "back.jpg", "image/jpeg", new byte[] { 2 }));
+        product.setImages(new ArrayList<>(List.of("existing.jpg")));
+        when(imageUploader.storeAll(images)).thenReturn(List.of("front.jpg", "back.jpg"));
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(productRepository.save(product)).thenReturn(product);
+
+        // Act
+        ProductResponse result = productService.updateProductWithImages(1L, productRequest, images);
+
+        // Assert
+        assertEquals(List.of("existing.jpg", "front.jpg", "back.jpg"), result.getImages());
+        verify(productRepository, times(1)).save(product);
+        verify(imageUploader, never()).deleteAll(any());
+    }
+
+    @Test
+    void createProductWithImages_shouldDeleteUploadedImagesWhenWriteFails() {
+        // Arrange
+        ProductCreateRequest request = new ProductCreateRequest();
+        request.setName("Smartphone");
+        request.setCategoryId(99L);
+        List<MultipartFile> images = List.of(new MockMultipartFile("images", "front.jpg", "image/jpeg",
+                new byte[] { 1 }));
+        when(imageUploader.storeAll(images)).thenReturn(List.of("front.jpg"));
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> productService.createProductWithImages(request, images));
+        verify(imageUploader).deleteAll(List.of("front.jpg"));
+        verify(productRepository, never()).save(any(Product.class));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.company.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.config.HttpCacheProperties;
+import com.company.project.dto.request.ProductRequest;
+import com.company.project.dto.response.ApiResponse;
+import com.company.project.dto.response.ProductResponse;
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.ProductRepository;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.impl.ProductServiceImpl;
+import com.company.project.service.search.ProductSearchIndex;
+import com.company.project.service.storage.ImageUploader;
+import com.company.project.util.ResourceVersion;
+
+/**
+ * Conditional GETs of a product after only its images changed. The image
+ * rows change while the product row would not, so the version must still
+ * move on. Not wrapped in a transaction, as the writes commit on their own.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import({ AuditConfig.class, ProductServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductVersionTest {
+
+    @MockitoBean
+    private FileStorageService fileStorageService;
+
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private CategoryTreeService categoryTreeService;
+
+    @MockitoBean
+    private ImageUploader imageUploader;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ResponseService responseService = new ResponseService(new HttpCacheProperties());
+    private Category category;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setName("Fans");
+        category = categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setName("Ceiling Fan");
+        product.setPrice(new BigDecimal("2499.00"));
+        product.setStock(10);
+        product.setCategory(category);
+        product.setImages(List.of("front.jpg"));
+        productId = productRepository.save(product).getId();
+
+        // Last-Modified has second precision; keep the update in a later second
+        jdbcTemplate.update("UPDATE products SET updated_at = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+        jdbcTemplate.update("UPDATE categories SET updated_at = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "product_images", "products", "categories");
+    }
+
+    @Test
+    void uploadingImages_shouldAnswerConditionalGetWith200() {
+        ResourceVersion before = productService.getProductVersion(productId);
+        when(imageUploader.storeAll(any())).thenReturn(List.of("side.jpg", "box.jpg"));
+
+        productService.uploadProductImages(productId, List.of(image("side.jpg"), image("box.jpg")));
+
+        assertFreshResponse(before, List.of("side.jpg", "box.jpg"));
+    }
+
+    @Test
+    void addingImagesOnUpdate_shouldAnswerConditionalGetWith200() {
+        ResourceVersion before = productService.getProductVersion(productId);
+        when(imageUploader.storeAll(any())).thenReturn(List.of("side.jpg"));
+
+        // Same fields as stored, so only the images change
+        ProductRequest request = new ProductRequest();
+        request.setName("Ceiling Fan");
+        request.setPrice(new BigDecimal("2499.00"));
+        request.setStock(10);
+        request.setCategoryId(category.getId());
+        productService.updateProductWithImages(productId, request, List.of(image("side.jpg")));
+
+        assertFreshResponse(before, List.of("front.jpg", "side.jpg"));
+    }
+
+    private void assertFreshResponse(ResourceVersion before, List<String> images) {
+        MockHttpServletRequest byETag = new MockHttpServletRequest("GET", "/products/" + productId);
+        byETag.addHeader("If-None-Match", before.etag());
+        ResponseEntity<ApiResponse<ProductResponse>> response = respond(byETag);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(images, response.getBody().getData().getImages());
+
+        MockHttpServletRequest byDate = new MockHttpServletRequest("GET", "/products/" + productId);
+        byDate.addHeader("If-Modified-Since", before.lastModified().toEpochMilli());
+        assertEquals(HttpStatus.OK, respond(byDate).getStatusCode());
+    }
+
+    private ResponseEntity<ApiResponse<ProductResponse>> respond(MockHttpServletRequest request) {
+        return responseService.createConditionalResponse(request, HttpCacheProperties.PRODUCT,
+                productService.getProductVersion(productId),
+                () -> responseService.createSingleResponse(productService.getProductById(productId),
+                        "Product retrieved successfully"));
+    }
+
+    private static MultipartFile image(String name) {
+        return new MockMultipartFile("images", name, "image/jpeg", new byte[] { 1, 2, 3 });
+    }
+}
@@ -0,0 +1,107 @@
+package com.company.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.company.project.config.HttpCacheProperties;
+import com.company.project.dto.response.ApiResponse;
+import com.company.project.util.ResourceVersion;
+
+class ResponseServiceTest {
+
+    private ResponseService responseService;
+    private ResourceVersion version;
+    private AtomicInteger bodyBuilds;
+
+    @BeforeEach
+    void setUp() {
+        HttpCacheProperties properties = new HttpCacheProperties();
+        HttpCacheProperties.Policy policy = new HttpCacheProperties.Policy();
+        policy.setMaxAge(Duration.ofSeconds(60));
+        properties.getPolicies().put(HttpCacheProperties.PRODUCT, policy);
+        responseService = new ResponseService(properties);
+
+        version = ResourceVersion.builder("product-1")
+                .addTimestamp(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000))
+                .build();
+        bodyBuilds = new AtomicInteger();
+    }
+
+    @Test
+    void createConditionalResponse_withoutValidators_shouldReturnBodyAndHeaders() {
+        ResponseEntity<ApiResponse<String>> response = respond(new MockHttpServletRequest("GET", "/products/1"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body", response.getBody().getData());
+        assertEquals(version.etag(), response.getHeaders().getETag());
+        assertEquals("max-age=60, public", response.getHeaders().getCacheControl());
+        assertEquals(1, bodyBuilds.get());
+    }
+
+    @Test
+    void createConditionalResponse_withMatchingEtag_shouldSkipBody() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, version.etag());
+
+        ResponseEntity<ApiResponse<String>> response = respond(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(version.etag(), response.getHeaders().getETag());
+        assertEquals(0, bodyBuilds.get());
+    }
+
+    @Test
+    void createConditionalResponse_withStaleEtag_shouldReturnBody() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"product-1-0000000000000000\"");
+        // Ignored because If-None-Match is present
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, Instant.now().toEpochMilli());
+
+        ResponseEntity<ApiResponse<String>> response = respond(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, bodyBuilds.get());
+    }
+
+    @Test
+    void createConditionalResponse_withIfModifiedSince_shouldCompareLastModified() {
+        MockHttpServletRequest current = new MockHttpServletRequest("GET", "/products/1");
+        current.addHeader(HttpHeaders.IF_MODIFIED_SINCE, version.lastModified().toEpochMilli());
+        MockHttpServletRequest outdated = new MockHttpServletRequest("GET", "/products/1");
+        outdated.addHeader(HttpHeaders.IF_MODIFIED_SINCE, version.lastModified().minusSeconds(5).toEpochMilli());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, respond(current).getStatusCode());
+        assertEquals(HttpStatus.OK, respond(outdated).getStatusCode());
+    }
+
+    @Test
+    void resourceVersion_shouldChangeWithSubSecondTimestamps() {
+        ResourceVersion later = ResourceVersion.builder("product-1")
+                .addTimestamp(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_457_000))
+                .build();
+
+        assertEquals(version.lastModified().getEpochSecond(), later.lastModified().getEpochSecond());
+        assertNotEquals(version.etag(), later.etag());
+    }
+
+    private ResponseEntity<ApiResponse<String>> respond(MockHttpServletRequest request) {
+        return responseService.createConditionalResponse(request, HttpCacheProperties.PRODUCT, version, () -> {
+            bodyBuilds.incrementAndGet();
+            return responseService.createSingleResponse("body", "Retrieved");
+        });
+    }
+}
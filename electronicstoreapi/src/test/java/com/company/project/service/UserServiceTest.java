@@ -4,6 +4,7 @@ import com.company.project.dto.request.CreateUserRequest;
 import com.company.project.entity.User;
 import com.company.project.exception.UserAlreadyExistsException;
 import com.company.project.repository.UserRepository;
+import com.company.project.security.UserStatusCache;
 import com.company.project.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,12 +24,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserStatusCache userStatusCache;
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserServiceImpl(userRepository, passwordEncoder);
+        userService = new UserServiceImpl(userRepository, passwordEncoder, userStatusCache);
     }
 
     @Test
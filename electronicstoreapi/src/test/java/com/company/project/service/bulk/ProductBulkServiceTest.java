@@ -0,0 +1,235 @@
+package com.company.project.service.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.dto.response.ProductImportReport;
+import com.company.project.dto.response.ProductImportReport.RowError;
+import com.company.project.entity.Category;
+import com.company.project.entity.Product;
+import com.company.project.exception.BadRequestException;
+import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.ProductRepository;
+import com.company.project.service.FileStorageService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.search.ProductSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+/**
+ * Runs imports and exports against a real database. Not wrapped in a
+ * transaction, as every chunk commits on its own.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductBulkServiceTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final ProductSearchIndex productSearchIndex = mock(ProductSearchIndex.class);
+    private TransactionTemplate transactionTemplate;
+    private ProductBulkService bulkService;
+    private Category fans;
+    private Category lighting;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        bulkService = new ProductBulkService(productRepository, categoryRepository,
+                new CategoryTreeService(categoryRepository), productSearchIndex, fileStorageService,
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), entityManager,
+                transactionTemplate);
+        ReflectionTestUtils.setField(bulkService, "chunkSize", 2);
+        ReflectionTestUtils.setField(bulkService, "maxReportedErrors", 100);
+
+        fans = category("Fans");
+        lighting = category("Lighting");
+        category("Accessories");
+        category("accessories");
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void csvImport_shouldSaveValidRowsAndReportTheOthers() throws IOException {
+        String csv = """
+                name,price,stock,category,categoryId,images,description,specifications,featured
+                Ceiling Fan,2499.00,10,fans,,front.jpg|side.jpg,"Quiet, with remote
+                and timer",,true
+                Desk Lamp,899,5,,%d,,,"{""watts"":9}",
+                Broken,abc,5,Fans,,,,,
+                No Category,10,5,,,,,,
+                Unknown,10,5,Garden,,,,,
+                Shared,10,5,Accessories,,,,,
+                Negative,10,-1,Fans,,,,,
+                Bad Specs,10,1,Fans,,,,not json,
+
+                Wall Fan,1999,3,Fans,,,,,
+                """.formatted(lighting.getId());
+
+        ProductImportReport report = bulkService.importProducts(reader(csv), ProductBulkService.Format.CSV);
+
+        assertEquals(9, report.getReceived());
+        assertEquals(3, report.getImported());
+        assertEquals(6, report.getFailed());
+        assertEquals(List.of(
+                new RowError(5, "Invalid price: abc"),
+                new RowError(6, "Category is required"),
+                new RowError(7, "Category not found with name: Garden"),
+                new RowError(8, "Category name Accessories is used by several categories; "
+                        + "give its categoryId instead"),
+                new RowError(9, "Stock must be positive"),
+                new RowError(10, "Specifications must be valid JSON")), report.getErrors());
+
+        Product fan = product("Ceiling Fan");
+        assertEquals(fans.getId(), fan.getCategory().getId());
+        assertEquals(List.of("front.jpg", "side.jpg"), fan.getImages());
+        assertEquals("Quiet, with remote\nand timer", fan.getDescription());
+        assertTrue(fan.getFeatured());
+        Product lamp = product("Desk Lamp");
+        assertEquals(lighting.getId(), lamp.getCategory().getId());
+        assertEquals("{\"watts\":9}", specifications(lamp));
+        assertEquals(Product.Status.ACTIVE, lamp.getStatus());
+        assertFalse(lamp.getFeatured());
+        verify(fileStorageService).retainFile("front.jpg");
+        verify(fileStorageService).retainFile("side.jpg");
+        verify(productSearchIndex, times(3)).indexProduct(any(Product.class));
+    }
+
+    @Test
+    void jsonLinesImport_shouldAcceptSpecificationsAsObjects() throws IOException {
+        String lines = """
+                {"id":99,"name":"Tower Fan","price":3499.5,"stock":2,"category":"Fans","specifications":{"speeds":3},"images":["a.jpg"]}
+                {"name":"Broken",
+                {"name":"Pendant","price":1299,"stock":4,"categoryId":%d,"status":"INACTIVE"}
+                null
+                """.formatted(lighting.getId());
+
+        ProductImportReport report = bulkService.importProducts(reader(lines), ProductBulkService.Format.NDJSON);
+
+        assertEquals(4, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Invalid JSON"));
+        assertEquals(new RowError(4, "Expected a JSON object"), report.getErrors().get(1));
+        Product towerFan = product("Tower Fan");
+        assertEquals("{\"speeds\":3}", specifications(towerFan));
+        assertEquals(new BigDecimal("3499.50"), towerFan.getPrice());
+        assertEquals(Product.Status.INACTIVE, product("Pendant").getStatus());
+    }
+
+    @Test
+    void csvImport_shouldRejectInputWithoutHeaderAsBadRequest() {
+        assertThrows(BadRequestException.class, () -> bulkService.importProducts(
+                reader("Tower Fan,3499,2,Fans\n"), ProductBulkService.Format.CSV));
+        assertThrows(BadRequestException.class, () -> ProductBulkService.Format.fromExtension("xlsx"));
+    }
+
+    @Test
+    void export_shouldWriteRowsThatImportAgain() throws IOException {
+        bulkService.importProducts(reader("""
+                name,price,stock,category,images,description
+                Ceiling Fan,2499.00,10,Fans,front.jpg|side.jpg,"1200 mm, with remote"
+                =Formula Lamp,899.00,5,Lighting,,
+                Wall Fan,1999.00,3,Fans,,
+                """), ProductBulkService.Format.CSV);
+
+        StringWriter csv = new StringWriter();
+        bulkService.exportProducts(ProductBulkService.Format.CSV, csv);
+        List<String> lines = csv.toString().lines().toList();
+        assertEquals("id,name,description,price,stock,categoryId,category,specifications,images,status,featured",
+                lines.get(0));
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).endsWith(",Ceiling Fan,\"1200 mm, with remote\",2499.00,10," + fans.getId()
+                + ",Fans,,front.jpg|side.jpg,ACTIVE,false"), lines.get(1));
+        assertTrue(lines.get(2).contains(",'=Formula Lamp,"), lines.get(2));
+
+        StringWriter json = new StringWriter();
+        bulkService.exportProducts(ProductBulkService.Format.NDJSON, json);
+        assertTrue(json.toString().lines().findFirst().orElseThrow()
+                .endsWith("\"category\":\"Fans\",\"images\":[\"front.jpg\",\"side.jpg\"],\"status\":\"ACTIVE\","
+                        + "\"featured\":false}"));
+
+        productRepository.deleteAll();
+        ProductImportReport reimported = bulkService.importProducts(reader(csv.toString()),
+                ProductBulkService.Format.CSV);
+        assertEquals(3, reimported.getImported());
+        assertEquals(List.of("front.jpg", "side.jpg"), product("Ceiling Fan").getImages());
+        assertEquals(lighting.getId(), product("=Formula Lamp").getCategory().getId());
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private Product product(String name) {
+        return transactionTemplate.execute(status -> {
+            Product product = productRepository.findAll().stream()
+                    .filter(candidate -> candidate.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow();
+            product.getImages().size();
+            product.getCategory().getId();
+            return product;
+        });
+    }
+
+    // H2 keeps text bound to a JSON column as a JSON string, where MySQL parses it
+    private static String specifications(Product product) throws IOException {
+        return new ObjectMapper().readTree(product.getSpecifications()).asText();
+    }
+
+    private static BufferedReader reader(String input) {
+        return new BufferedReader(new StringReader(input));
+    }
+}
@@ -0,0 +1,167 @@
+package com.company.project.service.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.project.config.EmailOutboxProperties;
+import com.company.project.entity.OutboundEmail;
+import com.company.project.repository.OutboundEmailRepository;
+import com.company.project.service.impl.EmailServiceImpl;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the outbox end to end against an in-process SMTP server. Tests are
+ * not wrapped in a transaction so that queued mail is committed and the
+ * after-commit dispatch actually fires.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private EmailOutboxProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        properties = new EmailOutboxProperties();
+        properties.setBatchSize(2);
+        properties.setMaxAttempts(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboundEmailRepository.deleteAll();
+    }
+
+    @Test
+    void queuedEmails_shouldBeSentAfterCommitInBatches() {
+        EmailServiceImpl emailService = emailService(dispatcher(smtpSender(greenMail.getSmtp().getPort())));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                emailService.sendEmail("user" + i + "@example.com", "Order " + i, "Body " + i);
+            }
+            assertEquals(0, greenMail.getReceivedMessages().length);
+        });
+
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        List<OutboundEmail> emails = outboundEmailRepository.findAll();
+        assertTrue(emails.stream().allMatch(email -> email.getStatus() == OutboundEmail.Status.SENT));
+        assertTrue(emails.stream().allMatch(email -> email.getAttempts() == 1 && email.getSentAt() != null));
+        assertEquals(5, meterRegistry.get("app.email.outbox.deliveries").tag("outcome", "sent").counter().count());
+        assertEquals(0, meterRegistry.get("app.email.outbox.depth").tag("status", "pending").gauge().value());
+    }
+
+    @Test
+    void rolledBackTransaction_shouldNotQueueOrSend() {
+        EmailServiceImpl emailService = emailService(dispatcher(smtpSender(greenMail.getSmtp().getPort())));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmail("user@example.com", "Reset", "Body");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboundEmailRepository.count());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void smtpFailure_shouldRetryWithBackoffThenGiveUp() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        EmailOutboxDispatcher dispatcher = dispatcher(smtpSender(closedPort));
+        EmailServiceImpl emailService = emailService(dispatcher);
+
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.sendEmail("user@example.com", "Reset", "Body"));
+
+        OutboundEmail email = outboundEmailRepository.findAll().get(0);
+        assertEquals(OutboundEmail.Status.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals(1, meterRegistry.get("app.email.outbox.depth").tag("status", "pending").gauge().value());
+
+        // Not due yet: a poll leaves it alone
+        dispatcher.dispatch();
+        assertEquals(1, outboundEmailRepository.findAll().get(0).getAttempts());
+
+        email.setNextAttemptAt(LocalDateTime.now());
+        outboundEmailRepository.save(email);
+        dispatcher.dispatch();
+
+        email = outboundEmailRepository.findAll().get(0);
+        assertEquals(OutboundEmail.Status.FAILED, email.getStatus());
+        assertEquals(2, email.getAttempts());
+        assertEquals(1, meterRegistry.get("app.email.outbox.depth").tag("status", "failed").gauge().value());
+        assertEquals(1, meterRegistry.get("app.email.outbox.deliveries").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void backoff_shouldDoubleUpToMaximum() {
+        EmailOutboxDispatcher dispatcher = dispatcher(smtpSender(greenMail.getSmtp().getPort()));
+
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(120), dispatcher.backoff(3));
+        assertEquals(Duration.ofHours(1), dispatcher.backoff(20));
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSenderImpl mailSender) {
+        return new EmailOutboxDispatcher(outboundEmailRepository, mailSender, transactionManager,
+                new SyncTaskExecutor(), properties, meterRegistry);
+    }
+
+    private EmailServiceImpl emailService(EmailOutboxDispatcher dispatcher) {
+        return new EmailServiceImpl(outboundEmailRepository, dispatcher);
+    }
+
+    private static JavaMailSenderImpl smtpSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        mailSender.setDefaultEncoding("UTF-8");
+        mailSender.getJavaMailProperties().put("mail.smtp.from", "store@example.com");
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        return mailSender;
+    }
+}
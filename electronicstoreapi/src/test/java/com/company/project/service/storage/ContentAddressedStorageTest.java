@@ -0,0 +1,249 @@
+package com.company.project.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.config.ImageVariantProperties;
+import com.company.project.entity.Category;
+import com.company.project.entity.ImageBlob;
+import com.company.project.entity.Product;
+import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.ImageBlobRepository;
+import com.company.project.repository.ProductRepository;
+import com.company.project.service.CacheService;
+import com.company.project.service.category.CategoryTreeService;
+import com.company.project.service.impl.LocalFileStorageServiceImpl;
+
+/**
+ * Runs content-addressed local storage against real reference counts. Tests
+ * are not wrapped in a transaction so that releases deferred to commit fire.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentAddressedStorageTest {
+
+    private static final String BASE_URL = "http://localhost/images/";
+
+    @TempDir
+    Path uploadDir;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> events = new ArrayList<>();
+    private TransactionTemplate transactionTemplate;
+    private ImageReferenceCounter references;
+    private LocalFileStorageServiceImpl storage;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        references = new ImageReferenceCounter(imageBlobRepository, transactionManager);
+        ImageVariantProperties variantProperties = new ImageVariantProperties();
+        variantProperties.setSizes(Map.of("thumbnail", 160));
+        storage = new LocalFileStorageServiceImpl(uploadDir.toString(), variantProperties, events::add, references);
+        ReflectionTestUtils.setField(storage, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(storage, "contentAddressed", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        imageBlobRepository.deleteAll();
+    }
+
+    @Test
+    void identicalUploads_shouldShareOneFileUntilTheLastReferenceIsDeleted() throws Exception {
+        String first = storage.storeFile(image("front.JPG", "same bytes"));
+        String second = storage.storeFile(image("copy.jpg", "same bytes"));
+        String other = storage.storeFile(image("back.jpg", "other bytes"));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertTrue(first.endsWith(".jpg"));
+        assertEquals(2, refCount(first));
+        assertEquals(List.of(new ImageStoredEvent(first), new ImageStoredEvent(other)), events);
+        // Only the two originals; the temporary upload files are gone
+        try (var files = Files.list(uploadDir)) {
+            assertEquals(2, files.count());
+        }
+
+        storage.storeVariant(first, "thumbnail", new byte[] { 1 });
+        storage.deleteFile(first);
+        assertTrue(Files.exists(file(first)));
+        assertEquals(1, refCount(first));
+
+        storage.deleteFile(second);
+        assertFalse(Files.exists(file(first)));
+        assertFalse(Files.exists(uploadDir.resolve(file(first).getFileName().toString()
+                .replace(".jpg", ".thumbnail.webp"))));
+        assertFalse(imageBlobRepository.existsById(first));
+        assertTrue(Files.exists(file(other)));
+    }
+
+    @Test
+    void deleteInRolledBackTransaction_shouldKeepTheReference() {
+        String url = storage.storeFile(image("photo.png", "bytes"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            storage.deleteFile(url);
+            status.setRollbackOnly();
+        });
+        assertTrue(Files.exists(file(url)));
+        assertEquals(1, refCount(url));
+
+        transactionTemplate.executeWithoutResult(status -> storage.deleteFile(url));
+        assertFalse(Files.exists(file(url)));
+    }
+
+    @Test
+    void uuidNamedFiles_shouldOnlyBeDeletedOnceTheTransactionCommits() {
+        ReflectionTestUtils.setField(storage, "contentAddressed", false);
+        String url = storage.storeFile(image("photo.png", "bytes"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            storage.deleteFile(url);
+            assertTrue(Files.exists(file(url)));
+            status.setRollbackOnly();
+        });
+        assertTrue(Files.exists(file(url)));
+
+        transactionTemplate.executeWithoutResult(status -> storage.deleteFile(url));
+        assertFalse(Files.exists(file(url)));
+    }
+
+    @Test
+    void storeInRolledBackTransaction_shouldGiveTheReferenceBack() {
+        String kept = storage.storeFile(image("photo.png", "bytes"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            storage.storeFile(image("again.png", "bytes"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, refCount(kept));
+        assertTrue(Files.exists(file(kept)));
+    }
+
+    @Test
+    void retainFile_shouldCountAnotherReference() {
+        String url = storage.storeFile(image("photo.png", "bytes"));
+
+        storage.retainFile(url);
+        storage.retainFile("https://cdn.example.com/elsewhere.png");
+
+        assertEquals(2, refCount(url));
+        assertEquals(1, imageBlobRepository.count());
+    }
+
+    @Test
+    void migration_shouldMoveExistingImagesToContentAddressesAndCountReferences() throws Exception {
+        Path legacyA = Files.writeString(uploadDir.resolve("0b0c3c1e-6d8e-4a43-9d53-6a1f1d2a0001_a.jpg"), "lamp");
+        Path legacyB = Files.writeString(uploadDir.resolve("0b0c3c1e-6d8e-4a43-9d53-6a1f1d2a0002_b.jpg"), "lamp");
+        Path legacyC = Files.writeString(uploadDir.resolve("0b0c3c1e-6d8e-4a43-9d53-6a1f1d2a0003_c.png"), "fan");
+        String urlA = BASE_URL + legacyA.getFileName();
+        String urlB = BASE_URL + legacyB.getFileName();
+        String urlC = BASE_URL + legacyC.getFileName();
+        String external = "https://cdn.example.com/banner.png";
+
+        Category category = new Category();
+        category.setName("Lighting");
+        category.setImageUrl(urlC);
+        categoryRepository.save(category);
+        Long lamp = saveProduct("Lamp", urlA, urlB, urlC).getId();
+        Long sconce = saveProduct("Sconce", urlB, external).getId();
+
+        ImageDeduplicationMigration migration = new ImageDeduplicationMigration(storage, references,
+                productRepository, categoryRepository, mock(CategoryTreeService.class), mock(CacheService.class),
+                transactionManager);
+        assertEquals(3, migration.deduplicate());
+
+        String lampUrl = BASE_URL + ContentAddress.fileName(sha256("lamp"), "a.jpg");
+        String fanUrl = BASE_URL + ContentAddress.fileName(sha256("fan"), "c.png");
+        assertEquals(List.of(lampUrl, fanUrl), images(lamp));
+        assertEquals(List.of(lampUrl, external), images(sconce));
+        assertEquals(fanUrl, categoryRepository.findAll().get(0).getImageUrl());
+        assertFalse(Files.exists(legacyA));
+        assertFalse(Files.exists(legacyB));
+        assertFalse(Files.exists(legacyC));
+        assertEquals("lamp", Files.readString(file(lampUrl)));
+        assertEquals(2, refCount(lampUrl));
+        assertEquals(2, refCount(fanUrl));
+        assertEquals(2, imageBlobRepository.count());
+
+        // A second run finds nothing left to move
+        assertEquals(0, migration.deduplicate());
+        assertEquals(2, refCount(lampUrl));
+    }
+
+    private Product saveProduct(String name, String... images) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(1);
+        product.setImages(new ArrayList<>(List.of(images)));
+        return productRepository.save(product);
+    }
+
+    private List<String> images(Long productId) {
+        return transactionTemplate.execute(status ->
+                new ArrayList<>(productRepository.findById(productId).orElseThrow().getImages()));
+    }
+
+    private int refCount(String url) {
+        return imageBlobRepository.findById(url).map(ImageBlob::getRefCount).orElse(0);
+    }
+
+    private Path file(String url) {
+        return uploadDir.resolve(url.substring(BASE_URL.length()));
+    }
+
+    private static MockMultipartFile image(String name, String content) {
+        return new MockMultipartFile("images", name, "image/jpeg", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] sha256(String content) {
+        return ContentAddress.newDigest().digest(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
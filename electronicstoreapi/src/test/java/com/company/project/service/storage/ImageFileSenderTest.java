@@ -0,0 +1,149 @@
+package com.company.project.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ImageFileSenderTest {
+
+    private static final String FILE_NAME = "3f2b8c1e-7d4a-4e5b-9c6d-0a1b2c3d4e5f_photo.jpg";
+
+    @TempDir
+    Path uploadDir;
+
+    private final ImageFileSender sender = new ImageFileSender();
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = new byte[100 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(uploadDir.resolve(FILE_NAME), content);
+    }
+
+    @Test
+    void send_shouldWriteWholeFileWithImmutableCaching() throws IOException {
+        MockHttpServletResponse response = send(get());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals(content.length, response.getContentLengthLong());
+        assertEquals("max-age=31536000, public, immutable", response.getHeader("Cache-Control"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void send_shouldNotMarkFilesWithoutUuidNameImmutable() throws IOException {
+        file = Files.write(uploadDir.resolve("logo.png"), content);
+
+        assertEquals("no-cache", send(get()).getHeader("Cache-Control"));
+    }
+
+    @Test
+    void send_shouldAnswerMatchingEtagWithNotModified() throws IOException {
+        String etag = send(get()).getHeader("ETag");
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", etag);
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_shouldServeSingleByteRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=1000-1999");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1000-1999/" + content.length, response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, 2000), response.getContentAsByteArray());
+    }
+
+    @Test
+    void send_shouldRefuseRangeBeyondEndOfFile() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=" + content.length + "-");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */" + content.length, response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void send_shouldIgnoreRangeWhenIfRangeIsStale() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"stale\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(content.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_shouldNegotiatePrecompressedSibling() throws IOException {
+        byte[] gzipped = { 31, -117, 8, 0 };
+        Files.write(uploadDir.resolve(FILE_NAME + ".gz"), gzipped);
+        MockHttpServletRequest request = get();
+        request.addHeader("Accept-Encoding", "br;q=0, gzip, deflate");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertEquals("image/jpeg", response.getContentType());
+        assertArrayEquals(gzipped, response.getContentAsByteArray());
+
+        MockHttpServletResponse identity = send(get());
+        assertNull(identity.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", identity.getHeader("Vary"));
+        assertEquals(content.length, identity.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_shouldHandLargeBodiesToSendfileWhenSupported() throws IOException {
+        MockHttpServletRequest request = get();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=-60000");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals((long) content.length - 60000, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) content.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertTrue(response.getContentAsByteArray().length == 0);
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/v1/images/" + file.getFileName());
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sender.send(file, request, response);
+        return response;
+    }
+}
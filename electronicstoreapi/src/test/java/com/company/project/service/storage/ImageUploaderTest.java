@@ -0,0 +1,189 @@
+package com.company.project.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.company.project.exception.FileStorageException;
+import com.company.project.service.FileStorageService;
+
+class ImageUploaderTest {
+
+    private ImageUploader imageUploader;
+
+    @AfterEach
+    void tearDown() {
+        imageUploader.shutdown();
+    }
+
+    @Test
+    void storeAll_shouldUploadConcurrentlyAndKeepRequestOrder() {
+        // Every upload waits for the other three, so this only completes if they run at the same time
+        CyclicBarrier allStarted = new CyclicBarrier(4);
+        imageUploader = new ImageUploader(new StubStorage(file -> {
+            allStarted.await(5, TimeUnit.SECONDS);
+            return "stored/" + file.getOriginalFilename();
+        }), 4);
+
+        List<String> urls = imageUploader.storeAll(List.of(image("a.jpg"), image("b.jpg"), empty(),
+                image("c.jpg"), image("d.jpg")));
+
+        assertEquals(List.of("stored/a.jpg", "stored/b.jpg", "stored/c.jpg", "stored/d.jpg"), urls);
+    }
+
+    @Test
+    void storeAll_shouldDeleteStoredImagesWhenOneFails() {
+        StubStorage storage = new StubStorage(file -> {
+            if (file.getOriginalFilename().equals("broken.jpg")) {
+                throw new FileStorageException("Could not store file broken.jpg. Please try again!");
+            }
+            return "stored/" + file.getOriginalFilename();
+        });
+        imageUploader = new ImageUploader(storage, 2);
+
+        FileStorageException ex = assertThrows(FileStorageException.class,
+                () -> imageUploader.storeAll(List.of(image("a.jpg"), image("broken.jpg"), image("b.jpg"))));
+
+        assertTrue(ex.getMessage().contains("broken.jpg"));
+        assertEquals(storage.stored, storage.deleted);
+    }
+
+    @Test
+    void storeAll_shouldDeleteImagesStillUploadingWhenOneFails() {
+        CountDownLatch brokenFailed = new CountDownLatch(1);
+        StubStorage storage = new StubStorage(file -> {
+            switch (file.getOriginalFilename()) {
+                case "broken.jpg" -> {
+                    brokenFailed.countDown();
+                    throw new FileStorageException("Could not store file broken.jpg. Please try again!");
+                }
+                case "slow.jpg" -> {
+                    // Still writing when the failure is seen
+                    brokenFailed.await(5, TimeUnit.SECONDS);
+                    Thread.sleep(300);
+                }
+                default -> brokenFailed.await(5, TimeUnit.SECONDS);
+            }
+            return "stored/" + file.getOriginalFilename();
+        });
+        imageUploader = new ImageUploader(storage, 3);
+
+        assertThrows(FileStorageException.class,
+                () -> imageUploader.storeAll(List.of(image("a.jpg"), image("broken.jpg"), image("slow.jpg"))));
+
+        assertEquals(Set.of("stored/a.jpg", "stored/slow.jpg"), storage.stored);
+        assertEquals(storage.stored, storage.deleted);
+    }
+
+    @Test
+    void storeAll_shouldDeleteImagesTheWorkerUploadsAfterAFailure() {
+        StubStorage storage = new StubStorage(file -> {
+            if (file.getOriginalFilename().equals("broken.jpg")) {
+                throw new FileStorageException("Could not store file broken.jpg. Please try again!");
+            }
+            return "stored/" + file.getOriginalFilename();
+        });
+        imageUploader = new ImageUploader(storage, 1);
+
+        // The single worker takes a.jpg and b.jpg only after broken.jpg failed, and may do so
+        // before the caller drops them from the queue; whatever it stores must not survive
+        assertThrows(FileStorageException.class,
+                () -> imageUploader.storeAll(List.of(image("broken.jpg"), image("a.jpg"), image("b.jpg"))));
+
+        assertTrue(Set.of("stored/a.jpg", "stored/b.jpg").containsAll(storage.stored));
+        assertEquals(storage.stored, storage.deleted);
+    }
+
+    private static MultipartFile image(String name) {
+        return new MockMultipartFile("images", name, "image/jpeg", new byte[] { 1, 2, 3 });
+    }
+
+    private static MultipartFile empty() {
+        return new MockMultipartFile("images", "empty.jpg", "image/jpeg", new byte[0]);
+    }
+
+    interface Store {
+        String store(MultipartFile file) throws Exception;
+    }
+
+    static class StubStorage implements FileStorageService {
+
+        private final Store store;
+        final Set<String> stored = ConcurrentHashMap.newKeySet();
+        final Set<String> deleted = ConcurrentHashMap.newKeySet();
+
+        StubStorage(Store store) {
+            this.store = store;
+        }
+
+        @Override
+        public String storeFile(MultipartFile file) {
+            try {
+                String url = store.store(file);
+                stored.add(url);
+                return url;
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new FileStorageException("Could not store file", ex);
+            }
+        }
+
+        @Override
+        public void deleteFile(String fileUrl) {
+            deleted.add(fileUrl);
+        }
+
+        @Override
+        public String getFileType() {
+            return "stub";
+        }
+
+        @Override
+        public InputStream loadFile(String fileUrl) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String storeVariant(String fileUrl, String variant, byte[] content) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, String> getVariantUrls(String fileUrl) {
+            return Map.of();
+        }
+
+        @Override
+        public void retainFile(String fileUrl) {
+        }
+
+        @Override
+        public String copyToContentAddress(String fileUrl) {
+            return fileUrl;
+        }
+
+        @Override
+        public void purgeFile(String fileUrl) {
+        }
+
+        @Override
+        public List<StoredFile> listFiles(String startAfter, int limit) {
+            return List.of();
+        }
+    }
+}
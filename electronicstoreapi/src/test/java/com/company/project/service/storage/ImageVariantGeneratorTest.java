@@ -0,0 +1,117 @@
+package com.company.project.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.project.config.ImageVariantProperties;
+import com.company.project.service.impl.LocalFileStorageServiceImpl;
+
+class ImageVariantGeneratorTest {
+
+    private static final String BASE_URL = "http://localhost/images/";
+
+    @TempDir
+    Path uploadDir;
+
+    private final List<Object> events = new ArrayList<>();
+    private LocalFileStorageServiceImpl storage;
+    private ImageVariantGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        ImageVariantProperties properties = new ImageVariantProperties();
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        sizes.put("thumbnail", 100);
+        sizes.put("medium", 400);
+        sizes.put("large", 1280);
+        properties.setSizes(sizes);
+        storage = new LocalFileStorageServiceImpl(uploadDir.toString(), properties, events::add, null);
+        ReflectionTestUtils.setField(storage, "baseUrl", BASE_URL);
+        generator = new ImageVariantGenerator(storage, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void generate_shouldStoreScaledWebpVariantsWithoutEnlarging() throws IOException {
+        String url = storage.storeFile(png("photo.png", 800, 600));
+        assertEquals(List.of(new ImageStoredEvent(url)), events);
+
+        Map<String, String> variants = generator.generate(url);
+
+        assertEquals(storage.getVariantUrls(url), new LinkedHashMap<>(Map.of(
+                "thumbnail", variants.get("thumbnail"),
+                "medium", variants.get("medium"),
+                "large", variants.get("large"))));
+        assertTrue(variants.get("thumbnail").endsWith("_photo.thumbnail.webp"));
+        assertDimensions(variants.get("thumbnail"), 100, 75);
+        assertDimensions(variants.get("medium"), 400, 300);
+        // Smaller than the box: re-encoded at its own size
+        assertDimensions(variants.get("large"), 800, 600);
+    }
+
+    @Test
+    void deleteFile_shouldRemoveOriginalAndVariants() throws IOException {
+        String url = storage.storeFile(png("photo.png", 300, 300));
+        generator.generate(url);
+        try (var files = Files.list(uploadDir)) {
+            assertEquals(4, files.count());
+        }
+
+        storage.deleteFile(url);
+
+        try (var files = Files.list(uploadDir)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void generate_shouldSkipFilesThatAreNotImages() {
+        String url = storage.storeFile(new MockMultipartFile("images", "notes.png", "image/png",
+                "not an image".getBytes()));
+
+        assertTrue(generator.generate(url).isEmpty());
+    }
+
+    private void assertDimensions(String url, int width, int height) throws IOException {
+        BufferedImage image = ImageIO.read(uploadDir.resolve(url.substring(BASE_URL.length())).toFile());
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+    }
+
+    private static MockMultipartFile png(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return new MockMultipartFile("images", name, "image/png", output.toByteArray());
+    }
+}
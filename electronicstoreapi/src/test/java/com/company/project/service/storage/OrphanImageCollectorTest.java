@@ -0,0 +1,190 @@
+package com.company.project.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.project.config.AuditConfig;
+import com.company.project.config.ImageVariantProperties;
+import com.company.project.config.OrphanImageCollectorProperties;
+import com.company.project.dto.response.OrphanImageReport;
+import com.company.project.entity.Product;
+import com.company.project.repository.CategoryRepository;
+import com.company.project.repository.ImageBlobRepository;
+import com.company.project.repository.ProductRepository;
+import com.company.project.service.impl.LocalFileStorageServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the collector over a local upload directory and the real reference
+ * tables. Not wrapped in a transaction, as the collector runs outside one.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import(AuditConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrphanImageCollectorTest {
+
+    private static final String BASE_URL = "http://localhost/images/";
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(2));
+
+    @TempDir
+    Path uploadDir;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LocalFileStorageServiceImpl storage;
+    private OrphanImageCollectorProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OrphanImageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        ImageReferenceCounter references = new ImageReferenceCounter(imageBlobRepository, transactionManager);
+        ImageVariantProperties variantProperties = new ImageVariantProperties();
+        variantProperties.setSizes(Map.of("thumbnail", 160));
+        storage = new LocalFileStorageServiceImpl(uploadDir.toString(), variantProperties, event -> { }, references);
+        ReflectionTestUtils.setField(storage, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(storage, "contentAddressed", true);
+
+        properties = new OrphanImageCollectorProperties();
+        properties.setGracePeriod(Duration.ofHours(1));
+        properties.setBatchSize(2);
+        properties.setMaxDeletesPerSecond(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new OrphanImageCollector(storage, references, productRepository, categoryRepository,
+                variantProperties, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        imageBlobRepository.deleteAll();
+    }
+
+    @Test
+    void report_shouldListOrphansWithoutDeletingThem() throws IOException {
+        Path attached = file("11111111-1111-1111-1111-111111111111_attached.jpg", OLD);
+        Path orphan = file("22222222-2222-2222-2222-222222222222_orphan.jpg", OLD);
+        Path variant = file("22222222-2222-2222-2222-222222222222_orphan.thumbnail.webp", OLD);
+        Path fresh = file("33333333-3333-3333-3333-333333333333_fresh.jpg", Instant.now());
+        saveProduct(BASE_URL + attached.getFileName());
+
+        OrphanImageReport report = collector.report(null, 100);
+
+        assertTrue(report.isDryRun());
+        assertEquals(4, report.getScanned());
+        assertEquals(1, report.getVariants());
+        assertEquals(1, report.getRecent());
+        assertEquals(1, report.getReferenced());
+        assertEquals(1, report.getOrphaned());
+        assertEquals(Files.size(orphan), report.getOrphanedBytes());
+        assertEquals(List.of(orphan.getFileName().toString()), report.getOrphanSample());
+        assertEquals(0, report.getDeleted());
+        assertNull(report.getNextStartAfter());
+        assertTrue(Files.exists(orphan) && Files.exists(variant) && Files.exists(fresh));
+    }
+
+    @Test
+    void collect_shouldDeleteOrphansWithTheirVariants() throws IOException {
+        properties.setDryRun(false);
+        Path attached = file("11111111-1111-1111-1111-111111111111_attached.jpg", OLD);
+        Path orphan = file("22222222-2222-2222-2222-222222222222_orphan.jpg", OLD);
+        Path variant = file("22222222-2222-2222-2222-222222222222_orphan.thumbnail.webp", OLD);
+        Path hashedOrphan = file("a".repeat(64) + ".png", OLD);
+        Path crashedUpload = file(ContentAddress.TEMPORARY_FILE_PREFIX + "123.tmp", OLD);
+        saveProduct(BASE_URL + attached.getFileName());
+
+        // Stored just now by an upload whose row is not saved yet, although the file itself is old
+        String pending = storage.storeFile(new MockMultipartFile("images", "pending.png", "image/png",
+                "pending".getBytes(StandardCharsets.UTF_8)));
+        Path pendingFile = uploadDir.resolve(pending.substring(BASE_URL.length()));
+        Files.setLastModifiedTime(pendingFile, FileTime.from(OLD));
+
+        collector.collect();
+
+        assertTrue(Files.exists(attached));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(variant));
+        assertFalse(Files.exists(hashedOrphan));
+        assertFalse(Files.exists(crashedUpload));
+        assertFalse(imageBlobRepository.existsById(BASE_URL + hashedOrphan.getFileName()));
+        assertTrue(Files.exists(pendingFile));
+        assertTrue(imageBlobRepository.existsById(pending));
+        assertEquals(3.0, meterRegistry.get("app.storage.orphans.deleted").counter().count());
+    }
+
+    @Test
+    void collect_shouldContinueWhereThePreviousRunStopped() throws IOException {
+        properties.setDryRun(false);
+        properties.setFilesPerRun(2);
+        List<Path> orphans = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            orphans.add(file(i + "0000000-0000-0000-0000-000000000000_orphan.jpg", OLD));
+        }
+
+        collector.collect();
+        assertFalse(Files.exists(orphans.get(0)));
+        assertFalse(Files.exists(orphans.get(1)));
+        assertTrue(Files.exists(orphans.get(2)));
+
+        collector.collect();
+        assertFalse(Files.exists(orphans.get(2)));
+    }
+
+    private Path file(String name, Instant lastModified) throws IOException {
+        Path file = Files.writeString(uploadDir.resolve(name), name);
+        Files.setLastModifiedTime(file, FileTime.from(lastModified));
+        return file;
+    }
+
+    private void saveProduct(String... images) {
+        Product product = new Product();
+        product.setName("Lamp");
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(1);
+        product.setImages(new ArrayList<>(List.of(images)));
+        productRepository.save(product);
+    }
+}
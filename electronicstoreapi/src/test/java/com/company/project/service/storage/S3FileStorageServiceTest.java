@@ -0,0 +1,207 @@
+package com.company.project.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.project.config.ImageVariantProperties;
+import com.company.project.exception.FileStorageException;
+import com.company.project.service.impl.S3FileStorageServiceImpl;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * Runs the S3 backend against an in-memory S3 endpoint, with a multipart
+ * threshold small enough that a test image crosses it. The client is shared
+ * by all tests because closing its event loop takes a couple of seconds.
+ */
+class S3FileStorageServiceTest {
+
+    private static final int THRESHOLD = 256 * 1024;
+    private static final int PART_SIZE = 128 * 1024;
+
+    private static S3StandIn s3;
+    private static S3AsyncClient s3Client;
+
+    private final List<Object> events = new ArrayList<>();
+    private ImageReferenceCounter references;
+    private S3FileStorageServiceImpl storage;
+
+    @BeforeAll
+    static void startS3() throws IOException {
+        s3 = new S3StandIn();
+        s3Client = s3.client(THRESHOLD, PART_SIZE);
+    }
+
+    @AfterAll
+    static void stopS3() {
+        s3Client.close();
+        s3.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        s3.reset();
+        ImageVariantProperties variantProperties = new ImageVariantProperties();
+        variantProperties.setSizes(Map.of("thumbnail", 160, "large", 1280));
+        references = mock(ImageReferenceCounter.class);
+        storage = new S3FileStorageServiceImpl(s3Client, variantProperties, events::add, references);
+        ReflectionTestUtils.setField(storage, "bucketName", S3StandIn.BUCKET);
+        ReflectionTestUtils.setField(storage, "endpointUrl", s3.endpoint().toString());
+    }
+
+    @Test
+    void storeFile_shouldUploadSmallFilesInOnePut() throws IOException {
+        byte[] content = bytes(10 * 1024);
+
+        String url = storage.storeFile(new MockMultipartFile("images", "photo.jpg", "image/jpeg", content));
+
+        String key = url.substring((s3.endpoint() + "/" + S3StandIn.BUCKET + "/").length());
+        assertTrue(key.startsWith("images/") && key.endsWith("_photo.jpg"));
+        assertEquals(List.of("PUT object"), s3.requests());
+        S3StandIn.StoredObject stored = s3.objects().get(key);
+        assertArrayEquals(content, stored.content());
+        assertEquals("image/jpeg", stored.contentType());
+        assertEquals("public-read", stored.acl());
+        assertEquals(List.of(new ImageStoredEvent(url)), events);
+        try (InputStream input = storage.loadFile(url)) {
+            assertArrayEquals(content, input.readAllBytes());
+        }
+    }
+
+    @Test
+    void storeFile_shouldUploadLargeFilesInParts() {
+        byte[] content = bytes(5 * PART_SIZE + 1000);
+
+        String url = storage.storeFile(new MockMultipartFile("images", "poster.png", "image/png", content));
+
+        List<String> requests = s3.requests();
+        assertEquals("POST create-multipart", requests.get(0));
+        assertEquals(6, requests.stream().filter("PUT part"::equals).count());
+        assertEquals("POST complete-multipart", requests.get(requests.size() - 1));
+        S3StandIn.StoredObject stored = s3.objects().get(url.substring(url.indexOf("images/")));
+        assertArrayEquals(content, stored.content());
+        assertEquals("image/png", stored.contentType());
+        assertEquals("public-read", stored.acl());
+    }
+
+    @Test
+    void deleteFile_shouldRemoveOriginalAndVariantsInOneRequest() {
+        String url = storage.storeFile(new MockMultipartFile("images", "photo.jpg", "image/jpeg", bytes(1024)));
+        storage.storeVariant(url, "thumbnail", bytes(100));
+        storage.storeVariant(url, "large", bytes(200));
+        assertEquals(3, s3.keys().size());
+
+        storage.deleteFile(url);
+
+        assertTrue(s3.keys().isEmpty());
+        assertEquals(1, s3.requests().stream().filter("POST delete"::equals).count());
+    }
+
+    @Test
+    void loadFile_shouldReportMissingObjectAsStorageFailure() {
+        String url = s3.endpoint() + "/" + S3StandIn.BUCKET + "/images/missing.jpg";
+
+        assertThrows(FileStorageException.class, () -> storage.loadFile(url).close());
+    }
+
+    @Test
+    void contentAddressedStore_shouldUploadIdenticalContentOnce() {
+        ReflectionTestUtils.setField(storage, "contentAddressed", true);
+        byte[] content = bytes(10 * 1024);
+
+        String first = storage.storeFile(new MockMultipartFile("images", "a.JPG", "image/jpeg", content));
+        String second = storage.storeFile(new MockMultipartFile("images", "b.jpg", "image/jpeg", content));
+
+        assertEquals(first, second);
+        assertTrue(ContentAddress.isContentAddressed(first));
+        assertTrue(first.endsWith(".jpg"));
+        assertEquals(List.of("HEAD object", "PUT object", "HEAD object"), s3.requests());
+        assertEquals(List.of(new ImageStoredEvent(first)), events);
+        verify(references, times(2)).acquire(eq(first), any());
+        assertEquals("public-read", s3.objects().get(first.substring(first.indexOf("images/"))).acl());
+    }
+
+    @Test
+    void contentAddressedDelete_shouldLeaveTheObjectToTheReferenceCount() {
+        ReflectionTestUtils.setField(storage, "contentAddressed", true);
+        String url = storage.storeFile(new MockMultipartFile("images", "photo.jpg", "image/jpeg", bytes(1024)));
+
+        storage.deleteFile(url);
+
+        assertEquals(1, s3.keys().size());
+        ArgumentCaptor<Runnable> deleteFile = ArgumentCaptor.forClass(Runnable.class);
+        verify(references).release(eq(url), deleteFile.capture());
+        deleteFile.getValue().run();
+        assertTrue(s3.keys().isEmpty());
+    }
+
+    @Test
+    void copyToContentAddress_shouldCopyInsideS3AndKeepTheOriginal() {
+        byte[] content = bytes(2048);
+        String original = storage.storeFile(new MockMultipartFile("images", "photo.png", "image/png", content));
+        String duplicate = storage.storeFile(new MockMultipartFile("images", "photo.png", "image/png", content));
+        int requestsBefore = s3.requests().size();
+        events.clear();
+
+        String hashed = storage.copyToContentAddress(original);
+
+        assertTrue(ContentAddress.isContentAddressed(hashed));
+        List<String> requests = s3.requests();
+        assertEquals(List.of("GET object", "HEAD object", "HEAD object", "PUT copy"),
+                requests.subList(requestsBefore, requests.size()));
+        assertEquals(hashed, storage.copyToContentAddress(duplicate));
+        S3StandIn.StoredObject copy = s3.objects().get(hashed.substring(hashed.indexOf("images/")));
+        assertArrayEquals(content, copy.content());
+        assertEquals("image/png", copy.contentType());
+        assertEquals("public-read", copy.acl());
+        assertEquals(3, s3.keys().size());
+        assertEquals(List.of(new ImageStoredEvent(hashed)), events);
+    }
+
+    @Test
+    void listFiles_shouldPageInNameOrder() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String url = storage.storeFile(new MockMultipartFile("images", "photo" + i + ".jpg", "image/jpeg",
+                    bytes(100 + i)));
+            names.add(url.substring(url.lastIndexOf('/') + 1));
+        }
+        names.sort(null);
+
+        List<StoredFile> first = storage.listFiles(null, 3);
+        List<StoredFile> rest = storage.listFiles(first.get(2).name(), 3);
+
+        assertEquals(names.subList(0, 3), first.stream().map(StoredFile::name).toList());
+        assertEquals(names.subList(3, 5), rest.stream().map(StoredFile::name).toList());
+        assertTrue(rest.get(0).url().endsWith("/images/" + rest.get(0).name()));
+        assertTrue(rest.get(0).size() >= 100 && rest.get(0).lastModified() != null);
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,332 @@
+package com.company.project.service.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+
+/**
+ * In-memory, path-style S3 endpoint for tests.
+ *
+ * Understands the calls the application makes: HEAD bucket, ListObjectsV2,
+ * HEAD/PUT/GET of an object, CopyObject, DeleteObjects and the multipart
+ * upload calls. Signatures are not
+ * checked; aws-chunked request bodies are decoded. Every request is recorded
+ * as "METHOD action" so tests can assert how an upload was sent.
+ */
+public class S3StandIn implements AutoCloseable {
+
+    public static final String BUCKET = "catalog";
+
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>([^<]+)</Key>");
+
+    private final HttpServer server;
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final Map<String, StoredObject> uploadMetadata = new ConcurrentHashMap<>();
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+    public record StoredObject(byte[] content, String contentType, String acl, Instant lastModified) {
+
+        StoredObject(byte[] content, String contentType, String acl) {
+            this(content, contentType, acl, Instant.now());
+        }
+    }
+
+    public S3StandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /**
+     * A client configured like the application's, pointed at this endpoint
+     */
+    public S3AsyncClient client(long multipartThreshold, long partSize) {
+        return S3AsyncClient.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .region(Region.US_EAST_1)
+                .endpointOverride(endpoint())
+                .forcePathStyle(true)
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(multipartThreshold)
+                        .minimumPartSizeInBytes(partSize)
+                        .build())
+                .build();
+    }
+
+    public Map<String, StoredObject> objects() {
+        return objects;
+    }
+
+    public Set<String> keys() {
+        return objects.keySet();
+    }
+
+    public List<String> requests() {
+        return new ArrayList<>(requests);
+    }
+
+    /**
+     * Forgets every object and recorded request
+     */
+    public void reset() {
+        objects.clear();
+        uploads.clear();
+        uploadMetadata.clear();
+        requests.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            String[] segments = path.substring(1).split("/", 2);
+            if (!BUCKET.equals(segments[0])) {
+                reply(exchange, 404, errorXml("NoSuchBucket"));
+                return;
+            }
+            String key = segments.length > 1 ? segments[1] : "";
+
+            if (key.isEmpty() && "HEAD".equals(method)) {
+                record("HEAD bucket");
+                exchange.sendResponseHeaders(200, -1);
+            } else if (key.isEmpty() && "GET".equals(method) && "2".equals(query.get("list-type"))) {
+                record("GET list");
+                reply(exchange, 200, listXml(query));
+            } else if (key.isEmpty() && "POST".equals(method) && query.containsKey("delete")) {
+                record("POST delete");
+                Matcher matcher = DELETE_KEY.matcher(new String(body(exchange), StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    objects.remove(matcher.group(1));
+                }
+                reply(exchange, 200, "<DeleteResult/>");
+            } else if ("POST".equals(method) && query.containsKey("uploads")) {
+                record("POST create-multipart");
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new ConcurrentHashMap<>());
+                uploadMetadata.put(uploadId, new StoredObject(null,
+                        exchange.getRequestHeaders().getFirst("Content-Type"),
+                        exchange.getRequestHeaders().getFirst("x-amz-acl")));
+                reply(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + key
+                        + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            } else if ("PUT".equals(method) && query.containsKey("partNumber")) {
+                record("PUT part");
+                byte[] content = body(exchange);
+                uploads.get(query.get("uploadId")).put(Integer.parseInt(query.get("partNumber")), content);
+                exchange.getResponseHeaders().add("ETag", etag(content));
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("POST".equals(method) && query.containsKey("uploadId")) {
+                record("POST complete-multipart");
+                body(exchange);
+                ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+                for (byte[] part : new TreeMap<>(uploads.remove(query.get("uploadId"))).values()) {
+                    assembled.write(part);
+                }
+                StoredObject metadata = uploadMetadata.remove(query.get("uploadId"));
+                objects.put(key, new StoredObject(assembled.toByteArray(), metadata.contentType(), metadata.acl()));
+                reply(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + key
+                        + "</Key><ETag>" + etag(assembled.toByteArray()) + "</ETag></CompleteMultipartUploadResult>");
+            } else if ("DELETE".equals(method) && query.containsKey("uploadId")) {
+                record("DELETE abort-multipart");
+                uploads.remove(query.get("uploadId"));
+                uploadMetadata.remove(query.get("uploadId"));
+                exchange.sendResponseHeaders(204, -1);
+            } else if ("HEAD".equals(method)) {
+                record("HEAD object");
+                StoredObject object = objects.get(key);
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().add("Content-Type",
+                        object.contentType() != null ? object.contentType() : "application/octet-stream");
+                exchange.getResponseHeaders().add("ETag", etag(object.content()));
+                exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.content().length));
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("PUT".equals(method) && exchange.getRequestHeaders().containsKey("x-amz-copy-source")) {
+                record("PUT copy");
+                body(exchange);
+                String source = URLDecoder.decode(exchange.getRequestHeaders().getFirst("x-amz-copy-source"),
+                        StandardCharsets.UTF_8);
+                StoredObject object = objects.get(source.substring(source.indexOf('/', 1) + 1));
+                if (object == null) {
+                    reply(exchange, 404, errorXml("NoSuchKey"));
+                    return;
+                }
+                objects.put(key, new StoredObject(object.content(), object.contentType(),
+                        exchange.getRequestHeaders().getFirst("x-amz-acl")));
+                reply(exchange, 200, "<CopyObjectResult><ETag>" + etag(object.content()) + "</ETag></CopyObjectResult>");
+            } else if ("PUT".equals(method)) {
+                record("PUT object");
+                byte[] content = body(exchange);
+                objects.put(key, new StoredObject(content, exchange.getRequestHeaders().getFirst("Content-Type"),
+                        exchange.getRequestHeaders().getFirst("x-amz-acl")));
+                exchange.getResponseHeaders().add("ETag", etag(content));
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("GET".equals(method)) {
+                record("GET object");
+                StoredObject object = objects.get(key);
+                if (object == null) {
+                    reply(exchange, 404, errorXml("NoSuchKey"));
+                    return;
+                }
+                exchange.getResponseHeaders().add("Content-Type",
+                        object.contentType() != null ? object.contentType() : "application/octet-stream");
+                exchange.getResponseHeaders().add("ETag", etag(object.content()));
+                exchange.sendResponseHeaders(200, object.content().length);
+                exchange.getResponseBody().write(object.content());
+            } else {
+                reply(exchange, 400, errorXml("NotImplemented"));
+            }
+        }
+    }
+
+    /**
+     * Replaces an object's modification time, e.g. to age it past a grace period
+     */
+    public void setLastModified(String key, Instant lastModified) {
+        StoredObject object = objects.get(key);
+        objects.put(key, new StoredObject(object.content(), object.contentType(), object.acl(), lastModified));
+    }
+
+    // Keys in order after start-after or the continuation token, which is the last key returned
+    private String listXml(Map<String, String> query) {
+        String prefix = decode(query.getOrDefault("prefix", ""));
+        String after = decode(query.getOrDefault("continuation-token", query.getOrDefault("start-after", "")));
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        List<String> keys = new TreeMap<>(objects).keySet().stream()
+                .filter(candidate -> candidate.startsWith(prefix) && candidate.compareTo(after) > 0)
+                .toList();
+        List<String> page = keys.subList(0, Math.min(maxKeys, keys.size()));
+        boolean truncated = keys.size() > page.size();
+
+        StringBuilder xml = new StringBuilder("<ListBucketResult><Name>" + BUCKET + "</Name><Prefix>" + prefix
+                + "</Prefix><KeyCount>" + page.size() + "</KeyCount><MaxKeys>" + maxKeys + "</MaxKeys><IsTruncated>"
+                + truncated + "</IsTruncated>");
+        if (truncated) {
+            xml.append("<NextContinuationToken>").append(page.get(page.size() - 1)).append("</NextContinuationToken>");
+        }
+        for (String listed : page) {
+            StoredObject object = objects.get(listed);
+            xml.append("<Contents><Key>").append(listed).append("</Key><LastModified>")
+                    .append(object.lastModified().truncatedTo(ChronoUnit.MILLIS)).append("</LastModified><ETag>")
+                    .append(etag(object.content())).append("</ETag><Size>").append(object.content().length)
+                    .append("</Size><StorageClass>STANDARD</StorageClass></Contents>");
+        }
+        return xml.append("</ListBucketResult>").toString();
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private void record(String request) {
+        requests.add(request);
+    }
+
+    /**
+     * Reads a request body, undoing aws-chunked framing when the client used it
+     */
+    private static byte[] body(HttpExchange exchange) throws IOException {
+        byte[] raw = exchange.getRequestBody().readAllBytes();
+        String sha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (sha256 == null || !sha256.startsWith("STREAMING-")) {
+            return raw;
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = indexOfCrlf(raw, position);
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Malformed aws-chunked body");
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new ConcurrentHashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int equals = pair.indexOf('=');
+                query.put(equals < 0 ? pair : pair.substring(0, equals), equals < 0 ? "" : pair.substring(equals + 1));
+            }
+        }
+        return query;
+    }
+
+    private static void reply(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static String errorXml(String code) {
+        return "<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>";
+    }
+
+    // S3 reports the MD5 of a single-PUT object as its ETag, and the client checks it
+    private static String etag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}